@@ -16,9 +16,11 @@
 package com.galenframework;
 
 import com.galenframework.reports.GalenTestInfo;
+import com.galenframework.reports.StreamingReportWriter;
 import com.galenframework.reports.TestReport;
 import com.galenframework.runner.CompleteListener;
 import com.galenframework.runner.EventHandler;
+import com.galenframework.runner.TestDurationHistory;
 import com.galenframework.runner.TestListener;
 import com.galenframework.tests.GalenTest;
 import com.galenframework.tests.TestSession;
@@ -31,8 +33,10 @@ import com.galenframework.runner.events.TestRetryEvent;
 import com.galenframework.tests.GalenTest;
 import com.galenframework.tests.TestSession;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,16 +51,41 @@ public class TestRunnable implements Runnable {
     private final CompleteListener listener;
     private final EventHandler eventHandler;
     private final List<GalenTestInfo> testInfos;
+    private final StreamingReportWriter reportWriter;
+    private final TestDurationHistory durationHistory;
 
     public TestRunnable(GalenTest test, CompleteListener listener, EventHandler eventHandler, List<GalenTestInfo> testInfos) {
+        this(test, listener, eventHandler, testInfos, null);
+    }
+
+    /**
+     * @param reportWriter - writes the report of the test as soon as it is finished, could be null
+     */
+    public TestRunnable(GalenTest test, CompleteListener listener, EventHandler eventHandler, List<GalenTestInfo> testInfos,
+                        StreamingReportWriter reportWriter) {
+        this(test, listener, eventHandler, testInfos, reportWriter, null);
+    }
+
+    /**
+     * @param reportWriter - writes the report of the test as soon as it is finished, could be null
+     * @param durationHistory - records the duration of the test, could be null
+     */
+    public TestRunnable(GalenTest test, CompleteListener listener, EventHandler eventHandler, List<GalenTestInfo> testInfos,
+                        StreamingReportWriter reportWriter, TestDurationHistory durationHistory) {
         this.test = test;
         this.listener = listener;
         this.eventHandler = eventHandler;
         this.testInfos = testInfos;
+        this.reportWriter = reportWriter;
+        this.durationHistory = durationHistory;
     }
 
 
-    private GalenTestInfo runTest() {
+    /**
+     * Runs the test only once without any retries
+     * @return the info of this attempt
+     */
+    public GalenTestInfo runTest() {
         GalenTestInfo info = new GalenTestInfo(test.getName(), test);
         TestReport report = new TestReport();
 
@@ -99,16 +128,37 @@ public class TestRunnable implements Runnable {
         int tries = 1;
         while (shouldRetry) {
             info = runTest();
-            if (info.isFailed()) {
-                shouldRetry = checkIfShouldRetry(info.getTest(), tries);
-            }
-            else {
-                shouldRetry = false;
-            }
+            shouldRetry = shouldRetry(info, tries);
             tries++;
         }
 
+        complete(info);
+    }
+
+    /**
+     * @param info - the info of the last attempt
+     * @param tries - amount of attempts which were already made
+     * @return true in case the test failed and any of retry handlers requested to run it again
+     */
+    public boolean shouldRetry(GalenTestInfo info, int tries) {
+        return info.isFailed() && checkIfShouldRetry(info.getTest(), tries);
+    }
+
+    /**
+     * Reports the final attempt of the test
+     */
+    public void complete(GalenTestInfo info) {
+        // sections have to be measured before the report writer releases the report
+        Map<String, Long> sectionDurations = measureSections(info);
+        if (reportWriter != null) {
+            reportWriter.write(info);
+        }
         testInfos.add(info);
+        recordDuration(info, sectionDurations);
+    }
+
+    public GalenTest getTest() {
+        return test;
     }
 
     private boolean checkIfShouldRetry(GalenTest test, int tries) {
@@ -120,6 +170,29 @@ public class TestRunnable implements Runnable {
         return false;
     }
 
+    private Map<String, Long> measureSections(GalenTestInfo info) {
+        if (durationHistory != null) {
+            try {
+                return TestDurationHistory.measureSections(info);
+            }
+            catch (Exception e) {
+                LOG.error("Couldn't measure test sections", e);
+            }
+        }
+        return Collections.emptyMap();
+    }
+
+    private void recordDuration(GalenTestInfo info, Map<String, Long> sectionDurations) {
+        if (durationHistory != null) {
+            try {
+                durationHistory.record(info, sectionDurations);
+            }
+            catch (Exception e) {
+                LOG.error("Couldn't record test duration", e);
+            }
+        }
+    }
+
     private void tellTestFinished(TestListener testListener, GalenTest test) {
         try {
             if (testListener != null) {
@@ -15,6 +15,8 @@
 ******************************************************************************/
 package com.galenframework.actions;
 
+import com.galenframework.config.GalenConfig;
+
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -27,14 +29,19 @@ public class ArgumentsUtils {
     public static String[] processSystemProperties(String[] args) {
         ArrayList<String> list = new ArrayList<>();
 
+        boolean systemPropertiesChanged = false;
         for (String arg : args) {
             if (arg.startsWith("-D")) {
                 setSystemProperty(arg);
+                systemPropertiesChanged = true;
             }
             else {
                 list.add(arg);
             }
         }
+        if (systemPropertiesChanged) {
+            GalenConfig.getConfig().refresh();
+        }
         return list.toArray(new String[]{});
     }
 
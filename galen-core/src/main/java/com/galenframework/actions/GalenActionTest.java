@@ -18,15 +18,16 @@ package com.galenframework.actions;
 import com.galenframework.TestRunnable;
 import com.galenframework.config.GalenConfig;
 import com.galenframework.reports.GalenTestInfo;
-import com.galenframework.reports.HtmlReportBuilder;
 import com.galenframework.reports.JunitReportBuilder;
+import com.galenframework.reports.StreamingReportWriter;
 import com.galenframework.reports.TestNgReportBuilder;
-import com.galenframework.reports.json.JsonReportBuilder;
 import com.galenframework.reports.model.FileTempStorage;
 import com.galenframework.runner.CombinedListener;
 import com.galenframework.runner.CompleteListener;
 import com.galenframework.runner.EventHandler;
 import com.galenframework.runner.JsTestCollector;
+import com.galenframework.runner.SuiteScheduler;
+import com.galenframework.runner.TestDurationHistory;
 import com.galenframework.runner.events.TestFilterEvent;
 import com.galenframework.suite.reader.GalenSuiteReader;
 import com.galenframework.tests.GalenTest;
@@ -40,8 +41,7 @@ import java.io.PrintStream;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.function.ToLongFunction;
 import java.util.regex.Pattern;
 
 import static java.util.Arrays.asList;
@@ -120,34 +120,53 @@ public class GalenActionTest extends GalenAction {
 
     private static void runTestsInThreads(final EventHandler eventHandler, List<GalenTest> tests,
                                           int amountOfThreads, GalenActionTestArguments testArguments, CombinedListener listener) {
-        ExecutorService executor = Executors.newFixedThreadPool(amountOfThreads);
-
         Pattern filterPattern = createTestFilter(testArguments.getFilter());
 
         List<GalenTest> filteredTests = filterTests(tests, eventHandler);
 
+        TestDurationHistory durationHistory = TestDurationHistory.load();
+        if (testArguments.getShard() != null) {
+            filteredTests = testArguments.getShard().select(selectMatchingTests(filteredTests, filterPattern, testArguments),
+                    durationHistory::getExpectedDuration);
+        }
+
         tellBeforeTestSuite(listener, filteredTests);
 
         List<GalenTestInfo> testInfos = Collections.synchronizedList(new LinkedList<GalenTestInfo>());
+        StreamingReportWriter reportWriter = createReportWriter(testArguments);
 
-        for (final GalenTest test : filteredTests) {
-            if (matchesPattern(test.getName(), filterPattern)
-                    && matchesSelectedGroups(test, testArguments.getGroups())
-                    && doesNotMatchExcludedGroups(test, testArguments.getExcludedGroups())) {
-                executor.execute(new TestRunnable(test, listener, eventHandler, testInfos));
-            }
-        }
-        executor.shutdown();
-        while (!executor.isTerminated()) {
+        List<TestRunnable> testRunnables = new LinkedList<>();
+        for (final GalenTest test : selectMatchingTests(filteredTests, filterPattern, testArguments)) {
+            testRunnables.add(new TestRunnable(test, listener, eventHandler, testInfos, reportWriter, durationHistory));
         }
 
+        // the order of tests only matters when they are run in parallel, otherwise they are run in the order of the suite
+        ToLongFunction<GalenTest> expectedDuration = amountOfThreads > 1 ? durationHistory::getExpectedDuration : test -> 0L;
+        new SuiteScheduler(amountOfThreads, GalenConfig.getConfig().getTestBrowserLimits(), expectedDuration).run(testRunnables);
+        durationHistory.save();
+
         tellAfterTestSuite(testInfos, listener);
 
+        if (reportWriter != null) {
+            reportWriter.finish();
+        }
         createAllReports(testInfos, testArguments);
 
         cleanData(testInfos);
     }
 
+    private static List<GalenTest> selectMatchingTests(List<GalenTest> tests, Pattern filterPattern, GalenActionTestArguments testArguments) {
+        List<GalenTest> matchingTests = new LinkedList<>();
+        for (GalenTest test : tests) {
+            if (matchesPattern(test.getName(), filterPattern)
+                    && matchesSelectedGroups(test, testArguments.getGroups())
+                    && doesNotMatchExcludedGroups(test, testArguments.getExcludedGroups())) {
+                matchingTests.add(test);
+            }
+        }
+        return matchingTests;
+    }
+
     private void searchForTests(File file, boolean recursive, List<File> files, List<File> jsFiles, int level) {
 
         String fileName = file.getName().toLowerCase();
@@ -237,6 +256,16 @@ public class GalenActionTest extends GalenAction {
         }
     }
 
+    /**
+     * Html and json reports are written test by test, so that the reports of finished tests are not kept in memory
+     */
+    private static StreamingReportWriter createReportWriter(GalenActionTestArguments testArguments) {
+        if (testArguments.getHtmlReport() != null || testArguments.getJsonReport() != null) {
+            return new StreamingReportWriter(testArguments.getHtmlReport(), testArguments.getJsonReport());
+        }
+        return null;
+    }
+
     private static void createAllReports(List<GalenTestInfo> testInfos, GalenActionTestArguments testArguments) {
         if (testArguments.getTestngReport() != null) {
             createTestngReport(testArguments.getTestngReport(), testInfos);
@@ -244,28 +273,6 @@ public class GalenActionTest extends GalenAction {
         if (testArguments.getJunitReport() != null) {
             createJunitReport(testArguments.getJunitReport(), testInfos);
         }
-        if (testArguments.getHtmlReport() != null) {
-            createHtmlReport(testArguments.getHtmlReport(), testInfos);
-        }
-        if (testArguments.getJsonReport() != null) {
-            createJsonReport(testArguments.getJsonReport(), testInfos);
-        }
-    }
-
-    private static void createJsonReport(String jsonReport, List<GalenTestInfo> testInfos) {
-        try {
-            new JsonReportBuilder().build(testInfos, jsonReport);
-        } catch (IOException e) {
-            LOG.error("Failed generating json report", e);
-        }
-    }
-
-    private static void createHtmlReport(String htmlReportPath, List<GalenTestInfo> testInfos) {
-        try {
-            new HtmlReportBuilder().build(testInfos, htmlReportPath);
-        } catch (Exception ex) {
-            LOG.error("Unknown error during creating HTML report.", ex);
-        }
     }
 
     private static void createJunitReport(String junitReport, List<GalenTestInfo> testInfos) {
@@ -15,6 +15,7 @@
 ******************************************************************************/
 package com.galenframework.actions;
 
+import com.galenframework.runner.TestShard;
 import org.apache.commons.cli.*;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -41,6 +42,7 @@ public class GalenActionTestArguments {
     private List<String> groups;
     private List<String> excludedGroups;
     private String config;
+    private TestShard shard;
 
 
     public static GalenActionTestArguments parse(String[] args) {
@@ -60,6 +62,7 @@ public class GalenActionTestArguments {
         options.addOption("G", "groups", true, "Test groups");
         options.addOption("Q", "excluded-groups", true, "Excluded test groups");
         options.addOption("c", "config", true, "Path to galen config file");
+        options.addOption("s", "shard", true, "Part of the tests to run, e.g. 2/8");
 
         CommandLineParser parser = new PosixParser();
         CommandLine cmd;
@@ -97,6 +100,9 @@ public class GalenActionTestArguments {
         arguments.setExcludedGroups(convertTags(cmd.getOptionValue("Q")));
         arguments.setPaths(asList(cmd.getArgs()));
         arguments.setConfig(cmd.getOptionValue("c"));
+        if (cmd.hasOption("s")) {
+            arguments.setShard(TestShard.parse(cmd.getOptionValue("s")));
+        }
 
         if (arguments.getPaths().isEmpty()) {
             throw new IllegalArgumentException("Missing test files");
@@ -228,6 +234,7 @@ public class GalenActionTestArguments {
                 .append(groups)
                 .append(excludedGroups)
                 .append(config)
+                .append(shard)
                 .toHashCode();
     }
 
@@ -257,6 +264,7 @@ public class GalenActionTestArguments {
                 .append(groups, rhs.groups)
                 .append(excludedGroups, rhs.excludedGroups)
                 .append(config, rhs.config)
+                .append(shard, rhs.shard)
                 .isEquals();
     }
 
@@ -276,6 +284,7 @@ public class GalenActionTestArguments {
                 .append("groups", groups)
                 .append("excludedGroups", excludedGroups)
                 .append("config", config)
+                .append("shard", shard)
                 .toString();
     }
 
@@ -287,4 +296,13 @@ public class GalenActionTestArguments {
     public String getConfig() {
         return config;
     }
+
+    public TestShard getShard() {
+        return shard;
+    }
+
+    public GalenActionTestArguments setShard(TestShard shard) {
+        this.shard = shard;
+        return this;
+    }
 }
@@ -20,7 +20,11 @@ import com.galenframework.speclang2.pagespec.PageSpecReader;
 import com.galenframework.specs.page.Locator;
 import com.galenframework.validation.*;
 import com.galenframework.browser.SeleniumBrowser;
+import com.galenframework.config.GalenConfig;
+import com.galenframework.config.GalenProperty;
 import com.galenframework.page.Page;
+import com.galenframework.page.Screenshot;
+import com.galenframework.page.snapshot.SnapshotPage;
 import com.galenframework.reports.LayoutReportListener;
 import com.galenframework.reports.model.LayoutReport;
 import com.galenframework.specs.page.PageSpec;
@@ -82,10 +86,27 @@ public class Galen {
 
         Page page = browser.getPage();
         page.setScreenshot(screenshotFile);
+        if (screenshotFile != null) {
+            screenshotFile.deleteOnExit();
+        }
+
+        if (GalenConfig.getConfig().getBooleanProperty(GalenProperty.GALEN_BROWSER_SNAPSHOT) && SnapshotPage.supports(pageSpec)) {
+            page = SnapshotPage.capture(page, pageSpec);
+        }
 
         return checkLayoutForPage(page, browser, pageSpec, sectionFilter, validationListener);
     }
 
+    /**
+     * Checks layout of already captured page, e.g. SnapshotPage, without browser.
+     * Component specs are not supported in this case
+     */
+    public static LayoutReport checkLayout(Page page, PageSpec pageSpec,
+                                           SectionFilter sectionFilter,
+                                           ValidationListener validationListener) throws IOException {
+        return checkLayoutForPage(page, null, pageSpec, sectionFilter, validationListener);
+    }
+
     private static LayoutReport checkLayoutForPage(Page page, Browser browser, PageSpec pageSpec,
                                                    SectionFilter sectionFilter,
                                                    ValidationListener validationListener) throws IOException {
@@ -97,10 +118,9 @@ public class Galen {
         layoutReport.setIncludedTags(sectionFilter.getIncludedTags());
         layoutReport.setExcludedTags(sectionFilter.getExcludedTags());
         try {
-            File screenshot = page.getScreenshotFile();
+            Screenshot screenshot = page.getScreenshot();
             if (screenshot != null) {
-                layoutReport.setScreenshot(layoutReport.registerFile("screenshot.png", screenshot));
-                screenshot.deleteOnExit();
+                layoutReport.setScreenshot(layoutReport.getFileStorage().registerFile("screenshot.png", screenshot.saveAsync()));
             }
         }
         catch (Exception ex) {
@@ -109,6 +129,8 @@ public class Galen {
         }
         listener.add(new LayoutReportListener(layoutReport));
 
+        page.prefetchObjects(pageSpec.getObjects());
+
         SectionValidation sectionValidation = new SectionValidation(pageSpec.getSections(), new PageValidation(browser, page, pageSpec, listener, sectionFilter), listener);
 
         List<ValidationResult> results = sectionValidation.check();
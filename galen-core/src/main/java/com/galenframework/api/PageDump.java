@@ -16,10 +16,13 @@
 package com.galenframework.api;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.util.HashMap;
 import java.util.Map;
 
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class PageDump {
     private String title;
     private Map<String, Element> items = new HashMap<>();
@@ -49,6 +52,8 @@ public class PageDump {
         return pageName;
     }
 
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class Element {
 
         @JsonIgnore
@@ -56,6 +61,17 @@ public class PageDump {
         private int[] area;
         private boolean hasImage = false;
 
+        /**
+         * Visibility, text and css properties are only stored in page snapshots.
+         * Elements without visibility are treated as visible, since page dump exports only visible elements
+         */
+        private Boolean visible;
+        private String text;
+        private Map<String, String> css;
+
+        public Element() {
+        }
+
         public Element(String objectName, int[] area) {
             setObjectName(objectName);
             setArea(area);
@@ -84,6 +100,30 @@ public class PageDump {
         public boolean getHasImage() {
             return hasImage;
         }
+
+        public Boolean getVisible() {
+            return visible;
+        }
+
+        public void setVisible(Boolean visible) {
+            this.visible = visible;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+        }
+
+        public Map<String, String> getCss() {
+            return css;
+        }
+
+        public void setCss(Map<String, String> css) {
+            this.css = css;
+        }
     }
     public void addElement(Element element) {
         items.put(element.getObjectName(), element);
@@ -16,6 +16,9 @@
 package com.galenframework.api.mutation;
 
 import com.galenframework.browser.Browser;
+import com.galenframework.config.GalenConfig;
+import com.galenframework.page.Screenshot;
+import com.galenframework.page.snapshot.SnapshotPage;
 import com.galenframework.speclang2.pagespec.SectionFilter;
 import com.galenframework.specs.page.PageSpec;
 import com.galenframework.suite.actions.mutation.MutationReport;
@@ -27,8 +30,12 @@ import com.galenframework.reports.model.LayoutReport;
 import com.galenframework.speclang2.pagespec.PageSpecReader;
 import com.galenframework.specs.page.Locator;
 import com.galenframework.suite.actions.mutation.*;
+import com.galenframework.validation.CombinedValidationListener;
 import com.galenframework.validation.ValidationListener;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
@@ -41,6 +48,8 @@ import static java.util.stream.Collectors.toList;
 import java.util.List;
 
 public class GalenMutate {
+    private final static Logger LOG = LoggerFactory.getLogger(GalenMutate.class);
+
     private static final Map<String, Object> NO_JS_VARIABLES = emptyMap();
     private static final ValidationListener NO_LISTENER = null;
     private static final Map<String, Locator> NO_OBJECTS = null;
@@ -52,14 +61,19 @@ public class GalenMutate {
 
         File screenshotFile = browser.getPage().getScreenshotFile();
         MutationRecordBrowser mutationRecordBrowser = new MutationRecordBrowser(browser);
+        SpecDependencyIndex specDependencyIndex = new SpecDependencyIndex(mutationRecordBrowser);
+
+        CombinedValidationListener recordingListener = new CombinedValidationListener();
+        recordingListener.add(validationListener);
+        recordingListener.add(specDependencyIndex);
 
-        LayoutReport initialLayoutReport = Galen.checkLayout(mutationRecordBrowser, pageSpec, sectionFilter, screenshotFile, validationListener);
+        LayoutReport initialLayoutReport = Galen.checkLayout(mutationRecordBrowser, pageSpec, sectionFilter, screenshotFile, recordingListener);
 
         MutationReport mutationReport;
         if (initialLayoutReport.errors() > 0) {
             mutationReport = createCrashedMutationReport("Cannot perform mutation testing. There are errors in initial layout validation report");
         } else {
-            mutationReport = testAllMutations(mutationRecordBrowser.getRecordedElements(), browser, pageSpec, sectionFilter, mutationOptions, screenshotFile);
+            mutationReport = testAllMutations(mutationRecordBrowser.getRecordedElements(), specDependencyIndex, browser, pageSpec, sectionFilter, mutationOptions, screenshotFile);
         }
 
         mutationReport.setInitialLayoutReport(initialLayoutReport);
@@ -76,9 +90,9 @@ public class GalenMutate {
         return new PageSpecReader().read(specPath, browser.getPage(), sectionFilter, properties, NO_JS_VARIABLES, NO_OBJECTS);
     }
 
-    private static MutationReport testAllMutations(Map<String, PageElement> recordedElements, Browser browser,
-                                                   PageSpec pageSpec, SectionFilter sectionFilter, MutationOptions mutationOptions,
-                                                   File screenshotFile) {
+    private static MutationReport testAllMutations(Map<String, PageElement> recordedElements, SpecDependencyIndex specDependencyIndex,
+                                                   Browser browser, PageSpec pageSpec, SectionFilter sectionFilter,
+                                                   MutationOptions mutationOptions, File screenshotFile) {
         List<PageMutation> mutations = recordedElements.entrySet().stream()
             .filter(nonViewport())
             .map(e-> generateMutationsFor(e.getKey(), mutationOptions)).flatMap(Collection::stream).collect(toList());
@@ -86,12 +100,43 @@ public class GalenMutate {
         MutationExecBrowser mutationExecBrowser = new MutationExecBrowser(browser, recordedElements);
 
         MutationReport mutationReport = new MutationReport();
-        mutations.forEach(mutation -> testMutation(mutation, mutationReport, mutationExecBrowser, pageSpec, sectionFilter, screenshotFile));
+        if (passesWithoutMutations(mutationExecBrowser, pageSpec, sectionFilter, screenshotFile)) {
+            Screenshot screenshot = takeScreenshot(mutationExecBrowser);
+            MutationRunner mutationRunner = new MutationRunner(browser, recordedElements, screenshot, pageSpec, sectionFilter, specDependencyIndex);
+
+            // components are checked on the origin page, which should not be used from a few threads
+            int parallelism = SnapshotPage.supports(pageSpec) ? GalenConfig.getConfig().getMutationParallelism() : 1;
+            mutationRunner.run(mutations, mutationReport, parallelism);
+        } else {
+            mutations.forEach(mutation -> testMutation(mutation, mutationReport, mutationExecBrowser, pageSpec, sectionFilter, screenshotFile));
+        }
         return mutationReport;
     }
 
+    /**
+     * Specs are re-checked for each mutation only in case they depend on mutated elements. This is only correct
+     * if the recorded elements give the same results as the real page, otherwise the whole layout is checked for every mutation
+     */
+    private static boolean passesWithoutMutations(MutationExecBrowser mutationExecBrowser, PageSpec pageSpec, SectionFilter sectionFilter, File screenshotFile) {
+        mutationExecBrowser.setActiveMutations(emptyMap());
+        try {
+            return Galen.checkLayout(mutationExecBrowser, pageSpec, sectionFilter, screenshotFile, NO_LISTENER).errors() == 0;
+        } catch (Exception ex) {
+            throw new RuntimeException("Couldn't check layout on recorded elements", ex);
+        }
+    }
+
+    private static Screenshot takeScreenshot(MutationExecBrowser mutationExecBrowser) {
+        try {
+            return mutationExecBrowser.getPage().getScreenshot();
+        } catch (Exception ex) {
+            LOG.error("Error during taking screenshot.", ex);
+            return null;
+        }
+    }
+
     private static void testMutation(PageMutation pageMutation, MutationReport mutationReport, MutationExecBrowser mutationExecBrowser, PageSpec pageSpec, SectionFilter sectionFilter, File screenshotFile) {
-        mutationExecBrowser.setActiveMutations(toMutationMap(pageMutation.getPageElementMutations()));
+        mutationExecBrowser.setActiveMutations(MutationRunner.toMutationMap(pageMutation.getPageElementMutations()));
         try {
             LayoutReport layoutReport = Galen.checkLayout(mutationExecBrowser, pageSpec, sectionFilter, screenshotFile, NO_LISTENER);
 
@@ -106,12 +151,6 @@ public class GalenMutate {
         }
     }
 
-    private static Map<String, AreaMutation> toMutationMap(List<PageElementMutation> pageElementMutations) {
-        Map<String, AreaMutation> map = new HashMap<>();
-        pageElementMutations.forEach(pem -> map.put(pem.getElementName(), pem.getAreaMutation()));
-        return map;
-    }
-
     private static List<PageMutation> generateMutationsFor(String name, MutationOptions mutationOptions) {
         return AreaMutation.generateStandardMutations(mutationOptions).stream()
             .map(areaMutation -> new PageMutation(name, singletonList(new PageElementMutation(name, areaMutation)))).collect(toList());
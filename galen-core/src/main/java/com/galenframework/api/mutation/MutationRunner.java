@@ -0,0 +1,173 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.api.mutation;
+
+import com.galenframework.browser.Browser;
+import com.galenframework.browser.mutation.MutationExecBrowser;
+import com.galenframework.page.PageElement;
+import com.galenframework.page.Screenshot;
+import com.galenframework.speclang2.pagespec.SectionFilter;
+import com.galenframework.specs.page.PageSpec;
+import com.galenframework.suite.actions.mutation.AreaMutation;
+import com.galenframework.suite.actions.mutation.MutationReport;
+import com.galenframework.suite.actions.mutation.PageElementMutation;
+import com.galenframework.suite.actions.mutation.PageMutation;
+import com.galenframework.validation.PageValidation;
+import com.galenframework.validation.ValidationListener;
+import com.galenframework.validation.ValidationResult;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Tests mutations of recorded page elements by checking only the specs which depend on mutated elements.
+ * Every worker has its own browser over the same recorded elements and screenshot, so mutations could be tested
+ * simultaneously. The results are always reported in the same order as the mutations are given.
+ */
+class MutationRunner {
+    private static final ValidationListener NO_LISTENER = null;
+
+    private final Browser browser;
+    private final Map<String, PageElement> recordedElements;
+    private final Screenshot screenshot;
+    private final PageSpec pageSpec;
+    private final SectionFilter sectionFilter;
+    private final SpecDependencyIndex specDependencyIndex;
+
+    MutationRunner(Browser browser, Map<String, PageElement> recordedElements, Screenshot screenshot,
+                   PageSpec pageSpec, SectionFilter sectionFilter, SpecDependencyIndex specDependencyIndex) {
+        this.browser = browser;
+        this.recordedElements = recordedElements;
+        this.screenshot = screenshot;
+        this.pageSpec = pageSpec;
+        this.sectionFilter = sectionFilter;
+        this.specDependencyIndex = specDependencyIndex;
+    }
+
+    void run(List<PageMutation> mutations, MutationReport mutationReport, int parallelism) {
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        parallelism = Math.min(parallelism, mutations.size());
+
+        if (parallelism > 1) {
+            runInParallel(mutations, mutationReport, parallelism);
+        } else {
+            Worker worker = new Worker();
+            for (PageMutation mutation : mutations) {
+                report(mutationReport, mutation, worker.isKilled(mutation));
+            }
+        }
+    }
+
+    private void runInParallel(List<PageMutation> mutations, MutationReport mutationReport, int parallelism) {
+        BlockingQueue<Worker> workers = new ArrayBlockingQueue<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            workers.add(new Worker());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "galen-mutation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Boolean>> results = mutations.stream()
+                .map(mutation -> executor.submit(() -> {
+                    Worker worker = workers.take();
+                    try {
+                        return worker.isKilled(mutation);
+                    } finally {
+                        workers.add(worker);
+                    }
+                })).collect(toList());
+
+            for (int i = 0; i < mutations.size(); i++) {
+                report(mutationReport, mutations.get(i), waitFor(results.get(i)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void report(MutationReport mutationReport, PageMutation mutation, boolean killed) {
+        if (killed) {
+            mutationReport.reportSuccessMutation(mutation);
+        } else {
+            mutationReport.reportFailedMutation(mutation);
+        }
+    }
+
+    private static boolean waitFor(Future<Boolean> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for mutation testing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            } else {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+
+    private class Worker {
+        private final MutationExecBrowser mutationExecBrowser;
+        private final PageValidation pageValidation;
+
+        Worker() {
+            mutationExecBrowser = new MutationExecBrowser(browser, recordedElements, screenshot);
+            pageValidation = new PageValidation(mutationExecBrowser, mutationExecBrowser.getPage(), pageSpec, NO_LISTENER, sectionFilter);
+        }
+
+        /**
+         * @return true in case any spec fails for the given mutation
+         */
+        boolean isKilled(PageMutation pageMutation) {
+            mutationExecBrowser.setActiveMutations(toMutationMap(pageMutation.getPageElementMutations()));
+            try {
+                List<String> mutatedElements = pageMutation.getPageElementMutations().stream().map(PageElementMutation::getElementName).collect(toList());
+                return anyFails(specDependencyIndex.findDependentSpecs(mutatedElements));
+            } catch (Exception ex) {
+                throw new RuntimeException("Mutation crashed: " + pageMutation.getName(), ex);
+            }
+        }
+
+        private boolean anyFails(List<SpecDependencyIndex.DependentSpec> dependentSpecs) {
+            for (SpecDependencyIndex.DependentSpec dependentSpec : dependentSpecs) {
+                ValidationResult result = pageValidation.check(dependentSpec.getObjectName(), dependentSpec.getSpec());
+                if (result.getError() != null && !result.getError().isOnlyWarn()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    static Map<String, AreaMutation> toMutationMap(List<PageElementMutation> pageElementMutations) {
+        Map<String, AreaMutation> map = new HashMap<>();
+        pageElementMutations.forEach(pem -> map.put(pem.getElementName(), pem.getAreaMutation()));
+        return map;
+    }
+}
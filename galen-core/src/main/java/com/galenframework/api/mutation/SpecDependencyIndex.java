@@ -0,0 +1,154 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.api.mutation;
+
+import com.galenframework.browser.mutation.MutationRecordBrowser;
+import com.galenframework.specs.Spec;
+import com.galenframework.specs.page.PageSection;
+import com.galenframework.suite.GalenPageAction;
+import com.galenframework.validation.PageValidation;
+import com.galenframework.validation.ValidationListener;
+import com.galenframework.validation.ValidationResult;
+
+import java.util.*;
+
+/**
+ * Listens to the initial layout validation and records which page elements were read by every top level spec.
+ * Specs of components are not tracked separately, as they are checked as a part of the component spec
+ * and only the component object itself is read from the main page.
+ */
+class SpecDependencyIndex implements ValidationListener {
+
+    /**
+     * A spec which was checked in the initial layout validation
+     */
+    static class DependentSpec {
+        private final int order;
+        private final String objectName;
+        private final Spec spec;
+
+        DependentSpec(int order, String objectName, Spec spec) {
+            this.order = order;
+            this.objectName = objectName;
+            this.spec = spec;
+        }
+
+        public String getObjectName() {
+            return objectName;
+        }
+
+        public Spec getSpec() {
+            return spec;
+        }
+    }
+
+    private final MutationRecordBrowser mutationRecordBrowser;
+    private final Map<String, List<DependentSpec>> dependentSpecs = new HashMap<>();
+    private int specsCount = 0;
+    private int depth = 0;
+
+    SpecDependencyIndex(MutationRecordBrowser mutationRecordBrowser) {
+        this.mutationRecordBrowser = mutationRecordBrowser;
+    }
+
+    /**
+     * @return all specs that read any of the given elements in the same order as they were checked
+     */
+    List<DependentSpec> findDependentSpecs(Collection<String> elementNames) {
+        List<DependentSpec> specs = new ArrayList<>();
+        for (String elementName : elementNames) {
+            specs.addAll(dependentSpecs.getOrDefault(elementName, Collections.emptyList()));
+        }
+        if (elementNames.size() > 1) {
+            Map<Integer, DependentSpec> uniqueSpecs = new TreeMap<>();
+            specs.forEach(dependentSpec -> uniqueSpecs.put(dependentSpec.order, dependentSpec));
+            specs = new ArrayList<>(uniqueSpecs.values());
+        }
+        return specs;
+    }
+
+    @Override
+    public void onBeforeSpec(PageValidation pageValidation, String objectName, Spec spec) {
+        if (depth == 0) {
+            mutationRecordBrowser.startRecordingReadElements();
+        }
+        depth++;
+    }
+
+    @Override
+    public void onSpecError(PageValidation pageValidation, String objectName, Spec spec, ValidationResult validationResult) {
+        onAfterSpec(objectName, spec);
+    }
+
+    @Override
+    public void onSpecSuccess(PageValidation pageValidation, String objectName, Spec spec, ValidationResult validationResult) {
+        onAfterSpec(objectName, spec);
+    }
+
+    private void onAfterSpec(String objectName, Spec spec) {
+        depth--;
+        if (depth == 0) {
+            DependentSpec dependentSpec = new DependentSpec(specsCount++, objectName, spec);
+            for (String elementName : mutationRecordBrowser.stopRecordingReadElements()) {
+                dependentSpecs.computeIfAbsent(elementName, name -> new ArrayList<>()).add(dependentSpec);
+            }
+        }
+    }
+
+    @Override
+    public void onObject(PageValidation pageValidation, String objectName) {
+    }
+
+    @Override
+    public void onAfterObject(PageValidation pageValidation, String objectName) {
+    }
+
+    @Override
+    public void onGlobalError(Exception e) {
+    }
+
+    @Override
+    public void onBeforePageAction(GalenPageAction action) {
+    }
+
+    @Override
+    public void onAfterPageAction(GalenPageAction action) {
+    }
+
+    @Override
+    public void onBeforeSection(PageValidation pageValidation, PageSection pageSection) {
+    }
+
+    @Override
+    public void onAfterSection(PageValidation pageValidation, PageSection pageSection) {
+    }
+
+    @Override
+    public void onSubLayout(PageValidation pageValidation, String objectName) {
+    }
+
+    @Override
+    public void onAfterSubLayout(PageValidation pageValidation, String objectName) {
+    }
+
+    @Override
+    public void onSpecGroup(PageValidation pageValidation, String specGroupName) {
+    }
+
+    @Override
+    public void onAfterSpecGroup(PageValidation pageValidation, String specGroupName) {
+    }
+}
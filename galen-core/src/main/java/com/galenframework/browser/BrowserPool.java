@@ -0,0 +1,306 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.browser;
+
+import com.galenframework.config.GalenConfig;
+import com.galenframework.config.GalenProperty;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.Dimension;
+import java.util.*;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Keeps opened browsers between tests, so that they don't have to be started for every test.
+ * Browsers are grouped by a key (e.g. browser factory with window size) and the amount of browsers
+ * leased at the same time for the same key could be limited. Every returned browser is cleaned
+ * (cookies, local and session storage, window size) and is checked that it is still alive before it is leased again.
+ * Browsers which were idle for too long or were used too many times are closed.
+ * Only selenium browsers are reused, all other browsers are closed once they are returned.
+ */
+public class BrowserPool {
+    private final static Logger LOG = LoggerFactory.getLogger(BrowserPool.class);
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}" +
+            "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private static BrowserPool defaultPool;
+
+    private final int maxBrowsersPerKey;
+    private final long idleTimeout;
+    private final int maxLeases;
+    private final String resetUrl;
+
+    private final Map<Object, Slot> slots = new HashMap<>();
+
+    /**
+     * @param maxBrowsersPerKey - amount of browsers that could be leased at the same time for the same key, zero means no limit
+     * @param idleTimeout - time in milliseconds after which an idle browser is closed
+     * @param maxLeases - amount of times a browser could be leased before it is closed
+     * @param resetUrl - url which is loaded in returned browsers after they are cleaned, could be empty
+     */
+    public BrowserPool(int maxBrowsersPerKey, long idleTimeout, int maxLeases, String resetUrl) {
+        this.maxBrowsersPerKey = maxBrowsersPerKey > 0 ? maxBrowsersPerKey : Integer.MAX_VALUE;
+        this.idleTimeout = idleTimeout;
+        this.maxLeases = maxLeases;
+        this.resetUrl = resetUrl;
+    }
+
+    public static boolean isEnabled() {
+        return GalenConfig.getConfig().getBooleanProperty(GalenProperty.GALEN_BROWSER_POOL_ENABLED);
+    }
+
+    /**
+     * Returns the pool configured with "galen.browser.pool.*" properties. All its idle browsers are closed on JVM shutdown
+     */
+    public static synchronized BrowserPool getDefault() {
+        if (defaultPool == null) {
+            GalenConfig config = GalenConfig.getConfig();
+            defaultPool = new BrowserPool(
+                    config.getIntProperty(GalenProperty.GALEN_BROWSER_POOL_MAX_BROWSERS_PER_KEY),
+                    config.getIntProperty(GalenProperty.GALEN_BROWSER_POOL_IDLE_TIMEOUT) * 1000L,
+                    config.getIntProperty(GalenProperty.GALEN_BROWSER_POOL_MAX_LEASES),
+                    config.readProperty(GalenProperty.GALEN_BROWSER_POOL_RESET_URL));
+            Runtime.getRuntime().addShutdownHook(new Thread(defaultPool::close));
+        }
+        return defaultPool;
+    }
+
+    /**
+     * Leases a browser created by the given factory. Reused browsers are resized to the given size
+     * @param screenSize - size of browser window, could be null
+     */
+    public PooledBrowser lease(BrowserFactory browserFactory, Dimension screenSize) {
+        PooledBrowser browser = lease(asList(browserFactory, screenSize), browserFactory::openBrowser);
+        if (browser.getLeases() > 1 && screenSize != null) {
+            try {
+                browser.changeWindowSize(screenSize);
+            } catch (RuntimeException ex) {
+                browser.invalidate();
+                throw ex;
+            }
+        }
+        return browser;
+    }
+
+    /**
+     * Leases an idle browser for the given key or opens a new one in case there are no idle browsers.
+     * Waits in case the limit of leased browsers for this key is reached.
+     * The window size of a new browser is remembered, so that it could be restored once the browser is returned
+     */
+    public PooledBrowser lease(Object key, Supplier<Browser> browserOpener) {
+        Slot slot = obtainSlot(key);
+        try {
+            slot.permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for browser", e);
+        }
+
+        try {
+            IdleBrowser idleBrowser = takeAliveBrowser(slot);
+            if (idleBrowser != null) {
+                return new PooledBrowser(this, key, idleBrowser.browser, idleBrowser.leases + 1, idleBrowser.originalSize);
+            } else {
+                Browser browser = browserOpener.get();
+                return new PooledBrowser(this, key, browser, 1, readWindowSize(browser));
+            }
+        } catch (RuntimeException | Error ex) {
+            slot.permits.release();
+            throw ex;
+        }
+    }
+
+    void release(PooledBrowser pooledBrowser) {
+        Slot slot = obtainSlot(pooledBrowser.getKey());
+        try {
+            if (pooledBrowser.getLeases() < maxLeases && reset(pooledBrowser.getOrigin(), pooledBrowser.getOriginalSize())) {
+                synchronized (slot) {
+                    slot.idleBrowsers.push(new IdleBrowser(pooledBrowser.getOrigin(), pooledBrowser.getLeases(),
+                            pooledBrowser.getOriginalSize(), System.currentTimeMillis()));
+                }
+            } else {
+                quitQuietly(pooledBrowser.getOrigin());
+            }
+        } finally {
+            slot.permits.release();
+        }
+        evictExpiredBrowsers(slot);
+    }
+
+    void invalidate(PooledBrowser pooledBrowser) {
+        Slot slot = obtainSlot(pooledBrowser.getKey());
+        try {
+            quitQuietly(pooledBrowser.getOrigin());
+        } finally {
+            slot.permits.release();
+        }
+    }
+
+    /**
+     * Closes all idle browsers. Leased browsers are closed once they are returned, unless they are leased again
+     */
+    public void close() {
+        List<Slot> allSlots;
+        synchronized (slots) {
+            allSlots = new ArrayList<>(slots.values());
+        }
+        for (Slot slot : allSlots) {
+            List<IdleBrowser> browsers;
+            synchronized (slot) {
+                browsers = new ArrayList<>(slot.idleBrowsers);
+                slot.idleBrowsers.clear();
+            }
+            browsers.forEach(idleBrowser -> quitQuietly(idleBrowser.browser));
+        }
+    }
+
+    public int countIdleBrowsers(Object key) {
+        Slot slot = obtainSlot(key);
+        synchronized (slot) {
+            return slot.idleBrowsers.size();
+        }
+    }
+
+    private Slot obtainSlot(Object key) {
+        synchronized (slots) {
+            return slots.computeIfAbsent(key, k -> new Slot(maxBrowsersPerKey));
+        }
+    }
+
+    /**
+     * Takes the most recently used browser, so that the rest of idle browsers could expire
+     */
+    private IdleBrowser takeAliveBrowser(Slot slot) {
+        while (true) {
+            IdleBrowser idleBrowser;
+            synchronized (slot) {
+                idleBrowser = slot.idleBrowsers.poll();
+            }
+            if (idleBrowser == null) {
+                return null;
+            } else if (!isExpired(idleBrowser) && isAlive(idleBrowser.browser)) {
+                return idleBrowser;
+            } else {
+                quitQuietly(idleBrowser.browser);
+            }
+        }
+    }
+
+    private void evictExpiredBrowsers(Slot slot) {
+        List<IdleBrowser> expiredBrowsers = new LinkedList<>();
+        synchronized (slot) {
+            while (!slot.idleBrowsers.isEmpty() && isExpired(slot.idleBrowsers.peekLast())) {
+                expiredBrowsers.add(slot.idleBrowsers.pollLast());
+            }
+        }
+        expiredBrowsers.forEach(idleBrowser -> quitQuietly(idleBrowser.browser));
+    }
+
+    private boolean isExpired(IdleBrowser idleBrowser) {
+        return System.currentTimeMillis() - idleBrowser.releasedAt > idleTimeout;
+    }
+
+    private boolean isAlive(Browser browser) {
+        try {
+            browser.getUrl();
+            return true;
+        } catch (Exception ex) {
+            LOG.trace("Browser is not responding, it will be closed", ex);
+            return false;
+        }
+    }
+
+    /**
+     * @return window size of a selenium browser or null in case it could not be read
+     */
+    private Dimension readWindowSize(Browser browser) {
+        if (browser instanceof SeleniumBrowser) {
+            try {
+                org.openqa.selenium.Dimension size = ((SeleniumBrowser) browser).getDriver().manage().window().getSize();
+                return new Dimension(size.getWidth(), size.getHeight());
+            } catch (Exception ex) {
+                LOG.trace("Couldn't read browser window size", ex);
+            }
+        }
+        return null;
+    }
+
+    private boolean reset(Browser browser, Dimension originalSize) {
+        if (!(browser instanceof SeleniumBrowser)) {
+            return false;
+        }
+
+        WebDriver driver = ((SeleniumBrowser) browser).getDriver();
+        try {
+            if (driver instanceof JavascriptExecutor) {
+                ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            }
+            driver.manage().deleteAllCookies();
+            if (originalSize != null) {
+                org.openqa.selenium.Dimension size = new org.openqa.selenium.Dimension(originalSize.width, originalSize.height);
+                if (!size.equals(driver.manage().window().getSize())) {
+                    driver.manage().window().setSize(size);
+                }
+            }
+            if (resetUrl != null && !resetUrl.trim().isEmpty()) {
+                driver.get(resetUrl);
+            }
+            return true;
+        } catch (Exception ex) {
+            LOG.trace("Couldn't reset browser, it will be closed", ex);
+            return false;
+        }
+    }
+
+    private void quitQuietly(Browser browser) {
+        try {
+            browser.quit();
+        } catch (Exception ex) {
+            LOG.trace("Couldn't quit browser", ex);
+        }
+    }
+
+    private static class Slot {
+        private final Semaphore permits;
+        private final Deque<IdleBrowser> idleBrowsers = new ArrayDeque<>();
+
+        Slot(int maxBrowsers) {
+            permits = new Semaphore(maxBrowsers, true);
+        }
+    }
+
+    private static class IdleBrowser {
+        private final Browser browser;
+        private final int leases;
+        private final Dimension originalSize;
+        private final long releasedAt;
+
+        IdleBrowser(Browser browser, int leases, Dimension originalSize, long releasedAt) {
+            this.browser = browser;
+            this.leases = leases;
+            this.originalSize = originalSize;
+            this.releasedAt = releasedAt;
+        }
+    }
+}
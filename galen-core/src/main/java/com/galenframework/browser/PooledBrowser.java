@@ -0,0 +1,125 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.browser;
+
+import com.galenframework.page.Page;
+
+import java.awt.Dimension;
+
+/**
+ * A browser leased from {@link BrowserPool}. Instead of closing the browser the quit method returns it to the pool
+ */
+public class PooledBrowser implements Browser {
+
+    private final BrowserPool pool;
+    private final Object key;
+    private final Browser origin;
+    private final int leases;
+    private final Dimension originalSize;
+    private boolean returned = false;
+
+    PooledBrowser(BrowserPool pool, Object key, Browser origin, int leases, Dimension originalSize) {
+        this.pool = pool;
+        this.key = key;
+        this.origin = origin;
+        this.leases = leases;
+        this.originalSize = originalSize;
+    }
+
+    /**
+     * Returns the browser to the pool
+     */
+    @Override
+    public void quit() {
+        if (markReturned()) {
+            pool.release(this);
+        }
+    }
+
+    /**
+     * Closes the browser instead of returning it to the pool, e.g. in case it is known to be broken
+     */
+    public void invalidate() {
+        if (markReturned()) {
+            pool.invalidate(this);
+        }
+    }
+
+    private synchronized boolean markReturned() {
+        if (returned) {
+            return false;
+        }
+        returned = true;
+        return true;
+    }
+
+    public Browser getOrigin() {
+        return origin;
+    }
+
+    Object getKey() {
+        return key;
+    }
+
+    /**
+     * @return window size of the browser at its first lease, could be null
+     */
+    Dimension getOriginalSize() {
+        return originalSize;
+    }
+
+    /**
+     * @return how many times the origin browser was leased including this lease
+     */
+    public int getLeases() {
+        return leases;
+    }
+
+    @Override
+    public void changeWindowSize(Dimension screenSize) {
+        origin.changeWindowSize(screenSize);
+    }
+
+    @Override
+    public void load(String url) {
+        origin.load(url);
+    }
+
+    @Override
+    public Object executeJavascript(String javascript) {
+        return origin.executeJavascript(javascript);
+    }
+
+    @Override
+    public Page getPage() {
+        return origin.getPage();
+    }
+
+    @Override
+    public void refresh() {
+        origin.refresh();
+    }
+
+    @Override
+    public String getUrl() {
+        return origin.getUrl();
+    }
+
+    @Override
+    public Dimension getScreenSize() {
+        return origin.getScreenSize();
+    }
+}
@@ -142,10 +142,15 @@ public class SeleniumBrowserFactory implements BrowserFactory {
         return capabilities;
     }
 
+    public String getBrowserType() {
+        return browserType;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder()
             .append(browserType)
+            .append(headless)
             .toHashCode();
     }
     
@@ -153,6 +158,7 @@ public class SeleniumBrowserFactory implements BrowserFactory {
     public String toString() {
         return new ToStringBuilder(this)
             .append("browserType", this.browserType)
+            .append("headless", this.headless)
             .toString();
     }
     
@@ -172,6 +178,7 @@ public class SeleniumBrowserFactory implements BrowserFactory {
         
         return new EqualsBuilder()
             .append(this.browserType, rhs.browserType)
+            .append(this.headless, rhs.headless)
             .isEquals();
     }
 }
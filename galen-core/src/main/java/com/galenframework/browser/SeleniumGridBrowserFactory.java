@@ -167,7 +167,7 @@ public class SeleniumGridBrowserFactory implements BrowserFactory {
             .append(this.browserVersion, rhs.browserVersion)
             .append(this.gridUrl, rhs.gridUrl)
             .append(this.platform, rhs.platform)
-            .append(this.desiredCapabilities, desiredCapabilities)
+            .append(this.desiredCapabilities, rhs.desiredCapabilities)
             .isEquals(); //@formatter:on
     }
 
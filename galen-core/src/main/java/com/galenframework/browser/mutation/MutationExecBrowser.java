@@ -18,6 +18,7 @@ package com.galenframework.browser.mutation;
 import com.galenframework.browser.Browser;
 import com.galenframework.page.Page;
 import com.galenframework.page.PageElement;
+import com.galenframework.page.Screenshot;
 import com.galenframework.suite.actions.mutation.AreaMutation;
 
 import java.awt.*;
@@ -29,12 +30,23 @@ public class MutationExecBrowser implements Browser {
     private Map<String, AreaMutation> activeMutations;
     private Browser originBrowser;
     private Map<String, PageElement> recordedElements;
+    private final Screenshot screenshot;
     private Page cachedPage;
 
     public MutationExecBrowser(Browser originBrowser, Map<String, PageElement> recordedElements) {
+        this(originBrowser, recordedElements, null);
+    }
+
+    /**
+     * @param screenshot - already taken screenshot of page, which is then used instead of the screenshot of origin page.
+     *                   This way the browser doesn't touch the origin page when checking specs on recorded elements
+     *                   and a few of such browsers could be used in different threads
+     */
+    public MutationExecBrowser(Browser originBrowser, Map<String, PageElement> recordedElements, Screenshot screenshot) {
         super();
         this.originBrowser = originBrowser;
         this.recordedElements = recordedElements;
+        this.screenshot = screenshot;
     }
 
     public void setActiveMutations(Map<String, AreaMutation> activeMutations) {
@@ -88,4 +100,8 @@ public class MutationExecBrowser implements Browser {
     public Map<String, AreaMutation> getActiveMutations() {
         return activeMutations;
     }
+
+    public Screenshot getScreenshot() {
+        return screenshot;
+    }
 }
@@ -18,6 +18,7 @@ package com.galenframework.browser.mutation;
 import com.galenframework.browser.Browser;
 import com.galenframework.page.Page;
 import com.galenframework.page.PageElement;
+import com.galenframework.page.Screenshot;
 import com.galenframework.specs.page.Locator;
 import com.galenframework.suite.actions.mutation.AreaMutation;
 
@@ -32,6 +33,7 @@ public class MutationExecPageProxy implements InvocationHandler {
     private MutationExecBrowser mutationExecBrowser;
     private final Map<String, PageElement> recordedElements;
     private final List<Method> recordingMethods;
+    private final List<Method> screenshotMethods;
     private final Page originPage;
 
     public MutationExecPageProxy(MutationExecBrowser mutationExecBrowser, Browser originBrowser, Map<String, PageElement> recordedElements) {
@@ -40,6 +42,19 @@ public class MutationExecPageProxy implements InvocationHandler {
 
         this.originPage = originBrowser.getPage();
         this.recordingMethods = initRecordingMethods();
+        this.screenshotMethods = initScreenshotMethods();
+    }
+
+    private List<Method> initScreenshotMethods() {
+        try {
+            return asList(
+                Page.class.getMethod("getScreenshot"),
+                Page.class.getMethod("getScreenshotImage"),
+                Page.class.getMethod("getScreenshotFile")
+            );
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
     }
 
     private List<Method> initRecordingMethods() {
@@ -66,8 +81,20 @@ public class MutationExecPageProxy implements InvocationHandler {
             } else {
                 return element;
             }
+        } else if (mutationExecBrowser.getScreenshot() != null && screenshotMethods.contains(method)) {
+            return getScreenshotValue(method, mutationExecBrowser.getScreenshot());
         } else {
             return method.invoke(originPage, args);
         }
     }
+
+    private Object getScreenshotValue(Method method, Screenshot screenshot) {
+        if (method.getName().equals("getScreenshotImage")) {
+            return screenshot.getImage();
+        } else if (method.getName().equals("getScreenshotFile")) {
+            return screenshot.getFile();
+        } else {
+            return screenshot;
+        }
+    }
 }
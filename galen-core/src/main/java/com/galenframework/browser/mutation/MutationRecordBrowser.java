@@ -21,13 +21,17 @@ import com.galenframework.page.PageElement;
 
 import java.awt.*;
 import java.lang.reflect.Proxy;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 public class MutationRecordBrowser implements Browser {
 
     private Browser originBrowser;
     private Map<String, PageElement> recordedElements = new HashMap<>();
+    private Set<String> readElements = null;
 
     private Page cachedPage = null;
 
@@ -61,7 +65,7 @@ public class MutationRecordBrowser implements Browser {
             cachedPage = (Page) Proxy.newProxyInstance(
                 ClassLoader.getSystemClassLoader(),
                 new Class<?>[]{Page.class},
-                new MutationRecordPageProxy(originBrowser, recordedElements)
+                new MutationRecordPageProxy(this, originBrowser, recordedElements)
             );
         }
         return cachedPage;
@@ -85,4 +89,26 @@ public class MutationRecordBrowser implements Browser {
     public Map<String, PageElement> getRecordedElements() {
         return recordedElements;
     }
+
+    /**
+     * Starts collecting names of all elements that are read from page until stopRecordingReadElements is invoked
+     */
+    public void startRecordingReadElements() {
+        readElements = new HashSet<>();
+    }
+
+    /**
+     * @return names of elements that were read from page since the recording was started
+     */
+    public Set<String> stopRecordingReadElements() {
+        Set<String> elements = readElements;
+        readElements = null;
+        return elements != null ? elements : Collections.emptySet();
+    }
+
+    void onElementRead(String elementName) {
+        if (readElements != null) {
+            readElements.add(elementName);
+        }
+    }
 }
@@ -29,12 +29,14 @@ import static java.util.Arrays.asList;
 
 public class MutationRecordPageProxy implements InvocationHandler {
 
+    private final MutationRecordBrowser mutationRecordBrowser;
     private final Browser originBrowser;
     private final Map<String, PageElement> elementStorage;
     private final Page originPage;
     private final List<Method> recordingMethods;
 
-    public MutationRecordPageProxy(Browser originBrowser, Map<String, PageElement> elementStorage) {
+    public MutationRecordPageProxy(MutationRecordBrowser mutationRecordBrowser, Browser originBrowser, Map<String, PageElement> elementStorage) {
+        this.mutationRecordBrowser = mutationRecordBrowser;
         this.originBrowser = originBrowser;
         this.elementStorage = elementStorage;
         this.originPage = originBrowser.getPage();
@@ -58,6 +60,7 @@ public class MutationRecordPageProxy implements InvocationHandler {
         Object result = method.invoke(originPage, args);
         if (recordingMethods.contains(method)) {
             elementStorage.put((String)args[0], new StalePageElement((PageElement)result));
+            mutationRecordBrowser.onElementRead((String)args[0]);
         }
         return result;
     }
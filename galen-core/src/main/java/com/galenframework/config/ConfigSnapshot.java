@@ -0,0 +1,107 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.config;
+
+import java.util.Properties;
+
+/**
+ * Immutable state of galen config with all properties already resolved from config file, system properties
+ * and defaults. Numbers and booleans are parsed once when the snapshot is created.
+ * It remembers the version of system properties it was resolved from, so that it could be replaced once they change.
+ */
+final class ConfigSnapshot {
+    private static final GalenProperty[] ALL_PROPERTIES = GalenProperty.values();
+
+    private final Properties properties;
+    private final int systemPropertiesVersion;
+    private final String[] explicitValues = new String[ALL_PROPERTIES.length];
+    private final String[] values = new String[ALL_PROPERTIES.length];
+    private final Integer[] intValues = new Integer[ALL_PROPERTIES.length];
+    private final boolean[] booleanValues = new boolean[ALL_PROPERTIES.length];
+
+    /**
+     * @param properties - properties loaded from config files, they should not be modified afterwards
+     * @param systemPropertiesVersion - version of system properties taken before they are read
+     */
+    ConfigSnapshot(Properties properties, int systemPropertiesVersion) {
+        this.properties = properties;
+        this.systemPropertiesVersion = systemPropertiesVersion;
+        for (GalenProperty property : ALL_PROPERTIES) {
+            int index = property.ordinal();
+            explicitValues[index] = properties.getProperty(property.propertyName, System.getProperty(property.propertyName));
+            values[index] = explicitValues[index] != null ? explicitValues[index] : property.defaultValue;
+            intValues[index] = parseInt(values[index]);
+            booleanValues[index] = Boolean.parseBoolean(values[index]);
+        }
+    }
+
+    /**
+     * Resolves the property in the same way as the snapshot does it, used while the config files are being loaded
+     */
+    static String resolve(Properties properties, GalenProperty property) {
+        return properties.getProperty(property.propertyName,
+                System.getProperty(property.propertyName, property.defaultValue));
+    }
+
+    int getSystemPropertiesVersion() {
+        return systemPropertiesVersion;
+    }
+
+    ConfigSnapshot withProperty(GalenProperty property, String value, int systemPropertiesVersion) {
+        Properties newProperties = copyProperties();
+        newProperties.setProperty(property.propertyName, value);
+        return new ConfigSnapshot(newProperties, systemPropertiesVersion);
+    }
+
+    Properties copyProperties() {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        return copy;
+    }
+
+    /**
+     * @return value from config file or system properties, or null in case it is not defined in any of them
+     */
+    String getExplicitValue(GalenProperty property) {
+        return explicitValues[property.ordinal()];
+    }
+
+    String getValue(GalenProperty property) {
+        return values[property.ordinal()];
+    }
+
+    /**
+     * @return parsed value or null in case the property is not a number
+     */
+    Integer getIntValue(GalenProperty property) {
+        return intValues[property.ordinal()];
+    }
+
+    boolean getBooleanValue(GalenProperty property) {
+        return booleanValues[property.ordinal()];
+    }
+
+    private static Integer parseInt(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
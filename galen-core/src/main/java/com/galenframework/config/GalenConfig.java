@@ -18,9 +18,12 @@ package com.galenframework.config;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.galenframework.specs.SpecImage;
 import com.galenframework.utils.GalenUtils;
@@ -29,6 +32,14 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Galen configuration loaded from config files and system properties. All properties are resolved and parsed
+ * into an immutable snapshot, which is replaced as a whole on every change, so reading the config doesn't need any locks.
+ * System properties are only read when a snapshot is created. They are replaced with a copy which counts its changes,
+ * so that the next read of config creates the snapshot again after any system property was changed.
+ * In case system properties can't be replaced or are replaced again by someone else, their changes are applied
+ * only with {@link #refresh()}.
+ */
 public class GalenConfig {
 
     private final static Logger LOG = LoggerFactory.getLogger(GalenConfig.class);
@@ -36,9 +47,27 @@ public class GalenConfig {
 
     public final static GalenConfig instance = new GalenConfig();
     public static final String GALEN_USER_HOME_CONFIG_NAME = ".galen.config";
-    private Properties properties;
+
+    /**
+     * Amount of changes made to system properties since they were replaced with {@link WatchedSystemProperties}
+     */
+    private final AtomicInteger systemPropertiesVersion = new AtomicInteger(0);
+
+    private volatile ConfigSnapshot snapshot = new ConfigSnapshot(new Properties(), 0);
+
+    /**
+     * Properties loaded from config files. Every change to them creates a new snapshot
+     */
+    private final LiveProperties properties = new LiveProperties();
+
+    /**
+     * Snapshots with properties overridden for a single thread
+     */
+    private final ThreadLocal<ConfigSnapshot> threadSnapshot = new ThreadLocal<>();
+    private final AtomicInteger amountOfThreadOverrides = new AtomicInteger(0);
     
     private GalenConfig() {
+        watchSystemProperties();
         try {
             loadConfig();
         }
@@ -48,43 +77,84 @@ public class GalenConfig {
     }
 
 
+    /**
+     * @return all properties loaded from config files. Changes made to them with put, setProperty, remove or clear
+     * are applied to the config
+     */
     public Properties getProperties() {
         return properties;
     }
+
+    private void watchSystemProperties() {
+        try {
+            Properties systemProperties = System.getProperties();
+            if (!(systemProperties instanceof WatchedSystemProperties)) {
+                System.setProperties(new WatchedSystemProperties(systemProperties));
+            }
+        } catch (SecurityException e) {
+            LOG.warn("Cannot watch system properties, their changes will be applied to galen config only after refresh", e);
+        }
+    }
+
+    /**
+     * Returns the snapshot of current thread, which is created again in case system properties were changed
+     */
+    private ConfigSnapshot current() {
+        ConfigSnapshot current = snapshot;
+        if (amountOfThreadOverrides.get() > 0) {
+            ConfigSnapshot overridden = threadSnapshot.get();
+            if (overridden != null) {
+                current = overridden;
+            }
+        }
+
+        int version = systemPropertiesVersion.get();
+        if (current.getSystemPropertiesVersion() != version) {
+            if (current == snapshot) {
+                refresh();
+                current = snapshot;
+            } else {
+                current = new ConfigSnapshot(current.copyProperties(), version);
+                threadSnapshot.set(current);
+            }
+        }
+        return current;
+    }
     
-    private void loadConfig() throws IOException {
-        this.properties = new Properties();
-        loadConfigFromUserHome();
-        loadConfigFromLocal();
+    private synchronized void loadConfig() throws IOException {
+        Properties loadedProperties = new Properties();
+        loadConfigFromUserHome(loadedProperties);
+        loadConfigFromLocal(loadedProperties);
+        properties.replaceWith(loadedProperties);
     }
 
-    private void loadConfigFromUserHome() throws IOException {
+    private void loadConfigFromUserHome(Properties properties) throws IOException {
         InputStream stream = GalenUtils.findFileOrResourceAsStream(System.getProperty("user.home") + "/" + GALEN_USER_HOME_CONFIG_NAME);
         if (stream != null) {
-            loadFromStream(stream);
+            loadFromStream(properties, stream);
         }
     }
 
-    private void loadConfigFromLocal() throws IOException {
-        InputStream stream = GalenUtils.findFileOrResourceAsStream(readProperty(GalenProperty.GALEN_CONFIG_FILE));
+    private void loadConfigFromLocal(Properties properties) throws IOException {
+        InputStream stream = GalenUtils.findFileOrResourceAsStream(ConfigSnapshot.resolve(properties, GalenProperty.GALEN_CONFIG_FILE));
 
         if (stream == null) {
             //fallback to old way of config name
             stream = GalenUtils.findFileOrResourceAsStream("config");
         }
 
-        loadFromStream(stream);
+        loadFromStream(properties, stream);
     }
 
-    private void loadFromStream(InputStream stream) throws IOException {
+    private void loadFromStream(Properties properties, InputStream stream) throws IOException {
         if (stream != null) {
             properties.load(stream);
             stream.close();
         }
-        setSystemPropertiesFromConfig();
+        setSystemPropertiesFromConfig(properties);
     }
 
-    private void setSystemPropertiesFromConfig() {
+    private void setSystemPropertiesFromConfig(Properties properties) {
         Enumeration<?> names = properties.propertyNames();
         while (names.hasMoreElements()) {
             String name = names.nextElement().toString();
@@ -98,10 +168,11 @@ public class GalenConfig {
         getConfig().reloadConfig(configPath);
     }
 
-    private void reloadConfig(String configPath) throws IOException {
-        this.properties = new Properties();
+    private synchronized void reloadConfig(String configPath) throws IOException {
+        Properties loadedProperties = new Properties();
         InputStream stream = GalenUtils.findFileOrResourceAsStream(configPath);
-        loadFromStream(stream);
+        loadFromStream(loadedProperties, stream);
+        properties.replaceWith(loadedProperties);
     }
 
     private List<String> convertCommaSeparatedList(String text) {
@@ -118,12 +189,11 @@ public class GalenConfig {
     }
 
     public String readProperty(GalenProperty property) {
-        return properties.getProperty(property.propertyName,
-                System.getProperty(property.propertyName, property.defaultValue));
+        return current().getValue(property);
     }
     
     public String readMandatoryProperty(GalenProperty property) {
-        String value = properties.getProperty(property.propertyName, System.getProperty(property.propertyName));
+        String value = current().getExplicitValue(property);
 
         if (value == null || value.trim().isEmpty()) {
             throw new RuntimeException("Missing property: " + property.propertyName);
@@ -132,7 +202,7 @@ public class GalenConfig {
     }
 
 
-    public synchronized static GalenConfig getConfig() {
+    public static GalenConfig getConfig() {
         return instance;
     }
     
@@ -140,8 +210,52 @@ public class GalenConfig {
         loadConfig();
     }
 
+    /**
+     * Resolves all properties again without reloading config files
+     */
+    public void refresh() {
+        properties.updateSnapshot();
+    }
+
+    /**
+     * Changes the property only for the current thread until the returned override is closed.
+     * The thread keeps using the config from the moment of override, even if the global config is changed
+     */
+    public ThreadOverride overrideForCurrentThread(GalenProperty property, String value) {
+        ConfigSnapshot previous = threadSnapshot.get();
+        ConfigSnapshot base = previous != null ? previous : snapshot;
+        threadSnapshot.set(base.withProperty(property, value, systemPropertiesVersion.get()));
+        amountOfThreadOverrides.incrementAndGet();
+        return new ThreadOverride(previous);
+    }
+
+    public class ThreadOverride implements AutoCloseable {
+        private final ConfigSnapshot previous;
+        private boolean closed = false;
+
+        private ThreadOverride(ConfigSnapshot previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * Restores the config of current thread as it was before the override. Has to be called in the same thread
+         */
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                if (previous != null) {
+                    threadSnapshot.set(previous);
+                } else {
+                    threadSnapshot.remove();
+                }
+                amountOfThreadOverrides.decrementAndGet();
+            }
+        }
+    }
+
     public int getRangeApproximation() {
-        return Integer.parseInt(readProperty(GalenProperty.GALEN_RANGE_APPROXIMATION));
+        return getIntProperty(GalenProperty.GALEN_RANGE_APPROXIMATION);
     }
 
     public List<String> getReportingListeners() {
@@ -153,13 +267,11 @@ public class GalenConfig {
     }
 
     public Integer getIntProperty(GalenProperty property) {
-        String value = readProperty(property);
-        try {
-            return Integer.parseInt(value);
-        }
-        catch (Exception e) {
+        Integer value = current().getIntValue(property);
+        if (value == null) {
             throw new RuntimeException(String.format("Couldn't parse property \"%s\" from config file", property.propertyName));
         }
+        return value;
     }
 
     
@@ -174,8 +286,7 @@ public class GalenConfig {
     }
 
     public boolean getBooleanProperty(GalenProperty property) {
-        String value = readProperty(property);
-        return Boolean.parseBoolean(value);
+        return current().getBooleanValue(property);
     }
 
     public int getLogLevel() {
@@ -210,6 +321,35 @@ public class GalenConfig {
         return getIntProperty(GalenProperty.SPEC_IMAGE_TOLERANCE);
     }
 
+    public int getImageSpecParallelism() {
+        return getIntProperty(GalenProperty.SPEC_IMAGE_PARALLELISM);
+    }
+
+    public int getSpecValidationParallelism() {
+        return getIntProperty(GalenProperty.SPEC_VALIDATION_PARALLELISM);
+    }
+
+    public int getMutationParallelism() {
+        return getIntProperty(GalenProperty.MUTATION_PARALLELISM);
+    }
+
+    /**
+     * @return maximum amount of parallel tests by browser type, parsed from "chrome=4, firefox=2"
+     */
+    public Map<String, Integer> getTestBrowserLimits() {
+        Map<String, Integer> limits = new HashMap<>();
+        for (String item : convertCommaSeparatedList(readProperty(GalenProperty.GALEN_TEST_BROWSER_LIMITS))) {
+            int eqPos = item.indexOf('=');
+            try {
+                limits.put(item.substring(0, eqPos).trim().toLowerCase(), Integer.parseInt(item.substring(eqPos + 1).trim()));
+            } catch (Exception e) {
+                throw new RuntimeException(String.format("Couldn't parse browser limit \"%s\" in property \"%s\"",
+                        item, GalenProperty.GALEN_TEST_BROWSER_LIMITS.propertyName));
+            }
+        }
+        return limits;
+    }
+
     public SpecImage.ErrorRate getImageSpecDefaultErrorRate() {
         return SpecImage.ErrorRate.fromString(readProperty(GalenProperty.SPEC_IMAGE_ERROR_RATE));
     }
@@ -226,4 +366,86 @@ public class GalenConfig {
         return readProperty(property);
     }
 
+    /**
+     * Properties which create a new snapshot of config whenever they are changed
+     */
+    private class LiveProperties extends Properties {
+
+        @Override
+        public synchronized Object put(Object key, Object value) {
+            Object previous = super.put(key, value);
+            updateSnapshot();
+            return previous;
+        }
+
+        @Override
+        public synchronized void putAll(Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                super.put(entry.getKey(), entry.getValue());
+            }
+            updateSnapshot();
+        }
+
+        @Override
+        public synchronized Object remove(Object key) {
+            Object previous = super.remove(key);
+            updateSnapshot();
+            return previous;
+        }
+
+        @Override
+        public synchronized void clear() {
+            super.clear();
+            updateSnapshot();
+        }
+
+        synchronized void replaceWith(Properties loadedProperties) {
+            super.clear();
+            for (Map.Entry<?, ?> entry : loadedProperties.entrySet()) {
+                super.put(entry.getKey(), entry.getValue());
+            }
+            updateSnapshot();
+        }
+
+        synchronized void updateSnapshot() {
+            Properties copy = new Properties();
+            for (Map.Entry<?, ?> entry : entrySet()) {
+                copy.put(entry.getKey(), entry.getValue());
+            }
+            snapshot = new ConfigSnapshot(copy, systemPropertiesVersion.get());
+        }
+    }
+
+    /**
+     * Copy of system properties which counts every change made to them.
+     * It doesn't create the snapshot by itself, as it is changed while holding the lock of system properties
+     */
+    private class WatchedSystemProperties extends Properties {
+
+        WatchedSystemProperties(Properties systemProperties) {
+            for (Map.Entry<?, ?> entry : systemProperties.entrySet()) {
+                super.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        @Override
+        public synchronized Object put(Object key, Object value) {
+            Object previous = super.put(key, value);
+            systemPropertiesVersion.incrementAndGet();
+            return previous;
+        }
+
+        @Override
+        public synchronized Object remove(Object key) {
+            Object previous = super.remove(key);
+            systemPropertiesVersion.incrementAndGet();
+            return previous;
+        }
+
+        @Override
+        public synchronized void clear() {
+            super.clear();
+            systemPropertiesVersion.incrementAndGet();
+        }
+    }
 }
@@ -24,8 +24,36 @@ public enum GalenProperty {
 
     // hard wait during scroll
     SCREENSHOT_FULLPAGE_SCROLLWAIT("galen.browser.screenshots.fullPage.scrollWait", "0"),
+
+    // "memory" stitches full page screenshot in java heap, "mapped" - in a memory-mapped temporary file
+    SCREENSHOT_FULLPAGE_STITCHING("galen.browser.screenshots.fullPage.stitching", "memory"),
     SPEC_IMAGE_TOLERANCE("galen.spec.image.tolerance", "25"),
     SPEC_IMAGE_ERROR_RATE("galen.spec.image.error", "0px"),
+
+    // amount of threads used for comparing a single image, set to zero to use all available processors
+    SPEC_IMAGE_PARALLELISM("galen.spec.image.parallelism", "1"),
+
+    // amount of threads used for checking specs of page snapshot, set to zero to use all available processors
+    SPEC_VALIDATION_PARALLELISM("galen.spec.validation.parallelism", "1"),
+
+    // amount of threads used for testing mutations of recorded page, set to zero to use all available processors
+    MUTATION_PARALLELISM("galen.mutation.parallelism", "0"),
+
+    // amount of threads used for writing attached files of reports, set to zero to use all available processors
+    REPORTS_IO_PARALLELISM("galen.reports.io.parallelism", "2"),
+
+    // amount of parsed spec files kept in memory, set to zero to disable the cache
+    SPEC_CACHE_SIZE("galen.spec.cache.size", "256"),
+
+    // amount of compiled javascript expressions kept in memory, set to zero to disable the cache
+    GALEN_JS_CACHE_SIZE("galen.js.cache.size", "1000"),
+
+    // optimization level of Rhino from -1 (interpreted) to 9
+    GALEN_JS_OPTIMIZATION_LEVEL("galen.js.optimizationLevel", "0"),
+
+    // whether page specs should use a light scope on top of the shared pre-initialized javascript scope
+    GALEN_JS_SHARED_SCOPE("galen.js.sharedScope", "true"),
+
     SPEC_GLOBAL_VISIBILITY_CHECK("galen.spec.global.visibility", "true"),
 
     TEST_JS_SUFFIX("galen.test.js.file.suffix", ".test.js"),
@@ -56,6 +84,36 @@ public enum GalenProperty {
     GALEN_BROWSER_PAGELEMENT_AREAFINDER("galen.browser.pageElement.areaFinder", "native"),
     GALEN_BROWSER_PAGELEMENT_AREAFINDER_CUSTOM_SCRIPT("galen.browser.pageElement.areaFinder.custom.script", null),
 
+    // finds all objects of page spec together with their areas and visibility in a single javascript call
+    GALEN_BROWSER_PAGELEMENT_PREFETCH("galen.browser.pageElement.prefetch", "false"),
+
+    // captures all objects of page spec together with screenshot before validation, so that specs are checked without browser
+    GALEN_BROWSER_SNAPSHOT("galen.browser.snapshot", "false"),
+
+    // reuses opened browsers between page tests instead of starting a new browser for every test
+    GALEN_BROWSER_POOL_ENABLED("galen.browser.pool.enabled", "false"),
+
+    // amount of browsers of the same type and size that could be used at the same time, zero means no limit
+    GALEN_BROWSER_POOL_MAX_BROWSERS_PER_KEY("galen.browser.pool.maxBrowsersPerKey", "0"),
+
+    // time in seconds after which an idle browser is closed
+    GALEN_BROWSER_POOL_IDLE_TIMEOUT("galen.browser.pool.idleTimeout", "300"),
+
+    // amount of tests after which a browser is closed
+    GALEN_BROWSER_POOL_MAX_LEASES("galen.browser.pool.maxLeases", "100"),
+
+    // page which is loaded in browser after it is cleaned and returned to pool
+    GALEN_BROWSER_POOL_RESET_URL("galen.browser.pool.resetUrl", "about:blank"),
+
+    // maximum amount of parallel tests per browser type, e.g. "chrome=4, firefox=2"
+    GALEN_TEST_BROWSER_LIMITS("galen.test.browserLimits", ""),
+
+    // json file with durations of previous test runs, set to empty value in order not to keep the history
+    GALEN_TEST_DURATIONS_FILE("galen.test.durations.file", ".galen-test-durations.json"),
+
+    // part of test suite that should be run in java tests, e.g. "2/8"
+    GALEN_TEST_SHARD("galen.test.shard", ""),
+
     FILE_CREATE_TIMEOUT("galen.file.wait.timeout", "30"),
 	GALEN_OCR_GOOGLE_VISION_KEY("galen.ocr.google.vision.key", null);
 
@@ -0,0 +1,208 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.generator;
+
+import com.galenframework.page.Rect;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * An R-tree over areas of page items or their edges, which is packed once with Sort-Tile-Recursive algorithm.
+ * It is used for looking up the closest area in a given direction or the smallest area containing an item,
+ * without checking all of the other areas.
+ * @param <T> type of indexed values
+ */
+public class SpatialIndex<T> {
+    private static final int NODE_CAPACITY = 16;
+
+    /**
+     * Bounds of indexed value or of a group of them.
+     * Values are ordered by their position in the list given to index
+     */
+    public static class Bounds {
+        public final int left;
+        public final int top;
+        public final int right;
+        public final int bottom;
+        final int order;
+
+        private Bounds(int left, int top, int right, int bottom, int order) {
+            this.left = left;
+            this.top = top;
+            this.right = right;
+            this.bottom = bottom;
+            this.order = order;
+        }
+    }
+
+    private static class Node<T> extends Bounds {
+        private final T value;
+        private final List<Node<T>> children;
+
+        private Node(Rect area, T value, int order) {
+            super(Math.min(area.getLeft(), area.getRight()), Math.min(area.getTop(), area.getBottom()),
+                    Math.max(area.getLeft(), area.getRight()), Math.max(area.getTop(), area.getBottom()), order);
+            this.value = value;
+            this.children = null;
+        }
+
+        private Node(List<Node<T>> children) {
+            super(children.stream().mapToInt(n -> n.left).min().getAsInt(),
+                    children.stream().mapToInt(n -> n.top).min().getAsInt(),
+                    children.stream().mapToInt(n -> n.right).max().getAsInt(),
+                    children.stream().mapToInt(n -> n.bottom).max().getAsInt(),
+                    children.stream().mapToInt(n -> n.order).min().getAsInt());
+            this.value = null;
+            this.children = children;
+        }
+
+        private int centerX() {
+            return left + (right - left) / 2;
+        }
+
+        private int centerY() {
+            return top + (bottom - top) / 2;
+        }
+    }
+
+    private final Node<T> root;
+
+    public SpatialIndex(List<T> values, Function<T, Rect> areaFunction) {
+        List<Node<T>> nodes = new ArrayList<>(values.size());
+        int order = 0;
+        for (T value : values) {
+            nodes.add(new Node<>(areaFunction.apply(value), value, order++));
+        }
+
+        if (nodes.isEmpty()) {
+            root = null;
+        } else {
+            while (nodes.size() > 1) {
+                nodes = packLevel(nodes);
+            }
+            root = nodes.get(0);
+        }
+    }
+
+    /**
+     * Groups nodes into parent nodes: sorts them into vertical slices by x and then fills the parents by y within each slice
+     */
+    private static <T> List<Node<T>> packLevel(List<Node<T>> nodes) {
+        int parentsAmount = (nodes.size() + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int slicesAmount = (int) Math.ceil(Math.sqrt(parentsAmount));
+        int sliceSize = slicesAmount * NODE_CAPACITY;
+
+        List<Node<T>> sortedByX = new ArrayList<>(nodes);
+        sortedByX.sort(Comparator.comparingInt(Node::centerX));
+
+        List<Node<T>> parents = new ArrayList<>(parentsAmount);
+        for (int sliceStart = 0; sliceStart < sortedByX.size(); sliceStart += sliceSize) {
+            List<Node<T>> slice = new ArrayList<>(sortedByX.subList(sliceStart, Math.min(sliceStart + sliceSize, sortedByX.size())));
+            slice.sort(Comparator.comparingInt(Node::centerY));
+
+            for (int start = 0; start < slice.size(); start += NODE_CAPACITY) {
+                parents.add(new Node<>(new ArrayList<>(slice.subList(start, Math.min(start + NODE_CAPACITY, slice.size())))));
+            }
+        }
+        return parents;
+    }
+
+    /**
+     * Finds the value with the smallest distance. In case there are a few of them, the one which comes first in the indexed list is returned.
+     * @param distance - calculates a distance to the bounds of a value, or returns a negative number in case it doesn't fit.
+     *                 It is also applied to the bounds of groups of values and in that case it should return the smallest distance,
+     *                 which any value inside of them could have, or a negative number if none of them fit.
+     * @param filter - tells which values could be picked
+     * @return the closest value or null in case none of values fit
+     */
+    public T findClosest(ToIntFunction<Bounds> distance, Predicate<T> filter) {
+        if (root == null) {
+            return null;
+        }
+        Search<T> search = new Search<>(distance, filter);
+        search.visit(root, distance.applyAsInt(root));
+        return search.closest != null ? search.closest.value : null;
+    }
+
+    /**
+     * Finds the first value in the indexed list, which area contains the given area. Borders of both areas could match
+     */
+    public T findFirstContaining(Rect area, Predicate<T> filter) {
+        return findClosest(b ->
+                b.left <= area.getLeft() && b.right >= area.getRight() && b.top <= area.getTop() && b.bottom >= area.getBottom() ? 0 : -1,
+            filter);
+    }
+
+    private static class Search<T> {
+        private final ToIntFunction<Bounds> distance;
+        private final Predicate<T> filter;
+        private Node<T> closest;
+        private int closestDistance;
+
+        private Search(ToIntFunction<Bounds> distance, Predicate<T> filter) {
+            this.distance = distance;
+            this.filter = filter;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void visit(Node<T> node, int nodeDistance) {
+            if (nodeDistance < 0 || !canImprove(nodeDistance, node.order)) {
+                return;
+            }
+
+            if (node.children == null) {
+                if (filter.test(node.value)) {
+                    closest = node;
+                    closestDistance = nodeDistance;
+                }
+            } else {
+                // visiting the closest children first, so that the rest of them could be skipped
+                int size = node.children.size();
+                Node<T>[] children = new Node[size];
+                int[] childDistances = new int[size];
+                int amount = 0;
+                for (Node<T> child : node.children) {
+                    int childDistance = distance.applyAsInt(child);
+                    if (childDistance >= 0) {
+                        int position = amount++;
+                        while (position > 0 && isCloser(childDistance, child.order, childDistances[position - 1], children[position - 1].order)) {
+                            children[position] = children[position - 1];
+                            childDistances[position] = childDistances[position - 1];
+                            position--;
+                        }
+                        children[position] = child;
+                        childDistances[position] = childDistance;
+                    }
+                }
+
+                for (int i = 0; i < amount; i++) {
+                    visit(children[i], childDistances[i]);
+                }
+            }
+        }
+
+        private static boolean isCloser(int distance, int order, int otherDistance, int otherOrder) {
+            return distance < otherDistance || (distance == otherDistance && order < otherOrder);
+        }
+
+        private boolean canImprove(int distance, int order) {
+            return closest == null || isCloser(distance, order, closestDistance, closest.order);
+        }
+    }
+}
@@ -17,8 +17,6 @@ package com.galenframework.generator;
 
 import com.galenframework.generator.builders.SpecGeneratorOptions;
 import com.galenframework.generator.model.GmPageSpec;
-import com.galenframework.page.Point;
-import com.galenframework.page.Rect;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -144,17 +142,14 @@ public class SpecGenerator {
      */
     private List<PageItemNode> restructurePageItems(List<PageItem> items) {
         List<PageItemNode> pins = items.stream().map(PageItemNode::new).collect(toList());
+        SpatialIndex<PageItemNode> pinsIndex = new SpatialIndex<>(pins, pin -> pin.getPageItem().getArea());
         for (PageItemNode pinA : pins) {
-            for (PageItemNode pinB: pins) {
-                if (pinA != pinB) {
-                    if (isInside(pinA.getPageItem().getArea(), pinB.getPageItem().getArea())) {
-                        if (pinB.getParent() == pinA) {
-                            throw new RuntimeException(format("The following objects have identical areas: %s, %s. Please remove one of the objects", pinA.getPageItem().getName(), pinB.getPageItem().getName()));
-                        }
-                        pinA.moveToParent(pinB);
-                        break;
-                    }
+            PageItemNode pinB = pinsIndex.findFirstContaining(pinA.getPageItem().getArea(), pin -> pin != pinA);
+            if (pinB != null) {
+                if (pinB.getParent() == pinA) {
+                    throw new RuntimeException(format("The following objects have identical areas: %s, %s. Please remove one of the objects", pinA.getPageItem().getName(), pinB.getPageItem().getName()));
                 }
+                pinA.moveToParent(pinB);
             }
         }
         return pins.stream().filter(pin -> pin.getParent() == null && pin.getChildren().size() > 0).collect(toList());
@@ -214,15 +209,6 @@ public class SpecGenerator {
         return sortedPins;
     }
 
-    private boolean isInside(Rect area, Rect areaParent) {
-        for (Point p : area.getPoints()) {
-            if (!areaParent.contains(p)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     public static String generateSpecSections(PageSpecGenerationResult result) {
         StringBuilder finalSpec = new StringBuilder();
         GmPageSpec pageSpecGM = GmPageSpec.create(result);
@@ -23,7 +23,7 @@ import com.galenframework.generator.suggestions.*;
 import com.galenframework.page.Point;
 
 import java.util.*;
-import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 public class SpecSuggester {
     public static List<SpecSuggestion> horizontallyOrderComplexRulesSuggestions = new ArrayList<SpecSuggestion>() {{
@@ -50,6 +50,8 @@ public class SpecSuggester {
         add(new CenteredInsideSpecSuggestion());
     }};
 
+    private static final int MAX_RAY_DISTANCE = 1000000;
+
     private final SuggestionOptions options;
     List<SpecFilter> excludedFilters = new LinkedList<>();
 
@@ -57,22 +59,42 @@ public class SpecSuggester {
         this.options = options;
     }
 
+    /**
+     * Tests suggestions on every sequence of neighbour pins, starting from the longest sequences.
+     * Sequence suggestions are only tested on sequences for which they could hold,
+     * and are not tested on the parts of sequences for which they were already suggested
+     */
     public SuggestionTestResult suggestSpecsForMultipleObjects(List<PageItemNode> pins, List<SpecSuggestion> suggestions, SpecGeneratorOptions specGeneratorOptions) {
         SuggestionTestResult globalResult = new SuggestionTestResult();
 
-        List<PageItemNode[]> pinsVariations = generateSequentialVariations(pins.toArray(new PageItemNode[pins.size()]));
+        PageItemNode[] pinsArray = pins.toArray(new PageItemNode[pins.size()]);
+        List<SequenceSearch> searches = new ArrayList<>(suggestions.size());
+        int longestSequence = 0;
+        for (SpecSuggestion suggestion : suggestions) {
+            SequenceSearch search = new SequenceSearch(suggestion, pinsArray);
+            searches.add(search);
+            longestSequence = Math.max(longestSequence, search.longestSequence);
+        }
 
-        for (PageItemNode[] pinsVariation : pinsVariations) {
-            String[] namesArray = Arrays.stream(pinsVariation).map(p -> p.getPageItem().getName()).toArray(String[]::new);
+        for (int amount = longestSequence; amount > 1; amount--) {
+            for (int offset = 0; offset <= pinsArray.length - amount; offset++) {
+                int last = offset + amount - 1;
 
-            for (SpecSuggestion suggestion : suggestions) {
-                if (!matchesExcludedFilter(suggestion.getName(), namesArray)) {
-                    SuggestionTestResult result = suggestion.test(options, specGeneratorOptions, pinsVariation);
-                    globalResult.merge(result);
+                for (SequenceSearch search : searches) {
+                    if (search.shouldTest(offset, last)) {
+                        PageItemNode[] pinsVariation = amount == pinsArray.length ? pinsArray : Arrays.copyOfRange(pinsArray, offset, last + 1);
+                        String[] namesArray = Arrays.stream(pinsVariation).map(p -> p.getPageItem().getName()).toArray(String[]::new);
 
-                    if (result != null && result.isValid()) {
-                        if (result.getFilters() != null) {
-                            excludedFilters.addAll(result.getFilters());
+                        if (!matchesExcludedFilter(search.suggestion.getName(), namesArray)) {
+                            SuggestionTestResult result = search.suggestion.test(options, specGeneratorOptions, pinsVariation);
+                            globalResult.merge(result);
+
+                            if (result != null && result.isValid()) {
+                                search.suggested(offset, last);
+                                if (result.getFilters() != null) {
+                                    excludedFilters.addAll(result.getFilters());
+                                }
+                            }
                         }
                     }
                 }
@@ -82,24 +104,54 @@ public class SpecSuggester {
         return globalResult;
     }
 
-    private List<PageItemNode[]> generateSequentialVariations(PageItemNode[] pageItemNodes) {
-        List<PageItemNode[]> variations = new LinkedList<>();
-        if (pageItemNodes != null && pageItemNodes.length > 1) {
-            variations.add(pageItemNodes);
+    /**
+     * Keeps track of sequences for which a suggestion could hold or was already suggested
+     */
+    private static class SequenceSearch {
+        private final SpecSuggestion suggestion;
+        private final boolean isSequenceSuggestion;
+        private final int[] sequenceEnds;
+        private final int longestSequence;
+        private final List<int[]> suggestedSequences = new ArrayList<>();
+
+        private SequenceSearch(SpecSuggestion suggestion, PageItemNode[] pins) {
+            this.suggestion = suggestion;
+            this.isSequenceSuggestion = suggestion instanceof SequenceSpecSuggestion;
+
+            if (isSequenceSuggestion) {
+                sequenceEnds = ((SequenceSpecSuggestion) suggestion).findSequenceEnds(pins);
+            } else {
+                sequenceEnds = new int[pins.length];
+                Arrays.fill(sequenceEnds, pins.length - 1);
+            }
+
+            int longest = 0;
+            for (int i = 0; i < sequenceEnds.length; i++) {
+                longest = Math.max(longest, sequenceEnds[i] - i + 1);
+            }
+            this.longestSequence = longest;
         }
 
-        for (int amount = pageItemNodes.length - 1; amount > 1; amount --) {
-            for (int offset = 0; offset <= pageItemNodes.length - amount; offset ++) {
-                PageItemNode[] variation = new PageItemNode[amount];
-                for (int i = 0; i < amount; i++) {
-                    variation[i] = pageItemNodes[offset + i];
+        private boolean shouldTest(int first, int last) {
+            if (last > sequenceEnds[first]) {
+                return false;
+            }
+            if (isSequenceSuggestion) {
+                for (int[] sequence : suggestedSequences) {
+                    if (sequence[0] <= first && last <= sequence[1]) {
+                        return false;
+                    }
                 }
-                variations.add(variation);
             }
+            return true;
         }
-        return variations;
-    }
 
+        private void suggested(int first, int last) {
+            if (isSequenceSuggestion) {
+                suggestedSequences.add(new int[]{first, last});
+            }
+        }
+    }
 
     public SuggestionTestResult suggestSpecsForTwoObjects(List<PageItemNode> pins, List<SpecSuggestion> suggestions, SpecGeneratorOptions specGeneratorOptions) {
         SuggestionTestResult globalResult = new SuggestionTestResult();
@@ -151,10 +203,10 @@ public class SpecSuggester {
         for (PageItemNode pin : pins) {
             Point[] points = pin.getPageItem().getArea().getPoints();
 
-            Edge closestRightEdge = rayCastRight(pin, new Edge(pin, points[1], points[2]), edges.getRightEdges());
-            Edge closestLeftEdge = rayCastLeft(pin, new Edge(pin, points[0], points[3]), edges.getLeftEdges());
-            Edge closestBottomEdge = rayCastBottom(pin, new Edge(pin, points[3], points[2]), edges.getBottomEdges());
-            Edge closestTopEdge = rayCastTop(pin, new Edge(pin, points[0], points[1]), edges.getTopEdges());
+            Edge closestRightEdge = rayCastRight(pin, new Edge(pin, points[1], points[2]), edges.getRightEdgesIndex());
+            Edge closestLeftEdge = rayCastLeft(pin, new Edge(pin, points[0], points[3]), edges.getLeftEdgesIndex());
+            Edge closestBottomEdge = rayCastBottom(pin, new Edge(pin, points[3], points[2]), edges.getBottomEdgesIndex());
+            Edge closestTopEdge = rayCastTop(pin, new Edge(pin, points[0], points[1]), edges.getTopEdgesIndex());
 
             CompositeSpecBuilder compositeSpecBuilder = new CompositeSpecBuilder();
             allSpecBuilders.put(pin.getPageItem().getName(), compositeSpecBuilder);
@@ -211,55 +263,64 @@ public class SpecSuggester {
         return globalResult;
     }
 
-    private Edge rayCastTop(PageItemNode pin, Edge edge, List<Edge> edges) {
-        return findClosestEdge(pin, edges, (otherEdge) -> {
-            if (otherEdge.isInTopZoneOf(edge)) {
-                return edge.p1.getTop() - otherEdge.p1.getTop();
+    private Edge rayCastTop(PageItemNode pin, Edge edge, SpatialIndex<Edge> edges) {
+        int top = edge.p1.getTop();
+        return findClosestEdge(pin, edges, (bounds) -> {
+            if (bounds.top <= top && isInZone(bounds.left, bounds.right, edge.p1.getLeft(), edge.p2.getLeft())) {
+                return top - Math.min(bounds.bottom, top);
             }
             return -1;
         });
     }
 
-    private Edge rayCastBottom(PageItemNode pin, Edge edge, List<Edge> edges) {
-        return findClosestEdge(pin, edges, (otherEdge) -> {
-            if (otherEdge.isInBottomZoneOf(edge)) {
-                return otherEdge.p1.getTop() - edge.p1.getTop();
+    private Edge rayCastBottom(PageItemNode pin, Edge edge, SpatialIndex<Edge> edges) {
+        int top = edge.p1.getTop();
+        return findClosestEdge(pin, edges, (bounds) -> {
+            if (bounds.bottom >= top && isInZone(bounds.left, bounds.right, edge.p1.getLeft(), edge.p2.getLeft())) {
+                return Math.max(bounds.top, top) - top;
             }
             return -1;
         });
     }
 
-    private Edge rayCastRight(PageItemNode pin, Edge edge, List<Edge> edges) {
-        return findClosestEdge(pin, edges, (otherEdge) -> {
-            if (otherEdge.isInRightZoneOf(edge)) {
-                return otherEdge.p1.getLeft() - edge.p1.getLeft();
+    private Edge rayCastRight(PageItemNode pin, Edge edge, SpatialIndex<Edge> edges) {
+        int left = edge.p1.getLeft();
+        return findClosestEdge(pin, edges, (bounds) -> {
+            if (bounds.right >= left && isInZone(bounds.top, bounds.bottom, edge.p1.getTop(), edge.p2.getTop())) {
+                return Math.max(bounds.left, left) - left;
             }
             return -1;
         });
     }
-    private Edge rayCastLeft(PageItemNode pin, Edge edge, List<Edge> edges) {
-        return findClosestEdge(pin, edges, (otherEdge) -> {
-            if (otherEdge.isInLeftZoneOf(edge)) {
-                return  edge.p1.getLeft() - otherEdge.p1.getLeft();
+
+    private Edge rayCastLeft(PageItemNode pin, Edge edge, SpatialIndex<Edge> edges) {
+        int left = edge.p1.getLeft();
+        return findClosestEdge(pin, edges, (bounds) -> {
+            if (bounds.left <= left && isInZone(bounds.top, bounds.bottom, edge.p1.getTop(), edge.p2.getTop())) {
+                return left - Math.min(bounds.right, left);
             }
             return -1;
         });
     }
 
-    private Edge findClosestEdge(PageItemNode pin, List<Edge> otherEdges, Function<Edge, Integer> distanceCalculator) {
-        Edge closestEdge = null;
-        int distance = 1000000;
-        for (Edge otherEdge : otherEdges) {
-            if (otherEdge.itemNode != pin) {
-                int d = distanceCalculator.apply(otherEdge);
-                if (d >= 0 && distance > d) {
-                    distance = d;
-                    closestEdge = otherEdge;
-                }
-            }
-        }
-        return closestEdge;
+    /**
+     * Tells whether the projection of an edge (from start to end) overlaps with the projection of the casted edge,
+     * in the same way as Edge.isInHorizontalZoneOf and Edge.isInVerticalZoneOf do
+     */
+    private static boolean isInZone(int start, int end, int edgeStart, int edgeEnd) {
+        return end > edgeStart && (start <= edgeStart || start < edgeEnd);
+    }
 
+    /**
+     * Finds the closest edge of another object.
+     * The distance calculator is applied to the bounds of edges and of groups of edges in spatial index,
+     * so it returns the smallest distance which an edge within given bounds could have
+     */
+    private Edge findClosestEdge(PageItemNode pin, SpatialIndex<Edge> otherEdges, ToIntFunction<SpatialIndex.Bounds> distanceCalculator) {
+        return otherEdges.findClosest(bounds -> {
+            int d = distanceCalculator.applyAsInt(bounds);
+            return d < MAX_RAY_DISTANCE ? d : -1;
+        }, otherEdge -> otherEdge.itemNode != pin);
     }
 
     private boolean matchesExcludedFilter(String suggestionId, String...args) {
@@ -16,7 +16,9 @@
 package com.galenframework.generator.raycast;
 
 import com.galenframework.generator.PageItemNode;
+import com.galenframework.generator.SpatialIndex;
 import com.galenframework.page.Point;
+import com.galenframework.page.Rect;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -27,6 +29,10 @@ public class EdgesContainer {
         this.leftEdges = leftEdges;
         this.bottomEdges = bottomEdges;
         this.topEdges = topEdges;
+        this.rightEdgesIndex = new SpatialIndex<>(rightEdges, Edge::getArea);
+        this.leftEdgesIndex = new SpatialIndex<>(leftEdges, Edge::getArea);
+        this.bottomEdgesIndex = new SpatialIndex<>(bottomEdges, Edge::getArea);
+        this.topEdgesIndex = new SpatialIndex<>(topEdges, Edge::getArea);
     }
 
     public List<Edge> getRightEdges() {
@@ -45,6 +51,22 @@ public class EdgesContainer {
         return topEdges;
     }
 
+    public SpatialIndex<Edge> getRightEdgesIndex() {
+        return rightEdgesIndex;
+    }
+
+    public SpatialIndex<Edge> getLeftEdgesIndex() {
+        return leftEdgesIndex;
+    }
+
+    public SpatialIndex<Edge> getBottomEdgesIndex() {
+        return bottomEdgesIndex;
+    }
+
+    public SpatialIndex<Edge> getTopEdgesIndex() {
+        return topEdgesIndex;
+    }
+
     public static class Edge {
         public final PageItemNode itemNode;
         public final boolean isParent;
@@ -61,6 +83,13 @@ public class EdgesContainer {
             this(itemNode, p1, p2, false);
         }
 
+        /**
+         * Returns an area between two points of the edge, which is either zero width or zero height
+         */
+        public Rect getArea() {
+            return new Rect(p1.getLeft(), p1.getTop(), p2.getLeft() - p1.getLeft(), p2.getTop() - p1.getTop());
+        }
+
         public boolean isInRightZoneOf(Edge edge) {
             if (p1.getLeft() >= edge.p1.getLeft()) {
                 if (isInHorizontalZoneOf(edge)) return true;
@@ -132,6 +161,10 @@ public class EdgesContainer {
     private final List<Edge> leftEdges;
     private final List<Edge> bottomEdges;
     private final List<Edge> topEdges;
+    private final SpatialIndex<Edge> rightEdgesIndex;
+    private final SpatialIndex<Edge> leftEdgesIndex;
+    private final SpatialIndex<Edge> bottomEdgesIndex;
+    private final SpatialIndex<Edge> topEdgesIndex;
 
     public static EdgesContainer create(PageItemNode parent, List<PageItemNode> pins) {
         List<Edge> rightEdges = new LinkedList<>();
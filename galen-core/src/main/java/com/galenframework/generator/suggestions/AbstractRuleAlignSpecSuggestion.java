@@ -25,7 +25,9 @@ import static com.galenframework.generator.SpecGeneratorUtils.findNamingPattern;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
-public abstract class AbstractRuleAlignSpecSuggestion implements SpecSuggestion {
+public abstract class AbstractRuleAlignSpecSuggestion implements SequenceSpecSuggestion {
+    private static final int MAX_DIFF = 70;
+    private static final int MAX_DIFF_DEVIATION = 3;
 
     @Override
     public SuggestionTestResult test(SuggestionOptions options, SpecGeneratorOptions specGeneratorOptions, PageItemNode... pins) {
@@ -41,11 +43,11 @@ public abstract class AbstractRuleAlignSpecSuggestion implements SpecSuggestion
                 }
 
                 int diff = calculateDiff(area1, area2);
-                if (diff > 70) {
+                if (diff > MAX_DIFF) {
                     return null;
                 }
                 if (!diffs.isEmpty()) {
-                    if (Math.abs(previousDiff - diff) > 3) {
+                    if (Math.abs(previousDiff - diff) > MAX_DIFF_DEVIATION) {
                         return null;
                     }
                 }
@@ -71,6 +73,39 @@ public abstract class AbstractRuleAlignSpecSuggestion implements SpecSuggestion
         return null;
     }
 
+    /**
+     * Uses the same checks as the test method does for neighbour pins,
+     * so the rule is suggested for a sequence only if it ends before or at the found index
+     */
+    @Override
+    public int[] findSequenceEnds(PageItemNode[] pins) {
+        int[] ends = new int[pins.length];
+        if (pins.length == 0) {
+            return ends;
+        }
+        ends[pins.length - 1] = pins.length - 1;
+
+        int nextDiff = 0;
+        boolean nextPairMatches = false;
+        for (int i = pins.length - 2; i >= 0; i--) {
+            Rect area1 = pins[i].getPageItem().getArea();
+            Rect area2 = pins[i + 1].getPageItem().getArea();
+            int diff = calculateDiff(area1, area2);
+            boolean pairMatches = !areAligned(area1, area2) && diff <= MAX_DIFF;
+
+            if (!pairMatches) {
+                ends[i] = i;
+            } else if (nextPairMatches && Math.abs(diff - nextDiff) <= MAX_DIFF_DEVIATION) {
+                ends[i] = ends[i + 1];
+            } else {
+                ends[i] = i + 1;
+            }
+            nextDiff = diff;
+            nextPairMatches = pairMatches;
+        }
+        return ends;
+    }
+
     protected List<SpecAssertion> createAssertions(PageItemNode[] pins) {
         List<SpecAssertion> assertions = new LinkedList<>();
         for (int i = 0; i < pins.length - 1; i++) {
@@ -0,0 +1,31 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.generator.suggestions;
+
+import com.galenframework.generator.PageItemNode;
+
+/**
+ * A suggestion for a sequence of objects, which could only hold for a sequence if it holds for every pair of neighbours in it.
+ * Once it was suggested for a sequence, it should exclude itself for any part of that sequence with its filters.
+ */
+public interface SequenceSpecSuggestion extends SpecSuggestion {
+
+    /**
+     * Extends a sequence from every pin while the suggestion could still hold for it and stops at the first break
+     * @return for every pin the index of the last pin of the longest sequence starting with it
+     */
+    int[] findSequenceEnds(PageItemNode[] pins);
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.javascript;
+
+import org.mozilla.javascript.BaseFunction;
+import org.mozilla.javascript.ClassCache;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+
+/**
+ * A light top level scope which takes imported classes and library functions from the shared scope.
+ * It has its own unsealed standard objects and everything declared or imported by scripts is kept in this scope,
+ * so scripts are able to modify e.g. String.prototype while the shared scope is never modified
+ */
+class ChildJsScope extends ScriptableObject {
+
+    /**
+     * JavaImporter which keeps classes and packages imported by scripts. It is created on the first import
+     */
+    private Scriptable importer;
+
+    ChildJsScope(Context context, ScriptableObject sharedScope) {
+        ClassCache.get(sharedScope).associate(this);
+        context.initStandardObjects(this, false);
+        setPrototype(sharedScope);
+        setParentScope(null);
+        defineProperty("importClass", createImportFunction("importClass"), DONTENUM);
+        defineProperty("importPackage", createImportFunction("importPackage"), DONTENUM);
+    }
+
+    private BaseFunction createImportFunction(final String methodName) {
+        return new BaseFunction() {
+            @Override
+            public Object call(Context cx, Scriptable scope, Scriptable thisObj, Object[] args) {
+                if (importer == null) {
+                    importer = cx.newObject(ChildJsScope.this, "JavaImporter");
+                }
+                return ScriptableObject.callMethod(cx, importer, methodName, args);
+            }
+        };
+    }
+
+    @Override
+    public String getClassName() {
+        return "global";
+    }
+
+    @Override
+    public Object get(String name, Scriptable start) {
+        Object value = super.get(name, start);
+        if (value == NOT_FOUND && importer != null) {
+            value = importer.get(name, importer);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean has(String name, Scriptable start) {
+        return super.has(name, start) || (importer != null && importer.has(name, importer));
+    }
+}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.javascript;
+
+import com.galenframework.config.GalenConfig;
+import com.galenframework.config.GalenProperty;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide cache of compiled javascript expressions, so that the same code is not parsed again
+ * for every loop iteration or evaluated line of spec. The compiled scripts don't depend on the scope,
+ * so they are shared between all js executors. The scripts are compiled separately for each optimization level.
+ */
+public class CompiledScriptCache {
+
+    private static final String SOURCE_NAME = "<cmd>";
+
+    private static final Map<Pair<Integer, String>, Script> cache = new LinkedHashMap<Pair<Integer, String>, Script>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Pair<Integer, String>, Script> eldest) {
+            return size() > GalenConfig.getConfig().getIntProperty(GalenProperty.GALEN_JS_CACHE_SIZE);
+        }
+    };
+
+    private CompiledScriptCache() {
+    }
+
+    public static Script compile(Context context, String source) {
+        Pair<Integer, String> key = new ImmutablePair<>(context.getOptimizationLevel(), source);
+
+        Script script;
+        synchronized (cache) {
+            script = cache.get(key);
+        }
+
+        if (script == null) {
+            script = context.compileString(source, SOURCE_NAME, 1, null);
+            if (GalenConfig.getConfig().getIntProperty(GalenProperty.GALEN_JS_CACHE_SIZE) > 0) {
+                synchronized (cache) {
+                    cache.put(key, script);
+                }
+            }
+        }
+        return script;
+    }
+
+    public static void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+}
@@ -19,9 +19,16 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.galenframework.api.Galen;
 import com.galenframework.api.GalenPageDump;
+import com.galenframework.config.GalenConfig;
+import com.galenframework.config.GalenProperty;
 import com.galenframework.runner.events.TestFilterEvent;
 import com.galenframework.runner.events.TestSuiteEvent;
 import com.galenframework.suite.actions.mutation.MutationOptions;
@@ -45,17 +52,74 @@ import org.slf4j.LoggerFactory;
 public class GalenJsExecutor implements VarsParserJsProcessable {
     private final static Logger LOG = LoggerFactory.getLogger(GalenJsExecutor.class);
 
+    /**
+     * Sealed scopes with all major classes and the given libraries loaded, they are shared by all threads
+     */
+    private static final Map<List<String>, ScriptableObject> sharedScopes = new HashMap<>();
+
+    private static final Map<String, String> librarySources = new ConcurrentHashMap<>();
+
     private Context context;
-    private ImporterTopLevel scope;
+    private ScriptableObject scope;
     private JsFunctionLoad loadFunction;
 
     public GalenJsExecutor() {
-        this.context = Context.enter();
+        this.context = enterContext();
         this.scope = new ImporterTopLevel(context);
-        
+        defineLoadFunction();
+        importAllMajorClasses();
+    }
+
+    private GalenJsExecutor(Context context, ScriptableObject scope) {
+        this.context = context;
+        this.scope = scope;
+    }
+
+    /**
+     * Creates an executor with a light scope on top of the shared one, which has all major classes imported
+     * and the given libraries loaded. The shared scope is initialized only once per JVM and is sealed afterwards,
+     * so the created executors could be used in different threads
+     * @param libraries - names of scripts from javascript library
+     */
+    public static GalenJsExecutor withSharedScope(String... libraries) {
+        Context context = enterContext();
+        ScriptableObject sharedScope = getSharedScope(context, Arrays.asList(libraries));
+        GalenJsExecutor js = new GalenJsExecutor(context, new ChildJsScope(context, sharedScope));
+        js.defineLoadFunction();
+        return js;
+    }
+
+    private static synchronized ScriptableObject getSharedScope(Context context, List<String> libraries) {
+        ScriptableObject sharedScope = sharedScopes.get(libraries);
+        if (sharedScope == null) {
+            GalenJsExecutor js = new GalenJsExecutor(context, new ImporterTopLevel(context, true));
+            js.importAllMajorClasses();
+            for (String library : libraries) {
+                js.evalScriptFromLibrary(library);
+            }
+            sharedScope = js.scope;
+
+            // initializing all lazily loaded standard objects before the scope is shared between threads
+            for (Object id : sharedScope.getAllIds()) {
+                if (id instanceof String) {
+                    ScriptableObject.getProperty(sharedScope, (String) id);
+                }
+            }
+            sharedScope.sealObject();
+            sharedScopes.put(libraries, sharedScope);
+        }
+        return sharedScope;
+    }
+
+    private static Context enterContext() {
+        Context context = Context.enter();
+        context.setOptimizationLevel(GalenConfig.getConfig().getIntProperty(GalenProperty.GALEN_JS_OPTIMIZATION_LEVEL, -1, 9));
+        return context;
+    }
+
+    private void defineLoadFunction() {
         this.loadFunction = new JsFunctionLoad();
         scope.defineProperty("load", loadFunction, ScriptableObject.DONTENUM);
-        importAllMajorClasses();
     }
 
     private void importAllMajorClasses() {
@@ -82,7 +146,7 @@ public class GalenJsExecutor implements VarsParserJsProcessable {
     
     private void importClasses(Class<?>[] classes) {
         for (Class<?> clazz : classes) {
-            context.evaluateString(scope, "importClass(" + clazz.getName() + ");", "<cmd>", 1, null);
+            eval("importClass(" + clazz.getName() + ");");
         }
     }
 
@@ -92,7 +156,7 @@ public class GalenJsExecutor implements VarsParserJsProcessable {
     }
 
     public Object eval(String jsCode) {
-        return context.evaluateString(scope, jsCode, "<cmd>", 1, null);
+        return CompiledScriptCache.compile(context, jsCode).exec(context, scope);
     }
 
     public Object eval(Reader scriptFileReader, String javascriptPath) throws IOException {
@@ -123,7 +187,7 @@ public class GalenJsExecutor implements VarsParserJsProcessable {
      */
     @Override
     public String evalStrictToString(String script) {
-        Object returnedObject = context.evaluateString(scope, script, "<cmd>", 1, null);
+        Object returnedObject = eval(script);
         String unwrappedObject = unwrapProcessedObjectToString(returnedObject);
 
         if (unwrappedObject != null) {
@@ -132,13 +196,15 @@ public class GalenJsExecutor implements VarsParserJsProcessable {
     }
 
     public static String loadJsFromLibrary(String path) {
-        try {
-            InputStream is = GalenJsExecutor.class.getResourceAsStream("/js/" + path);
-            return  IOUtils.toString(is);
-        }
-        catch (Exception ex) {
-            throw new RuntimeException(ex);
-        }
+        return librarySources.computeIfAbsent(path, p -> {
+            try {
+                InputStream is = GalenJsExecutor.class.getResourceAsStream("/js/" + p);
+                return  IOUtils.toString(is);
+            }
+            catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        });
     }
 
 
@@ -154,7 +220,7 @@ public class GalenJsExecutor implements VarsParserJsProcessable {
         eval(loadJsFromLibrary(libraryName));
     }
 
-    public ImporterTopLevel getScope() {
+    public ScriptableObject getScope() {
         return scope;
     }
 }
@@ -0,0 +1,263 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.page;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Vector;
+
+/**
+ * An opaque RGB image which rows are kept in a memory-mapped temporary file instead of java heap.
+ * It is used for stitching long full page screenshots: the captured strips are drawn into it one by one
+ * and later only the needed regions are read back.
+ */
+public class MappedImage {
+
+    private static final long MAX_CHUNK_BYTES = Integer.MAX_VALUE;
+    private static final int OPAQUE = 0xff000000;
+
+    private final int width;
+    private final int height;
+    private final int rowsPerChunk;
+    private final IntBuffer[] chunks;
+
+    public MappedImage(int width, int height) throws IOException {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException(String.format("Incorrect image size: %dx%d", width, height));
+        }
+        this.width = width;
+        this.height = height;
+
+        long rowBytes = (long) width * 4;
+        this.rowsPerChunk = (int) Math.min(height, Math.max(1, MAX_CHUNK_BYTES / rowBytes));
+        this.chunks = new IntBuffer[(height + rowsPerChunk - 1) / rowsPerChunk];
+
+        File file = File.createTempFile("screenshot", ".raw");
+        file.deleteOnExit();
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            for (int i = 0; i < chunks.length; i++) {
+                int rows = Math.min(rowsPerChunk, height - i * rowsPerChunk);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * rowsPerChunk * rowBytes, rows * rowBytes).asIntBuffer();
+            }
+        } finally {
+            // the mapping stays valid after the file is closed
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Copies all rows of the given image into this image starting from the specified row.
+     * Everything that doesn't fit into this image is skipped
+     */
+    public synchronized void drawImage(BufferedImage image, int top) {
+        int columns = Math.min(width, image.getWidth());
+        int[] row = new int[columns];
+
+        for (int y = Math.max(0, -top); y < image.getHeight() && top + y < height; y++) {
+            image.getRGB(0, y, columns, 1, row, 0, columns);
+            for (int x = 0; x < columns; x++) {
+                row[x] |= OPAQUE;
+            }
+            IntBuffer chunk = chunkForRow(top + y);
+            chunk.position(positionInChunk(top + y, 0));
+            chunk.put(row, 0, columns);
+        }
+    }
+
+    /**
+     * Reads the specified area which has to be located inside of this image
+     */
+    public BufferedImage getSubimage(int x, int y, int w, int h) {
+        if (x < 0 || y < 0 || w < 0 || h < 0 || x + w > width || y + h > height) {
+            throw new IllegalArgumentException(String.format("Area {x: %d, y: %d, w: %d, h: %d} is outside of image %dx%d",
+                    x, y, w, h, width, height));
+        }
+
+        BufferedImage image = new BufferedImage(Math.max(w, 1), Math.max(h, 1), BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        for (int row = 0; row < h; row++) {
+            readRow(x, y + row, w, pixels, row * w);
+        }
+        return image;
+    }
+
+    /**
+     * Copies the whole image into java heap. Should only be used when the region of interest is not known
+     */
+    public BufferedImage toBufferedImage() {
+        return getSubimage(0, 0, width, height);
+    }
+
+    /**
+     * Encodes the image as PNG row by row, without copying the whole image to java heap
+     */
+    public void writePng(File file) throws IOException {
+        ImageIO.write(new RowRenderedImage(), "png", file);
+    }
+
+    private void readRow(int x, int y, int w, int[] destination, int offset) {
+        IntBuffer chunk = chunkForRow(y).duplicate();
+        chunk.position(positionInChunk(y, x));
+        chunk.get(destination, offset, w);
+    }
+
+    private IntBuffer chunkForRow(int y) {
+        return chunks[y / rowsPerChunk];
+    }
+
+    private int positionInChunk(int y, int x) {
+        return (y % rowsPerChunk) * width + x;
+    }
+
+    /**
+     * Gives access to the rows of mapped image for image writers,
+     * which request the data row by row
+     */
+    private class RowRenderedImage implements RenderedImage {
+        private final ColorModel colorModel = new DirectColorModel(24, 0xff0000, 0xff00, 0xff);
+
+        @Override
+        public Vector<RenderedImage> getSources() {
+            return null;
+        }
+
+        @Override
+        public Object getProperty(String name) {
+            return Image.UndefinedProperty;
+        }
+
+        @Override
+        public String[] getPropertyNames() {
+            return null;
+        }
+
+        @Override
+        public ColorModel getColorModel() {
+            return colorModel;
+        }
+
+        @Override
+        public SampleModel getSampleModel() {
+            return colorModel.createCompatibleSampleModel(width, 1);
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public int getMinX() {
+            return 0;
+        }
+
+        @Override
+        public int getMinY() {
+            return 0;
+        }
+
+        @Override
+        public int getNumXTiles() {
+            return 1;
+        }
+
+        @Override
+        public int getNumYTiles() {
+            return height;
+        }
+
+        @Override
+        public int getMinTileX() {
+            return 0;
+        }
+
+        @Override
+        public int getMinTileY() {
+            return 0;
+        }
+
+        @Override
+        public int getTileWidth() {
+            return width;
+        }
+
+        @Override
+        public int getTileHeight() {
+            return 1;
+        }
+
+        @Override
+        public int getTileGridXOffset() {
+            return 0;
+        }
+
+        @Override
+        public int getTileGridYOffset() {
+            return 0;
+        }
+
+        @Override
+        public Raster getTile(int tileX, int tileY) {
+            return getData(new Rectangle(0, tileY, width, 1));
+        }
+
+        @Override
+        public Raster getData() {
+            return getData(new Rectangle(0, 0, width, height));
+        }
+
+        @Override
+        public Raster getData(Rectangle rect) {
+            WritableRaster raster = colorModel.createCompatibleWritableRaster(rect.width, rect.height)
+                    .createWritableTranslatedChild(rect.x, rect.y);
+            return copyData(raster);
+        }
+
+        @Override
+        public WritableRaster copyData(WritableRaster raster) {
+            Rectangle bounds = raster.getBounds().intersection(new Rectangle(0, 0, width, height));
+            int[] row = new int[Math.max(bounds.width, 0)];
+            for (int y = bounds.y; y < bounds.y + bounds.height; y++) {
+                readRow(bounds.x, y, bounds.width, row, 0);
+                raster.setDataElements(bounds.x, y, bounds.width, 1, row);
+            }
+            return raster;
+        }
+    }
+}
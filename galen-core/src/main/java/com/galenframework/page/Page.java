@@ -17,6 +17,7 @@ package com.galenframework.page;
 
 import java.awt.image.BufferedImage;
 import java.io.File;
+import java.util.Map;
 
 import com.galenframework.specs.page.Locator;
 
@@ -51,6 +52,28 @@ public interface Page {
      */
     File getScreenshotFile();
 
+    /**
+     * Same as getScreenshotImage but gives access to the screenshot file as well,
+     * which is written only when it is needed
+     * @return
+     */
+    default Screenshot getScreenshot() {
+        BufferedImage image = getScreenshotImage();
+        if (image != null) {
+            return Screenshot.fromImage(image, this::getScreenshotFile);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Gives a chance to find all the objects at once before they are requested one by one with getObject method.
+     * Implementations are free to ignore it
+     * @param objects locators of objects by their names
+     */
+    default void prefetchObjects(Map<String, Locator> objects) {
+    }
+
     String getTitle();
 
     void switchToFrame(PageElement mainObject);
@@ -0,0 +1,183 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.page;
+
+import com.galenframework.rainbow4j.Rainbow4J;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * A page screenshot which is decoded only once and kept in memory for validation.
+ * The PNG file is written only when it is requested, e.g. when the screenshot is attached to a report.
+ * Long stitched screenshots could also be kept in a MappedImage, in which case only the requested areas are read to java heap.
+ */
+public class Screenshot {
+
+    private static final ExecutorService writers = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors())),
+            runnable -> {
+                Thread thread = new Thread(runnable, "galen-screenshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private BufferedImage image;
+    private final MappedImage mappedImage;
+
+    /**
+     * A copy of the mapped image in java heap, which could be released when memory is needed
+     */
+    private SoftReference<BufferedImage> materializedImage = new SoftReference<>(null);
+    private Future<File> file;
+    private Supplier<File> fileSource;
+
+    private Screenshot(BufferedImage image, MappedImage mappedImage, Future<File> file, Supplier<File> fileSource) {
+        this.image = image;
+        this.mappedImage = mappedImage;
+        this.file = file;
+        this.fileSource = fileSource;
+    }
+
+    public static Screenshot fromImage(BufferedImage image) {
+        return new Screenshot(image, null, null, null);
+    }
+
+    /**
+     * Uses the image for validation and takes the file from the given source only when it is requested.
+     * In case the source gives no file, the image is written instead
+     */
+    public static Screenshot fromImage(BufferedImage image, Supplier<File> fileSource) {
+        return new Screenshot(image, null, null, fileSource);
+    }
+
+    public static Screenshot fromMappedImage(MappedImage mappedImage) {
+        return new Screenshot(null, mappedImage, null, null);
+    }
+
+    /**
+     * Uses an already existing file. The image is decoded from it on the first call of getImage
+     */
+    public static Screenshot fromFile(File file) {
+        return new Screenshot(null, null, CompletableFuture.completedFuture(file), null);
+    }
+
+    /**
+     * Returns the whole screenshot. In case it is stored in a MappedImage - its copy is kept only as long as
+     * there is enough memory for it, so getSubimage should be preferred
+     */
+    public synchronized BufferedImage getImage() {
+        if (mappedImage != null) {
+            BufferedImage copy = materializedImage.get();
+            if (copy == null) {
+                copy = mappedImage.toBufferedImage();
+                materializedImage = new SoftReference<>(copy);
+            }
+            return copy;
+        }
+        if (image == null) {
+            try {
+                image = Rainbow4J.loadImage(getFile().getAbsolutePath());
+            } catch (IOException e) {
+                throw new RuntimeException("Couldn't read screenshot", e);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Returns the specified area of screenshot, which has to be located inside of it
+     */
+    public BufferedImage getSubimage(int x, int y, int width, int height) {
+        if (mappedImage != null) {
+            return mappedImage.getSubimage(x, y, width, height);
+        } else if (width > 0 && height > 0) {
+            return getImage().getSubimage(x, y, width, height);
+        } else {
+            return new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+        }
+    }
+
+    public int getWidth() {
+        if (mappedImage != null) {
+            return mappedImage.getWidth();
+        } else {
+            return getImage().getWidth();
+        }
+    }
+
+    public int getHeight() {
+        if (mappedImage != null) {
+            return mappedImage.getHeight();
+        } else {
+            return getImage().getHeight();
+        }
+    }
+
+    /**
+     * Starts writing the screenshot to a temporary PNG file in background unless it was already started
+     * @return a future of the written file
+     */
+    public synchronized Future<File> saveAsync() {
+        if (file == null && fileSource != null) {
+            File sourceFile = fileSource.get();
+            fileSource = null;
+            if (sourceFile != null) {
+                file = CompletableFuture.completedFuture(sourceFile);
+            }
+        }
+        if (file == null) {
+            final BufferedImage imageToSave = image;
+            file = writers.submit(() -> {
+                File screenshotFile = File.createTempFile("screenshot", ".png");
+                screenshotFile.deleteOnExit();
+                if (mappedImage != null) {
+                    mappedImage.writePng(screenshotFile);
+                } else {
+                    Rainbow4J.saveImage(imageToSave, screenshotFile);
+                }
+                return screenshotFile;
+            });
+        }
+        return file;
+    }
+
+    /**
+     * Returns the screenshot file and waits in case it is still being written
+     */
+    public File getFile() {
+        return waitFor(saveAsync());
+    }
+
+    private static File waitFor(Future<File> file) {
+        try {
+            return file.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for screenshot file", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Couldn't write screenshot file", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.page.selenium;
+
+import com.galenframework.page.Rect;
+import com.galenframework.specs.page.Locator;
+import org.apache.commons.io.IOUtils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Finds a lot of objects in a single javascript call and fetches their areas and visibility at the same time.
+ * The objects are located in the same way as ByChain does it.
+ */
+class BatchedElementFinder {
+
+    private final static Logger LOG = LoggerFactory.getLogger(BatchedElementFinder.class);
+
+    /**
+     * The same script is used by selenium for WebElement.isDisplayed in W3C mode
+     */
+    private static final String IS_DISPLAYED_ATOM_RESOURCE = "/org/openqa/selenium/remote/isDisplayed.js";
+
+    private static final String FIND_SCRIPT =
+            "var context = arguments[0] || document, objects = arguments[1], result = [], " +
+            "scrollTop = window.pageYOffset || document.documentElement.scrollTop, " +
+            "scrollLeft = window.pageXOffset || document.documentElement.scrollLeft;" +
+            "function findAll(ctx, type, value) {" +
+            "  if (type === 'css') { return ctx.querySelectorAll(value); }" +
+            "  if (type === 'id') { return ctx.querySelectorAll('[id=\"' + value.replace(/\\\\/g, '\\\\\\\\').replace(/\"/g, '\\\\\"') + '\"]'); }" +
+            "  if (type === 'xpath') {" +
+            "    var snapshot = document.evaluate(value, ctx, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), list = [];" +
+            "    for (var i = 0; i < snapshot.snapshotLength; i++) { list.push(snapshot.snapshotItem(i)); }" +
+            "    return list;" +
+            "  }" +
+            "  throw new Error('Unsupported locator type: ' + type);" +
+            "}" +
+            "function find(ctx, chain, k) {" +
+            "  var elements = findAll(ctx, chain[k][0], chain[k][1]), index = chain[k][2];" +
+            "  var element = index > 0 ? elements[index - 1] : elements[0];" +
+            "  if (!element) { return null; }" +
+            "  return k === chain.length - 1 ? element : find(element, chain, k + 1);" +
+            "}" +
+            "for (var i = 0; i < objects.length; i++) {" +
+            "  try {" +
+            "    var element = find(context, objects[i], 0);" +
+            "    if (element) {" +
+            "      var rect = element.getBoundingClientRect();" +
+            "      result.push([element, rect.left + scrollLeft, rect.top + scrollTop, rect.width, rect.height, isDisplayed ? isDisplayed(element) : null]);" +
+            "    } else {" +
+            "      result.push(false);" +
+            "    }" +
+            "  } catch (e) {" +
+            "    result.push(null);" +
+            "  }" +
+            "}" +
+            "return result;";
+
+    private static String isDisplayedAtom;
+    private static boolean isDisplayedAtomLoaded = false;
+
+    /**
+     * Result of batched search for a single object
+     */
+    static class FoundElement {
+        private final WebElement webElement;
+        private final Rect area;
+        private final Boolean visible;
+
+        FoundElement(WebElement webElement, Rect area, Boolean visible) {
+            this.webElement = webElement;
+            this.area = area;
+            this.visible = visible;
+        }
+
+        /**
+         * @return found element or null in case it is absent on page
+         */
+        WebElement getWebElement() {
+            return webElement;
+        }
+
+        Rect getArea() {
+            return area;
+        }
+
+        Boolean getVisible() {
+            return visible;
+        }
+    }
+
+    private static final FoundElement ABSENT = new FoundElement(null, null, null);
+
+    private final WebDriver driver;
+
+    BatchedElementFinder(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * @return found elements by object names. Objects which could not be searched with javascript are not included,
+     * so they should be located in a usual way.
+     */
+    Map<String, FoundElement> findAll(SearchContext searchContext, Map<String, Locator> objects) {
+        Map<String, FoundElement> foundElements = new HashMap<>();
+        if (!(driver instanceof JavascriptExecutor) || objects.isEmpty()) {
+            return foundElements;
+        }
+
+        List<String> names = new ArrayList<>(objects.size());
+        List<List<Object>> chains = new ArrayList<>(objects.size());
+        for (Map.Entry<String, Locator> object : objects.entrySet()) {
+            names.add(object.getKey());
+            chains.add(toChain(object.getValue()));
+        }
+
+        Object context = searchContext instanceof WebElement ? searchContext : null;
+
+        List<?> results;
+        try {
+            results = (List<?>) ((JavascriptExecutor) driver).executeScript(createScript(), context, chains);
+        } catch (Exception ex) {
+            LOG.trace("Couldn't fetch objects in batch", ex);
+            return foundElements;
+        }
+
+        for (int i = 0; i < names.size() && i < results.size(); i++) {
+            Object result = results.get(i);
+            if (Boolean.FALSE.equals(result)) {
+                foundElements.put(names.get(i), ABSENT);
+            } else if (result instanceof List) {
+                List<?> values = (List<?>) result;
+                Rect area = new Rect(
+                        ((Number) values.get(1)).intValue(),
+                        ((Number) values.get(2)).intValue(),
+                        ((Number) values.get(3)).intValue(),
+                        ((Number) values.get(4)).intValue());
+                Boolean visible = values.get(5) instanceof Boolean ? (Boolean) values.get(5) : null;
+                foundElements.put(names.get(i), new FoundElement((WebElement) values.get(0), area, visible));
+            }
+        }
+        return foundElements;
+    }
+
+    /**
+     * Converts locator with all its parents into a list of [type, value, index] starting from the outermost parent
+     */
+    private List<Object> toChain(Locator locator) {
+        LinkedList<Object> chain = new LinkedList<>();
+        while (locator != null) {
+            chain.addFirst(Arrays.asList(locator.getLocatorType(), locator.getLocatorValue(), locator.getIndex()));
+            locator = locator.getParent();
+        }
+        return chain;
+    }
+
+    private static String createScript() {
+        String atom = loadIsDisplayedAtom();
+        if (atom != null) {
+            return "var isDisplayed = function () { return (" + atom + ").apply(null, arguments); };" + FIND_SCRIPT;
+        } else {
+            return "var isDisplayed = null;" + FIND_SCRIPT;
+        }
+    }
+
+    private static synchronized String loadIsDisplayedAtom() {
+        if (!isDisplayedAtomLoaded) {
+            isDisplayedAtomLoaded = true;
+            try (InputStream stream = BatchedElementFinder.class.getResourceAsStream(IS_DISPLAYED_ATOM_RESOURCE)) {
+                if (stream != null) {
+                    isDisplayedAtom = IOUtils.toString(stream, "UTF-8");
+                }
+            } catch (Exception ex) {
+                LOG.trace("Couldn't load isDisplayed atom", ex);
+            }
+        }
+        return isDisplayedAtom;
+    }
+}
@@ -17,9 +17,10 @@ package com.galenframework.page.selenium;
 
 import java.awt.image.BufferedImage;
 import java.io.File;
-import java.io.IOException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 import com.galenframework.config.GalenConfig;
@@ -28,8 +29,8 @@ import com.galenframework.page.Rect;
 import com.galenframework.page.AbsentPageElement;
 import com.galenframework.page.Page;
 import com.galenframework.page.PageElement;
+import com.galenframework.page.Screenshot;
 import com.galenframework.specs.page.Locator;
-import com.galenframework.rainbow4j.Rainbow4J;
 
 import com.galenframework.utils.GalenUtils;
 import org.openqa.selenium.*;
@@ -44,8 +45,7 @@ public class SeleniumPage implements Page {
     
     private PageElement parentObject;
 
-    private BufferedImage cachedScreenshotImage;
-    private File cachedScreenshotFile;
+    private Screenshot cachedScreenshot;
     private int offsetLeft = 0;
     private int offsetTop = 0;
 
@@ -107,6 +107,38 @@ public class SeleniumPage implements Page {
 
     }
 
+    @Override
+    public void prefetchObjects(Map<String, Locator> objects) {
+        if (!GalenConfig.getConfig().getBooleanProperty(GalenProperty.GALEN_BROWSER_PAGELEMENT_PREFETCH)) {
+            return;
+        }
+
+        Map<String, Locator> objectsToFind = new LinkedHashMap<>();
+        for (Map.Entry<String, Locator> object : objects.entrySet()) {
+            if (!cachedPageElements.containsKey(object.getKey())) {
+                objectsToFind.put(object.getKey(), object.getValue());
+            }
+        }
+
+        // custom area finders can't be batched, so only the elements are taken
+        boolean useFetchedAreas = AreaFinder.valueOf(GalenConfig.getConfig()
+                .getStringProperty(GalenProperty.GALEN_BROWSER_PAGELEMENT_AREAFINDER).toUpperCase(Locale.ENGLISH)) != AreaFinder.CUSTOM;
+
+        Map<String, BatchedElementFinder.FoundElement> foundElements = new BatchedElementFinder(driver).findAll(driverSearchContext, objectsToFind);
+        for (Map.Entry<String, BatchedElementFinder.FoundElement> entry : foundElements.entrySet()) {
+            BatchedElementFinder.FoundElement foundElement = entry.getValue();
+            PageElement pageElement;
+            if (foundElement.getWebElement() != null) {
+                pageElement = new WebPageElement(driver, "unnamed", foundElement.getWebElement(), objectsToFind.get(entry.getKey()))
+                        .withPrefetchedGeometry(useFetchedAreas ? foundElement.getArea() : null, foundElement.getVisible())
+                        .withOffset(offsetLeft, offsetTop);
+            } else {
+                pageElement = new AbsentPageElement();
+            }
+            cachedPageElements.put(entry.getKey(), pageElement);
+        }
+    }
+
     private List<WebElement> driverFindElements(ByChain byChain) {
         return byChain.findElements(driverSearchContext);
     }
@@ -160,43 +192,47 @@ public class SeleniumPage implements Page {
 
     @Override
     public File getScreenshotFile() {
-        if (this.cachedScreenshotFile == null) {
-            cachedScreenshotFile = createNewScreenshot();
-        }
+        return getScreenshot().getFile();
+    }
 
-        return this.cachedScreenshotFile;
+    @Override
+    public Screenshot getScreenshot() {
+        if (this.cachedScreenshot == null) {
+            cachedScreenshot = createNewScreenshot();
+        }
+        return this.cachedScreenshot;
     }
 
-    private File createNewScreenshot() {
+    private Screenshot createNewScreenshot() {
         try {
             if (GalenConfig.getConfig().getBooleanProperty(GalenProperty.SCREENSHOT_FULLPAGE)) {
-                return GalenUtils.makeFullScreenshot(driver);
+                if ("mapped".equals(GalenConfig.getConfig().getStringProperty(GalenProperty.SCREENSHOT_FULLPAGE_STITCHING))) {
+                    return Screenshot.fromMappedImage(GalenUtils.makeMappedFullScreenshot(driver));
+                }
+                return Screenshot.fromImage(GalenUtils.makeFullScreenshotImage(driver));
             }
-            else return makeSimpleScreenshot();
+            else return Screenshot.fromImage(GalenUtils.takeScreenshotImage(driver));
         } catch (Exception e) {
             throw new RuntimeException("Error making screenshot", e);
         }
     }
 
-    private File makeSimpleScreenshot() throws IOException {
-        return GalenUtils.takeScreenshot(driver);
-    }
-
     @Override
     public void setScreenshot(File screenshotFile) {
-        this.cachedScreenshotFile = screenshotFile;
+        if (screenshotFile != null) {
+            this.cachedScreenshot = Screenshot.fromFile(screenshotFile);
+        } else {
+            this.cachedScreenshot = null;
+        }
     }
 
     @Override
     public BufferedImage getScreenshotImage() {
-        if (this.cachedScreenshotImage == null) {
-            try {
-                cachedScreenshotImage = Rainbow4J.loadImage(getScreenshotFile().getAbsolutePath());
-            } catch (Exception e) {
-                throw new RuntimeException("Couldn't take screenshot for page", e);
-            }
+        try {
+            return getScreenshot().getImage();
+        } catch (Exception e) {
+            throw new RuntimeException("Couldn't take screenshot for page", e);
         }
-        return this.cachedScreenshotImage;
     }
 
     @Override
@@ -42,11 +42,29 @@ public class WebPageElement extends PageElement {
     }
 
     private Rect cachedArea = null;
-    
+    private Rect prefetchedArea = null;
+    private Boolean prefetchedVisibility = null;
+
+    /**
+     * Sets the area and visibility which were already fetched from browser together with other elements,
+     * so that no additional calls to browser are needed
+     * @param area area of element as it would be returned by area finder. Could be null
+     * @param visible visibility of element. Could be null
+     */
+    public WebPageElement withPrefetchedGeometry(Rect area, Boolean visible) {
+        this.prefetchedArea = area;
+        this.prefetchedVisibility = visible;
+        return this;
+    }
+
     @Override
     public Rect calculateArea() {
         if (cachedArea == null) {
-            cachedArea = getAreaFinder().findArea(this);
+            if (prefetchedArea != null) {
+                cachedArea = prefetchedArea;
+            } else {
+                cachedArea = getAreaFinder().findArea(this);
+            }
             if (getLocator() != null && getLocator().getCorrections() != null) {
                 cachedArea = correctedRect(cachedArea, getLocator().getCorrections());
             }
@@ -74,6 +92,9 @@ public class WebPageElement extends PageElement {
     
     @Override
     public boolean isVisible() {
+        if (prefetchedVisibility != null) {
+            return prefetchedVisibility;
+        }
         try {
             return getWebElement().isDisplayed();
         }
@@ -0,0 +1,280 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.page.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.galenframework.api.PageDump;
+import com.galenframework.page.AbsentPageElement;
+import com.galenframework.page.Page;
+import com.galenframework.page.PageElement;
+import com.galenframework.page.Screenshot;
+import com.galenframework.specs.Spec;
+import com.galenframework.specs.SpecComponent;
+import com.galenframework.specs.SpecCss;
+import com.galenframework.specs.SpecText;
+import com.galenframework.specs.page.Locator;
+import com.galenframework.specs.page.ObjectSpecs;
+import com.galenframework.specs.page.PageSection;
+import com.galenframework.specs.page.PageSpec;
+import com.galenframework.specs.page.SpecGroup;
+import org.apache.commons.io.FileUtils;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
+
+/**
+ * An immutable copy of a page which contains everything needed for checking the specs of specific page spec:
+ * areas and visibility of all its objects, their texts and css properties and the page screenshot.
+ * Once it is captured the specs are validated without making any calls to browser.
+ * The snapshot is stored in the same format as page dump, so the page dump could be loaded as a snapshot as well.
+ */
+public class SnapshotPage implements Page {
+
+    public static final String PAGE_JSON = "page.json";
+    public static final String PAGE_SCREENSHOT = "page.png";
+
+    private static final List<String> SPECIAL_OBJECTS = asList("screen", "viewport");
+
+    private final PageDump pageDump;
+    private final Map<String, PageElement> elements;
+    private Screenshot screenshot;
+
+    public SnapshotPage(PageDump pageDump, Screenshot screenshot) {
+        this.pageDump = pageDump;
+        this.screenshot = screenshot;
+
+        Map<String, PageElement> elements = new HashMap<>();
+        for (Map.Entry<String, PageDump.Element> item : pageDump.getItems().entrySet()) {
+            item.getValue().setObjectName(item.getKey());
+            elements.put(item.getKey(), new SnapshotPageElement(item.getValue()));
+        }
+        this.elements = Collections.unmodifiableMap(elements);
+    }
+
+    /**
+     * Checks whether all specs of page spec could be validated against a snapshot.
+     * Component specs are not supported as they need to search for objects inside of other objects
+     */
+    public static boolean supports(PageSpec pageSpec) {
+        return !containsComponents(pageSpec.getSections());
+    }
+
+    /**
+     * Fetches all objects of page spec with everything that is needed for their specs
+     * together with screenshot, so the page could be released afterwards
+     */
+    public static SnapshotPage capture(Page page, PageSpec pageSpec) {
+        Set<String> textObjects = new HashSet<>();
+        Map<String, Set<String>> cssProperties = new HashMap<>();
+        collectRequiredValues(pageSpec.getSections(), textObjects, cssProperties);
+
+        page.prefetchObjects(pageSpec.getObjects());
+
+        PageDump pageDump = new PageDump();
+        pageDump.setTitle(page.getTitle());
+
+        for (Map.Entry<String, Locator> object : pageSpec.getObjects().entrySet()) {
+            captureElement(pageDump, object.getKey(), page.getObject(object.getKey(), object.getValue()), textObjects, cssProperties);
+        }
+        for (String objectName : SPECIAL_OBJECTS) {
+            captureElement(pageDump, objectName, page.getSpecialObject(objectName), textObjects, cssProperties);
+        }
+
+        Screenshot screenshot = page.getScreenshot();
+        if (screenshot != null) {
+            // making sure the image is read before the page is released
+            screenshot.getWidth();
+        }
+        return new SnapshotPage(pageDump, screenshot);
+    }
+
+    private static void captureElement(PageDump pageDump, String objectName, PageElement pageElement,
+                                       Set<String> textObjects, Map<String, Set<String>> cssProperties) {
+        if (pageElement == null || !pageElement.isPresent()) {
+            return;
+        }
+
+        PageDump.Element element = new PageDump.Element(objectName, pageElement.getArea().toIntArray());
+        element.setVisible(pageElement.isVisible());
+
+        if (textObjects.contains(objectName)) {
+            element.setText(pageElement.getText());
+        }
+
+        Set<String> propertyNames = cssProperties.get(objectName);
+        if (propertyNames != null) {
+            Map<String, String> css = new HashMap<>();
+            for (String propertyName : propertyNames) {
+                css.put(propertyName, pageElement.getCssProperty(propertyName));
+            }
+            element.setCss(css);
+        }
+
+        pageDump.addElement(element);
+    }
+
+    private static void collectRequiredValues(List<PageSection> sections, Set<String> textObjects, Map<String, Set<String>> cssProperties) {
+        for (PageSection section : sections) {
+            for (ObjectSpecs objectSpecs : section.getObjects()) {
+                List<Spec> specs = new LinkedList<>(objectSpecs.getSpecs());
+                for (SpecGroup specGroup : objectSpecs.getSpecGroups()) {
+                    specs.addAll(specGroup.getSpecs());
+                }
+
+                for (Spec spec : specs) {
+                    if (spec instanceof SpecCss) {
+                        cssProperties.computeIfAbsent(objectSpecs.getObjectName(), name -> new HashSet<>())
+                                .add(((SpecCss) spec).getCssPropertyName());
+                    } else if (spec instanceof SpecText) {
+                        textObjects.add(objectSpecs.getObjectName());
+                    }
+                }
+            }
+            collectRequiredValues(section.getSections(), textObjects, cssProperties);
+        }
+    }
+
+    private static boolean containsComponents(List<PageSection> sections) {
+        for (PageSection section : sections) {
+            for (ObjectSpecs objectSpecs : section.getObjects()) {
+                for (Spec spec : objectSpecs.getSpecs()) {
+                    if (spec instanceof SpecComponent) {
+                        return true;
+                    }
+                }
+                for (SpecGroup specGroup : objectSpecs.getSpecGroups()) {
+                    for (Spec spec : specGroup.getSpecs()) {
+                        if (spec instanceof SpecComponent) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            if (containsComponents(section.getSections())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Loads a snapshot or a page dump from the folder with page.json and page.png files
+     */
+    public static SnapshotPage load(File folder) throws IOException {
+        PageDump pageDump = new ObjectMapper().readValue(new File(folder, PAGE_JSON), PageDump.class);
+
+        File screenshotFile = new File(folder, PAGE_SCREENSHOT);
+        return new SnapshotPage(pageDump, screenshotFile.exists() ? Screenshot.fromFile(screenshotFile) : null);
+    }
+
+    /**
+     * Stores the snapshot as page.json and page.png files in the given folder
+     */
+    public void save(File folder) throws IOException {
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new RuntimeException("Cannot create dir: " + folder.getAbsolutePath());
+        }
+
+        new ObjectMapper().writeValue(new File(folder, PAGE_JSON), pageDump);
+        if (screenshot != null) {
+            FileUtils.copyFile(screenshot.getFile(), new File(folder, PAGE_SCREENSHOT));
+        }
+    }
+
+    public PageDump getPageDump() {
+        return pageDump;
+    }
+
+    @Override
+    public PageElement getObject(Locator objectLocator) {
+        throw new RuntimeException(format("Cannot find object by locator \"%s\" in page snapshot", objectLocator.prettyString()));
+    }
+
+    @Override
+    public PageElement getObject(String objectName, Locator objectLocator) {
+        PageElement element = elements.get(objectName);
+        if (element != null) {
+            return element;
+        } else {
+            return new AbsentPageElement();
+        }
+    }
+
+    @Override
+    public PageElement getSpecialObject(String objectName) {
+        return getObject(objectName, null);
+    }
+
+    @Override
+    public int getObjectCount(Locator locator) {
+        throw new RuntimeException(format("Cannot count objects by locator \"%s\" in page snapshot", locator.prettyString()));
+    }
+
+    @Override
+    public Page createObjectContextPage(Locator mainObjectLocator) {
+        throw new RuntimeException("Component specs are not supported in page snapshot");
+    }
+
+    @Override
+    public void setScreenshot(File screenshotFile) {
+        if (screenshotFile != null) {
+            this.screenshot = Screenshot.fromFile(screenshotFile);
+        }
+    }
+
+    @Override
+    public BufferedImage getScreenshotImage() {
+        return getScreenshot().getImage();
+    }
+
+    @Override
+    public File getScreenshotFile() {
+        return getScreenshot().getFile();
+    }
+
+    @Override
+    public Screenshot getScreenshot() {
+        if (screenshot == null) {
+            throw new RuntimeException("Page snapshot doesn't contain a screenshot");
+        }
+        return screenshot;
+    }
+
+    @Override
+    public String getTitle() {
+        return pageDump.getTitle();
+    }
+
+    @Override
+    public void switchToFrame(PageElement mainObject) {
+        throw new RuntimeException("Frames are not supported in page snapshot");
+    }
+
+    @Override
+    public void switchToParentFrame() {
+        throw new RuntimeException("Frames are not supported in page snapshot");
+    }
+
+    @Override
+    public Page createFrameContext(PageElement mainObject) {
+        throw new RuntimeException("Frames are not supported in page snapshot");
+    }
+}
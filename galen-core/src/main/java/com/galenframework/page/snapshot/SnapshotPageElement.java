@@ -0,0 +1,87 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.page.snapshot;
+
+import com.galenframework.api.PageDump;
+import com.galenframework.page.PageElement;
+import com.galenframework.page.Rect;
+
+import static java.lang.String.format;
+
+/**
+ * An element of page snapshot. All its values were captured from browser beforehand
+ */
+public class SnapshotPageElement extends PageElement {
+
+    private final PageDump.Element element;
+
+    public SnapshotPageElement(PageDump.Element element) {
+        this.element = element;
+    }
+
+    @Override
+    protected Rect calculateArea() {
+        int[] area = element.getArea();
+        return new Rect(area[0], area[1], area[2], area[3]);
+    }
+
+    @Override
+    public boolean isPresent() {
+        return true;
+    }
+
+    @Override
+    public boolean isVisible() {
+        return element.getVisible() == null || element.getVisible();
+    }
+
+    @Override
+    public int getWidth() {
+        return getArea().getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return getArea().getHeight();
+    }
+
+    @Override
+    public int getLeft() {
+        return getArea().getLeft();
+    }
+
+    @Override
+    public int getTop() {
+        return getArea().getTop();
+    }
+
+    @Override
+    public String getText() {
+        if (element.getText() == null) {
+            throw new RuntimeException(format("Text of object \"%s\" was not captured in page snapshot", element.getObjectName()));
+        }
+        return element.getText();
+    }
+
+    @Override
+    public String getCssProperty(String cssPropertyName) {
+        if (element.getCss() == null || !element.getCss().containsKey(cssPropertyName)) {
+            throw new RuntimeException(format("Css property \"%s\" of object \"%s\" was not captured in page snapshot",
+                    cssPropertyName, element.getObjectName()));
+        }
+        return element.getCss().get(cssPropertyName);
+    }
+}
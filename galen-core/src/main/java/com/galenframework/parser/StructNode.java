@@ -97,6 +97,21 @@ public class StructNode {
                 .toString();
     }
 
+    /**
+     * Creates a deep copy of this node, so that it could be modified without affecting the original tree.
+     * Places are shared between the copies
+     */
+    public StructNode copy() {
+        StructNode copy = new StructNode(name);
+        copy.setPlace(place);
+        if (childNodes != null) {
+            for (StructNode childNode : childNodes) {
+                copy.addChildNode(childNode.copy());
+            }
+        }
+        return copy;
+    }
+
     public boolean hasChildNodes() {
         return childNodes != null &&  !childNodes.isEmpty();
     }
@@ -17,11 +17,14 @@ package com.galenframework.reports;
 
 import com.galenframework.reports.json.JsonReportBuilder;
 import com.galenframework.reports.json.ReportOverview;
+import com.galenframework.reports.model.ReportArtifactStore;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 
 import java.io.*;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.galenframework.utils.GalenUtils.makeSureFolderExists;
 
@@ -33,39 +36,64 @@ public class HtmlReportBuilder {
             "vue.js"
     };
 
+    private final JsonReportBuilder jsonBuilder = new JsonReportBuilder();
+    private final Map<String, String> templates = new HashMap<>();
 
     public void build(List<GalenTestInfo> tests, String reportFolderPath) throws IOException {
-        makeSureFolderExists(reportFolderPath);
+        ReportOverview reportOverview = new JsonReportBuilder().createReportOverview(tests);
 
-        JsonReportBuilder jsonBuilder = new JsonReportBuilder();
-        ReportOverview reportOverview = jsonBuilder.createReportOverview(tests);
+        for (GalenTestAggregatedInfo aggregatedInfo : reportOverview.getTests()) {
+            buildTestReport(aggregatedInfo, reportFolderPath);
+        }
 
-        String overviewTemplate = IOUtils.toString(getClass().getResourceAsStream("/html-report/report.tpl.html"));
-        String testReportTemplate = IOUtils.toString(getClass().getResourceAsStream("/html-report/report-test.tpl.html"));
+        buildReportOverview(reportOverview, reportFolderPath);
+    }
 
-        for (GalenTestAggregatedInfo aggregatedInfo : reportOverview.getTests()) {
-            String testReportJson = jsonBuilder.exportTestReportToJsonString(aggregatedInfo);
-            FileUtils.writeStringToFile(new File(reportFolderPath + File.separator + aggregatedInfo.getTestId() + ".html"),
-                    testReportTemplate
-                            .replace("##REPORT-TEST-NAME##", aggregatedInfo.getTestInfo().getName())
-                            .replace("##REPORT-DATA##", testReportJson));
+    /**
+     * Writes html and json pages of a single test and starts writing all its attached files in background
+     */
+    public void buildTestReport(GalenTestAggregatedInfo aggregatedInfo, String reportFolderPath) throws IOException {
+        makeSureFolderExists(reportFolderPath);
 
-            FileUtils.writeStringToFile(new File(reportFolderPath + File.separator + aggregatedInfo.getTestId() + ".json"),
-                    testReportJson);
+        String testReportJson = jsonBuilder.exportTestReportToJsonString(aggregatedInfo);
+        FileUtils.writeStringToFile(new File(reportFolderPath + File.separator + aggregatedInfo.getTestId() + ".html"),
+                loadTemplate("/html-report/report-test.tpl.html")
+                        .replace("##REPORT-TEST-NAME##", aggregatedInfo.getTestInfo().getName())
+                        .replace("##REPORT-DATA##", testReportJson));
 
-            aggregatedInfo.getTestInfo().getReport().getFileStorage().copyAllFilesTo(new File(reportFolderPath));
-        }
+        FileUtils.writeStringToFile(new File(reportFolderPath + File.separator + aggregatedInfo.getTestId() + ".json"),
+                testReportJson);
+
+        aggregatedInfo.getTestInfo().getReport().getFileStorage().copyAllFilesAsync(ReportArtifactStore.forFolder(new File(reportFolderPath)));
+    }
+
+    /**
+     * Writes the main report page with all the html resources and waits for all attached files of the tests.
+     * The test pages are expected to be written separately
+     */
+    public void buildReportOverview(ReportOverview reportOverview, String reportFolderPath) throws IOException {
+        makeSureFolderExists(reportFolderPath);
+        ReportArtifactStore.forFolder(new File(reportFolderPath)).flush();
 
         String overviewJson = jsonBuilder.exportReportOverviewToJsonAsString(reportOverview);
 
         FileUtils.writeStringToFile(new File(reportFolderPath + File.separator + "report.html"),
-                overviewTemplate.replace("##REPORT-DATA##", overviewJson));
+                loadTemplate("/html-report/report.tpl.html").replace("##REPORT-DATA##", overviewJson));
 
         FileUtils.writeStringToFile(new File(reportFolderPath + File.separator + "report.json"), overviewJson);
 
         copyHtmlResources(reportFolderPath);
     }
 
+    private String loadTemplate(String resourcePath) throws IOException {
+        String template = templates.get(resourcePath);
+        if (template == null) {
+            template = IOUtils.toString(getClass().getResourceAsStream(resourcePath));
+            templates.put(resourcePath, template);
+        }
+        return template;
+    }
+
     private void copyHtmlResources(String reportFolderPath) throws IOException {
 
         for (String resourceName : resources) {
@@ -0,0 +1,101 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.reports;
+
+import com.galenframework.reports.json.JsonReportBuilder;
+import com.galenframework.reports.json.ReportOverview;
+import com.galenframework.reports.model.FileTempStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes html and json reports of every test as soon as it is finished and starts copying all its attached files.
+ * Afterwards the test report is replaced with its statistic, so only a compact summary of all tests
+ * is kept in memory until the report overview is written in the end of the test suite.
+ */
+public class StreamingReportWriter {
+    private final static Logger LOG = LoggerFactory.getLogger(StreamingReportWriter.class);
+
+    private final String htmlReportPath;
+    private final String jsonReportPath;
+
+    private final HtmlReportBuilder htmlReportBuilder = new HtmlReportBuilder();
+    private final JsonReportBuilder jsonReportBuilder = new JsonReportBuilder();
+    private final TestIdGenerator testIdGenerator = new TestIdGenerator();
+    private final ReportOverview reportOverview = new ReportOverview();
+
+    /**
+     * @param htmlReportPath - folder for html report or null in case it is not needed
+     * @param jsonReportPath - folder for json report or null in case it is not needed
+     */
+    public StreamingReportWriter(String htmlReportPath, String jsonReportPath) {
+        this.htmlReportPath = htmlReportPath;
+        this.jsonReportPath = jsonReportPath;
+    }
+
+    public synchronized void write(GalenTestInfo testInfo) {
+        GalenTestAggregatedInfo aggregatedInfo = new GalenTestAggregatedInfo(testIdGenerator.generateTestId(testInfo.getName()), testInfo);
+
+        if (htmlReportPath != null) {
+            try {
+                htmlReportBuilder.buildTestReport(aggregatedInfo, htmlReportPath);
+            } catch (Exception ex) {
+                LOG.error("Unknown error during creating HTML report for test: " + testInfo.getName(), ex);
+            }
+        }
+        if (jsonReportPath != null) {
+            try {
+                jsonReportBuilder.buildTestReport(aggregatedInfo, jsonReportPath);
+            } catch (Exception ex) {
+                LOG.error("Failed generating json report for test: " + testInfo.getName(), ex);
+            }
+        }
+
+        releaseReport(testInfo, aggregatedInfo.getStatistic());
+        reportOverview.add(aggregatedInfo);
+    }
+
+    private void releaseReport(GalenTestInfo testInfo, TestStatistic statistic) {
+        if (testInfo.getReport() != null) {
+            FileTempStorage storage = testInfo.getReport().getFileStorage();
+            if (storage != null) {
+                // temporary files are removed once they are written to the reports
+                storage.cleanupAfterCopying();
+            }
+        }
+        testInfo.setReport(new SummaryTestReport(statistic));
+    }
+
+    /**
+     * Writes the overview of all written tests
+     */
+    public synchronized void finish() {
+        if (htmlReportPath != null) {
+            try {
+                htmlReportBuilder.buildReportOverview(reportOverview, htmlReportPath);
+            } catch (Exception ex) {
+                LOG.error("Unknown error during creating HTML report.", ex);
+            }
+        }
+        if (jsonReportPath != null) {
+            try {
+                jsonReportBuilder.buildReportOverview(reportOverview, jsonReportPath);
+            } catch (Exception ex) {
+                LOG.error("Failed generating json report", ex);
+            }
+        }
+    }
+}
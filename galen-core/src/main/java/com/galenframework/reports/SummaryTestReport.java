@@ -0,0 +1,43 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.reports;
+
+import com.galenframework.reports.nodes.TestReportNode;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps only the statistic of a test report which was already exported,
+ * so that its nodes and attached files could be released from memory
+ */
+public class SummaryTestReport extends TestReport {
+    private final TestStatistic statistic;
+
+    public SummaryTestReport(TestStatistic statistic) {
+        this.statistic = statistic;
+    }
+
+    @Override
+    public TestStatistic fetchStatistic() {
+        return statistic;
+    }
+
+    @Override
+    public List<TestReportNode> getNodes() {
+        return Collections.emptyList();
+    }
+}
@@ -22,6 +22,7 @@ import com.galenframework.reports.GalenTestInfo;
 import com.galenframework.reports.TestIdGenerator;
 import com.galenframework.reports.TestReport;
 import com.galenframework.reports.GalenTestAggregatedInfo;
+import com.galenframework.reports.model.ReportArtifactStore;
 import org.apache.commons.io.FileUtils;
 
 import java.io.File;
@@ -51,17 +52,32 @@ public class JsonReportBuilder {
         ReportOverview reportOverview = createReportOverview(testInfos);
 
         for (GalenTestAggregatedInfo aggregatedInfo : reportOverview.getTests()) {
-            exportTestReportToJson(new JsonTestReport(aggregatedInfo.getTestId(), aggregatedInfo.getTestInfo()), reportPath);
-            moveAllReportFiles(aggregatedInfo.getTestInfo().getReport(), reportPath);
+            buildTestReport(aggregatedInfo, reportPath);
         }
 
+        buildReportOverview(reportOverview, reportPath);
+    }
+
+    /**
+     * Writes json report of a single test and starts writing all its attached files in background
+     */
+    public void buildTestReport(GalenTestAggregatedInfo aggregatedInfo, String reportPath) throws IOException {
+        exportTestReportToJson(new JsonTestReport(aggregatedInfo.getTestId(), aggregatedInfo.getTestInfo()), reportPath);
+        moveAllReportFiles(aggregatedInfo.getTestInfo().getReport(), reportPath);
+    }
+
+    /**
+     * Writes the overview of all tests and waits for all attached files of the tests
+     */
+    public void buildReportOverview(ReportOverview reportOverview, String reportPath) throws IOException {
         exportReportOverviewToJson(reportOverview, reportPath);
+        ReportArtifactStore.forFolder(new File(reportPath)).flush();
     }
 
 
     private void moveAllReportFiles(TestReport report, String reportPath) throws IOException {
         if (report != null && report.getFileStorage() != null) {
-            report.getFileStorage().copyAllFilesTo(new File(reportPath));
+            report.getFileStorage().copyAllFilesAsync(ReportArtifactStore.forFolder(new File(reportPath)));
         }
     }
 
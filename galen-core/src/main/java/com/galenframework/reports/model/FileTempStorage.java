@@ -23,6 +23,9 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * Created by ishubin on 2/17/15.
@@ -31,7 +34,9 @@ public class FileTempStorage {
 
     private final String storageName;
     private Map<String, File> files = new HashMap<>();
+    private Map<String, Future<File>> pendingFiles = new HashMap<>();
     private List<FileTempStorage> childStorages = new LinkedList<>();
+    private List<CompletableFuture<Void>> copies = new LinkedList<>();
 
     private static long _uniqueId = 0;
 
@@ -50,19 +55,79 @@ public class FileTempStorage {
         return uniqueName;
     }
 
+    /**
+     * Registers a file which is still being written in background.
+     * It is awaited only when the files are requested or copied
+     */
+    public String registerFile(String fileName, Future<File> pendingFile) {
+        String uniqueName = storageName + "-" + getUniqueId() + "-" + fileName;
+        pendingFiles.put(uniqueName, pendingFile);
+        return uniqueName;
+    }
+
 
     public Map<String, File> getFiles() {
+        try {
+            awaitPendingFiles();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
         return files;
     }
 
+    private void awaitPendingFiles() throws IOException {
+        for (Map.Entry<String, Future<File>> entry : pendingFiles.entrySet()) {
+            try {
+                files.put(entry.getKey(), entry.getValue().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for file: " + entry.getKey(), e);
+            } catch (ExecutionException e) {
+                throw new IOException("Couldn't write file: " + entry.getKey(), e.getCause());
+            }
+        }
+        pendingFiles.clear();
+    }
+
+    /**
+     * Copies all files to the given folder and waits until they are written
+     */
     public void copyAllFilesTo(File dir) throws IOException {
-        for (Map.Entry<String, File> entry : files.entrySet()) {
-            FileUtils.copyFile(entry.getValue(), new File(dir.getAbsolutePath() + File.separator + entry.getKey()));
+        try {
+            copyAllFilesAsync(ReportArtifactStore.forFolder(dir)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while copying files to: " + dir.getAbsolutePath(), e);
+        } catch (ExecutionException e) {
+            throw new IOException("Couldn't copy files to: " + dir.getAbsolutePath(), e.getCause());
         }
+    }
 
+    /**
+     * Starts writing all files of this storage and of its child storages to the report folder of the given store.
+     * The files should not be removed until the returned future is completed, see {@link #cleanupAfterCopying()}
+     */
+    public synchronized CompletableFuture<Void> copyAllFilesAsync(ReportArtifactStore store) {
+        List<CompletableFuture<Void>> storageCopies = new LinkedList<>();
+        for (Map.Entry<String, File> entry : files.entrySet()) {
+            storageCopies.add(store.write(CompletableFuture.completedFuture(entry.getValue()), entry.getKey()));
+        }
+        for (Map.Entry<String, Future<File>> entry : pendingFiles.entrySet()) {
+            storageCopies.add(store.write(entry.getValue(), entry.getKey()));
+        }
         for (FileTempStorage storage : childStorages) {
-            storage.copyAllFilesTo(dir);
+            storageCopies.add(storage.copyAllFilesAsync(store));
         }
+        copies.addAll(storageCopies);
+        return CompletableFuture.allOf(storageCopies.toArray(new CompletableFuture[storageCopies.size()]));
+    }
+
+    /**
+     * Removes all temporary files once all started copies are finished, without waiting for them
+     */
+    public synchronized void cleanupAfterCopying() {
+        CompletableFuture.allOf(copies.toArray(new CompletableFuture[copies.size()]))
+                .whenComplete((result, error) -> cleanup());
     }
 
     public void registerStorage(FileTempStorage fileStorage) {
@@ -74,16 +139,38 @@ public class FileTempStorage {
      * IMPORTANT! Use this call only in the end
      * when you are sure you don't need report files anymore
      */
-    public void cleanup() {
+    public synchronized void cleanup() {
+        awaitCopies();
+
         if (this.childStorages != null) {
             for (FileTempStorage storage : this.childStorages) {
                 storage.cleanup();
             }
         }
 
+        try {
+            awaitPendingFiles();
+        } catch (IOException e) {
+            this.pendingFiles.clear();
+        }
+
         for (File file : this.files.values()) {
             FileUtils.deleteQuietly(file);
         }
         this.files.clear();
     }
+
+    private void awaitCopies() {
+        for (CompletableFuture<Void> copy : copies) {
+            try {
+                copy.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // the copy has failed, so the file is not needed anymore
+            }
+        }
+        copies.clear();
+    }
 }
@@ -0,0 +1,272 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.reports.model;
+
+import com.galenframework.config.GalenConfig;
+import com.galenframework.config.GalenProperty;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Writes attached files of reports to a report folder in background.
+ * A file with the same content is written only once per folder, other files with this content
+ * are created as hard links to it or copied from it in case the file system doesn't support links.
+ * The files keep their names, so the reports refer to them as usual.
+ */
+public class ReportArtifactStore {
+
+    private static final int QUEUE_CAPACITY = 1000;
+
+    private static final Map<String, ReportArtifactStore> stores = new ConcurrentHashMap<>();
+
+    private static final ExecutorService ioWorkers = createIoWorkers();
+
+    private final String key;
+    private final File folder;
+    private final Map<String, CompletableFuture<WrittenFile>> filesByHash = new ConcurrentHashMap<>();
+    private final Map<File, String> hashesByTarget = new ConcurrentHashMap<>();
+    private final Map<String, String> hashesBySource = new ConcurrentHashMap<>();
+    private final Set<CompletableFuture<Void>> pendingWrites = ConcurrentHashMap.newKeySet();
+
+    private ReportArtifactStore(String key) {
+        this.key = key;
+        this.folder = new File(key);
+    }
+
+    /**
+     * @return the store which is shared by all reports written to the given folder
+     */
+    public static ReportArtifactStore forFolder(File folder) {
+        return stores.computeIfAbsent(folder.getAbsoluteFile().toPath().normalize().toString(), ReportArtifactStore::new);
+    }
+
+    /**
+     * In case the queue is full the file is written by the calling thread, so that the tests could not
+     * produce files faster than they are written
+     */
+    private static ExecutorService createIoWorkers() {
+        int parallelism = GalenConfig.getConfig().getIntProperty(GalenProperty.REPORTS_IO_PARALLELISM);
+        if (parallelism < 1) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "galen-report-io");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Starts writing the file to the report folder under the given name
+     * @param source - the file which might still be written by another thread
+     * @return the future of the write
+     */
+    public CompletableFuture<Void> write(Future<File> source, String fileName) {
+        CompletableFuture<Void> write = new CompletableFuture<>();
+        pendingWrites.add(write);
+        ioWorkers.execute(() -> {
+            try {
+                writeFile(waitFor(source), new File(folder, fileName));
+                // failed writes are kept until flush, so that the failure is reported
+                pendingWrites.remove(write);
+                write.complete(null);
+            } catch (Throwable ex) {
+                write.completeExceptionally(ex);
+            }
+        });
+        return write;
+    }
+
+    /**
+     * Waits for all files which were requested to be written so far. Afterwards the store forgets the written files,
+     * so the files written later are not linked to the files which could be changed or removed in between
+     */
+    public void flush() throws IOException {
+        IOException failure = null;
+        for (CompletableFuture<Void> write : new ArrayList<>(pendingWrites)) {
+            pendingWrites.remove(write);
+            try {
+                write.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while writing report files", e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = new IOException("Couldn't write report file", e.getCause());
+                }
+            }
+        }
+        filesByHash.clear();
+        hashesByTarget.clear();
+        hashesBySource.clear();
+        if (pendingWrites.isEmpty()) {
+            stores.remove(key, this);
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void writeFile(File source, File target) throws IOException {
+        String hash = contentHash(source);
+
+        CompletableFuture<WrittenFile> writtenFile = new CompletableFuture<>();
+        CompletableFuture<WrittenFile> existingFile = filesByHash.putIfAbsent(hash, writtenFile);
+
+        if (existingFile != null) {
+            WrittenFile original = awaitQuietly(existingFile);
+            if (original != null && original.isUnchanged()) {
+                if (!original.file.equals(target)) {
+                    forgetPreviousContent(target, hash);
+                    linkOrCopy(original.file, target);
+                }
+                return;
+            }
+            // the original file was removed or overwritten since it was written, so it is written again
+            if (!filesByHash.replace(hash, existingFile, writtenFile)) {
+                filesByHash.put(hash, writtenFile);
+            }
+        }
+
+        try {
+            forgetPreviousContent(target, hash);
+            target.getParentFile().mkdirs();
+            Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            writtenFile.complete(new WrittenFile(target));
+        } catch (IOException ex) {
+            filesByHash.remove(hash, writtenFile);
+            writtenFile.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * In case the target file was written before with a different content, it can't be used as an original for that content anymore
+     */
+    private void forgetPreviousContent(File target, String hash) {
+        String previousHash = hashesByTarget.put(target, hash);
+        if (previousHash != null && !previousHash.equals(hash)) {
+            CompletableFuture<WrittenFile> previousFile = filesByHash.get(previousHash);
+            if (previousFile != null && previousFile.isDone() && !previousFile.isCompletedExceptionally()
+                    && target.equals(previousFile.join().file)) {
+                filesByHash.remove(previousHash, previousFile);
+            }
+        }
+    }
+
+    private void linkOrCopy(File original, File target) throws IOException {
+        Files.deleteIfExists(target.toPath());
+        try {
+            Files.createLink(target.toPath(), original.toPath());
+        } catch (UnsupportedOperationException | IOException ex) {
+            Files.copy(original.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * The hash of the same unchanged source file is calculated only once
+     */
+    private String contentHash(File source) throws IOException {
+        String sourceKey = source.getAbsolutePath() + ":" + source.length() + ":" + source.lastModified();
+        String hash = hashesBySource.get(sourceKey);
+        if (hash == null) {
+            hash = calculateHash(source);
+            hashesBySource.put(sourceKey, hash);
+        }
+        return hash;
+    }
+
+    private static String calculateHash(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream stream = new FileInputStream(file)) {
+            int read;
+            while ((read = stream.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        StringBuilder hash = new StringBuilder(file.length() + "-");
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return hash.toString();
+    }
+
+    private static File waitFor(Future<File> file) throws IOException {
+        try {
+            return file.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for file", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Couldn't write file", e.getCause());
+        }
+    }
+
+    private static WrittenFile awaitQuietly(CompletableFuture<WrittenFile> file) {
+        try {
+            return file.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A file written to the report folder together with its size and modification time at the moment it was written
+     */
+    private static class WrittenFile {
+        private final File file;
+        private final long length;
+        private final long lastModified;
+
+        WrittenFile(File file) {
+            this.file = file;
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+        }
+
+        boolean isUnchanged() {
+            return file.exists() && file.length() == length && file.lastModified() == lastModified;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.galenframework.runner;
 import java.util.List;
 
 import com.galenframework.browser.Browser;
+import com.galenframework.browser.BrowserPool;
 import com.galenframework.reports.TestReport;
 import com.galenframework.suite.GalenPageTest;
 import com.galenframework.tests.GalenBasicTest;
@@ -70,7 +71,7 @@ public class GalenBasicTestRunner {
             report.gotoRoot();
             report.sectionStart(pageTest.getTitle());
             
-            Browser browser = pageTest.getBrowserFactory().openBrowser();
+            Browser browser = openBrowser(pageTest);
 
             try {
                 pageRunner.run(browser, pageTest);
@@ -91,6 +92,14 @@ public class GalenBasicTestRunner {
         return report;
     }
 
+    private Browser openBrowser(GalenPageTest pageTest) {
+        if (BrowserPool.isEnabled()) {
+            return BrowserPool.getDefault().lease(pageTest.getBrowserFactory(), pageTest.getScreenSize());
+        } else {
+            return pageTest.getBrowserFactory().openBrowser();
+        }
+    }
+
     public ValidationListener getValidationListener() {
         return validationListener;
     }
@@ -0,0 +1,198 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.runner;
+
+import com.galenframework.TestRunnable;
+import com.galenframework.browser.BrowserFactory;
+import com.galenframework.browser.SeleniumBrowserFactory;
+import com.galenframework.browser.SeleniumGridBrowserFactory;
+import com.galenframework.reports.GalenTestInfo;
+import com.galenframework.suite.GalenPageTest;
+import com.galenframework.tests.GalenBasicTest;
+import com.galenframework.tests.GalenTest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.ToLongFunction;
+
+/**
+ * Runs tests in a fixed amount of threads. All idle threads take tests from the same queue,
+ * where the tests with the longest expected duration go first. Tests whose browser type reached its limit
+ * are skipped until one of the running tests with the same browser is finished.
+ * Failed tests are put back to the queue for retry, so no thread is kept busy while waiting for it.
+ */
+public class SuiteScheduler {
+    private final static Logger LOG = LoggerFactory.getLogger(SuiteScheduler.class);
+
+    private final int amountOfThreads;
+    private final Map<String, Integer> browserLimits;
+    private final ToLongFunction<GalenTest> expectedDuration;
+
+    private final TreeSet<Task> pendingTasks = new TreeSet<>();
+    private final Map<String, Integer> runningBrowsers = new HashMap<>();
+    private int amountOfRunningTasks = 0;
+    private ExecutorService executor;
+    private CountDownLatch finishedTests;
+
+    /**
+     * @param amountOfThreads - maximum amount of tests running at the same time
+     * @param browserLimits - maximum amount of tests running at the same time per browser type
+     * @param expectedDuration - expected duration of the test in milliseconds, which is used for ordering the tests
+     */
+    public SuiteScheduler(int amountOfThreads, Map<String, Integer> browserLimits, ToLongFunction<GalenTest> expectedDuration) {
+        this.amountOfThreads = Math.max(1, amountOfThreads);
+        this.browserLimits = browserLimits;
+        this.expectedDuration = expectedDuration;
+    }
+
+    /**
+     * Runs all tests and blocks until each of them is completed
+     */
+    public void run(List<TestRunnable> testRunnables) {
+        if (testRunnables.isEmpty()) {
+            return;
+        }
+
+        finishedTests = new CountDownLatch(testRunnables.size());
+        executor = Executors.newFixedThreadPool(Math.min(amountOfThreads, testRunnables.size()));
+
+        synchronized (this) {
+            int index = 0;
+            for (TestRunnable testRunnable : testRunnables) {
+                GalenTest test = testRunnable.getTest();
+                pendingTasks.add(new Task(testRunnable, index++, expectedDuration.applyAsLong(test), browserTypesOf(test)));
+            }
+        }
+
+        try {
+            dispatch();
+            finishedTests.await();
+            executor.shutdown();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for tests to finish", e);
+        }
+    }
+
+    private synchronized void dispatch() {
+        Iterator<Task> iterator = pendingTasks.iterator();
+        while (amountOfRunningTasks < amountOfThreads && iterator.hasNext()) {
+            Task task = iterator.next();
+            if (canStart(task)) {
+                iterator.remove();
+                amountOfRunningTasks++;
+                for (String browserType : task.browserTypes) {
+                    runningBrowsers.merge(browserType, 1, Integer::sum);
+                }
+                executor.execute(() -> runAttempt(task));
+            }
+        }
+    }
+
+    private boolean canStart(Task task) {
+        for (String browserType : task.browserTypes) {
+            Integer limit = browserLimits.get(browserType);
+            if (limit != null && limit > 0 && runningBrowsers.getOrDefault(browserType, 0) >= limit) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void runAttempt(Task task) {
+        boolean shouldRetry = false;
+        try {
+            GalenTestInfo info = task.testRunnable.runTest();
+            shouldRetry = task.testRunnable.shouldRetry(info, task.tries);
+            if (!shouldRetry) {
+                task.testRunnable.complete(info);
+            }
+        } catch (Throwable ex) {
+            LOG.error("Unknown error during test execution", ex);
+        }
+
+        synchronized (this) {
+            amountOfRunningTasks--;
+            for (String browserType : task.browserTypes) {
+                runningBrowsers.merge(browserType, -1, Integer::sum);
+            }
+            if (shouldRetry) {
+                task.tries++;
+                pendingTasks.add(task);
+            }
+        }
+
+        if (!shouldRetry) {
+            finishedTests.countDown();
+        }
+        dispatch();
+    }
+
+    /**
+     * @return lower-cased browser types of all page tests, in case the test is a basic test
+     */
+    public static Set<String> browserTypesOf(GalenTest test) {
+        Set<String> browserTypes = new HashSet<>();
+        if (test instanceof GalenBasicTest && ((GalenBasicTest) test).getPageTests() != null) {
+            for (GalenPageTest pageTest : ((GalenBasicTest) test).getPageTests()) {
+                String browserType = browserTypeOf(pageTest.getBrowserFactory());
+                if (browserType != null) {
+                    browserTypes.add(browserType.toLowerCase());
+                }
+            }
+        }
+        return browserTypes;
+    }
+
+    private static String browserTypeOf(BrowserFactory browserFactory) {
+        if (browserFactory instanceof SeleniumBrowserFactory) {
+            return ((SeleniumBrowserFactory) browserFactory).getBrowserType();
+        } else if (browserFactory instanceof SeleniumGridBrowserFactory) {
+            return ((SeleniumGridBrowserFactory) browserFactory).getBrowser();
+        } else {
+            return null;
+        }
+    }
+
+    private static class Task implements Comparable<Task> {
+        private final TestRunnable testRunnable;
+        private final int index;
+        private final long expectedDuration;
+        private final Set<String> browserTypes;
+        private int tries = 1;
+
+        private Task(TestRunnable testRunnable, int index, long expectedDuration, Set<String> browserTypes) {
+            this.testRunnable = testRunnable;
+            this.index = index;
+            this.expectedDuration = expectedDuration;
+            this.browserTypes = browserTypes;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int byDuration = Long.compare(other.expectedDuration, expectedDuration);
+            if (byDuration != 0) {
+                return byDuration;
+            }
+            return Integer.compare(index, other.index);
+        }
+    }
+}
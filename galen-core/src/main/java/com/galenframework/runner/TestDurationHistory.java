@@ -0,0 +1,247 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.runner;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.galenframework.config.GalenConfig;
+import com.galenframework.config.GalenProperty;
+import com.galenframework.reports.GalenTestInfo;
+import com.galenframework.reports.TestReport;
+import com.galenframework.reports.nodes.TestReportNode;
+import com.galenframework.tests.GalenTest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Keeps durations of tests and of their page actions from previous runs in a json file.
+ * Every new duration is averaged with the one from the previous run, so that a single slow run
+ * doesn't change the expectations too much. Recording the same test again within a run replaces its previous record.
+ */
+public class TestDurationHistory {
+    private final static Logger LOG = LoggerFactory.getLogger(TestDurationHistory.class);
+
+    private static final TypeReference<TreeMap<String, TestDurations>> ENTRIES_TYPE = new TypeReference<TreeMap<String, TestDurations>>() {};
+
+    private final File file;
+    private final Map<String, TestDurations> previousEntries;
+    private final TreeMap<String, TestDurations> entries;
+
+    private TestDurationHistory(File file, Map<String, TestDurations> previousEntries) {
+        this.file = file;
+        this.previousEntries = previousEntries;
+        this.entries = new TreeMap<>(previousEntries);
+    }
+
+    /**
+     * Loads the history from the file specified in "galen.test.durations.file" property.
+     * In case the property is empty - the history is kept only in memory
+     */
+    public static TestDurationHistory load() {
+        String path = GalenConfig.getConfig().readProperty(GalenProperty.GALEN_TEST_DURATIONS_FILE);
+        if (path == null || path.trim().isEmpty()) {
+            return new TestDurationHistory(null, new TreeMap<>());
+        }
+        return load(new File(path.trim()));
+    }
+
+    public static TestDurationHistory load(File file) {
+        Map<String, TestDurations> entries = new TreeMap<>();
+        if (file.exists()) {
+            try {
+                entries = new ObjectMapper().readValue(file, ENTRIES_TYPE);
+            } catch (Exception ex) {
+                LOG.error("Couldn't read test durations from " + file.getAbsolutePath(), ex);
+            }
+        }
+        return new TestDurationHistory(file, entries);
+    }
+
+    public static String createKey(String testName, List<String> groups) {
+        if (groups != null && !groups.isEmpty()) {
+            List<String> sortedGroups = new ArrayList<>(groups);
+            Collections.sort(sortedGroups);
+            return testName + " " + sortedGroups;
+        } else {
+            return testName;
+        }
+    }
+
+    /**
+     * Records the duration of the test and of all its sections. For page tests the sections are page actions
+     */
+    public void record(GalenTestInfo info) {
+        record(info, measureSections(info));
+    }
+
+    /**
+     * Records the duration of the test together with its section durations,
+     * which were measured before the report of the test was released
+     */
+    public void record(GalenTestInfo info, Map<String, Long> sectionDurations) {
+        if (info.getStartedAt() == null || info.getEndedAt() == null) {
+            return;
+        }
+        List<String> groups = info.getTest() != null ? info.getTest().getGroups() : null;
+        record(createKey(info.getName(), groups), info.getEndedAt().getTime() - info.getStartedAt().getTime(), sectionDurations);
+    }
+
+    /**
+     * @return durations of all actions in the test report by their section and action names
+     */
+    public static Map<String, Long> measureSections(GalenTestInfo info) {
+        Map<String, Long> actionDurations = new LinkedHashMap<>();
+        if (info.getEndedAt() != null && info.getReport() != null) {
+            collectSectionDurations(info.getReport(), info.getEndedAt().getTime(), actionDurations);
+        }
+        return actionDurations;
+    }
+
+    public synchronized void record(String key, long duration, Map<String, Long> actionDurations) {
+        TestDurations previous = previousEntries.get(key);
+        TestDurations durations = new TestDurations();
+        durations.setDuration(average(previous != null ? previous.getDuration() : null, duration));
+        for (Map.Entry<String, Long> action : actionDurations.entrySet()) {
+            Long previousActionDuration = previous != null ? previous.getActions().get(action.getKey()) : null;
+            durations.getActions().put(action.getKey(), average(previousActionDuration, action.getValue()));
+        }
+        entries.put(key, durations);
+    }
+
+    /**
+     * @return expected duration in milliseconds. For unknown tests it is an average duration of all known tests
+     */
+    public long getExpectedDuration(GalenTest test) {
+        return getExpectedDuration(createKey(test.getName(), test.getGroups()));
+    }
+
+    public synchronized long getExpectedDuration(String key) {
+        TestDurations durations = entries.get(key);
+        if (durations != null) {
+            return durations.getDuration();
+        } else {
+            return getAverageDuration();
+        }
+    }
+
+    /**
+     * @return sum of expected durations of all tests which name is the given one followed by its arguments,
+     * e.g. "MyTest#checkPage" would match "MyTest#checkPage (\"mobile\")"
+     */
+    public synchronized long getExpectedDurationOfAll(String testName) {
+        long total = 0;
+        boolean found = false;
+        for (Map.Entry<String, TestDurations> entry : entries.tailMap(testName).entrySet()) {
+            if (!entry.getKey().startsWith(testName)) {
+                break;
+            }
+            if (entry.getKey().length() == testName.length() || entry.getKey().charAt(testName.length()) == ' ') {
+                total += entry.getValue().getDuration();
+                found = true;
+            }
+        }
+        return found ? total : getAverageDuration();
+    }
+
+    private long getAverageDuration() {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        long total = 0;
+        for (TestDurations durations : entries.values()) {
+            total += durations.getDuration();
+        }
+        return total / entries.size();
+    }
+
+    /**
+     * Writes the history to its file through a temporary file, so that the file is never left half-written
+     */
+    public synchronized void save() {
+        if (file == null) {
+            return;
+        }
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            File tempFile = new File(file.getAbsolutePath() + ".tmp");
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(tempFile, entries);
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception ex) {
+            LOG.error("Couldn't save test durations to " + file.getAbsolutePath(), ex);
+        }
+    }
+
+    /**
+     * Each section lasts until the next section on the same level is started or until its parent ends
+     */
+    private static void collectSectionDurations(TestReport report, long endTime, Map<String, Long> durations) {
+        List<TestReportNode> sections = report.getNodes();
+        if (sections == null) {
+            return;
+        }
+        for (int i = 0; i < sections.size(); i++) {
+            TestReportNode section = sections.get(i);
+            long sectionEnd = i + 1 < sections.size() ? sections.get(i + 1).getTime().getTime() : endTime;
+            if (section.getNodes() != null) {
+                collectSectionDurations(section.getName(), section.getNodes(), sectionEnd, durations);
+            }
+        }
+    }
+
+    private static void collectSectionDurations(String prefix, List<TestReportNode> actions, long endTime, Map<String, Long> durations) {
+        if (actions == null) {
+            return;
+        }
+        for (int i = 0; i < actions.size(); i++) {
+            TestReportNode action = actions.get(i);
+            long actionEnd = i + 1 < actions.size() ? actions.get(i + 1).getTime().getTime() : endTime;
+            durations.merge(prefix + " / " + action.getName(), Math.max(0, actionEnd - action.getTime().getTime()), Long::sum);
+        }
+    }
+
+    private static long average(Long previous, long current) {
+        return previous != null ? (previous + current) / 2 : current;
+    }
+
+    public static class TestDurations {
+        private long duration;
+        private Map<String, Long> actions = new LinkedHashMap<>();
+
+        public long getDuration() {
+            return duration;
+        }
+
+        public void setDuration(long duration) {
+            this.duration = duration;
+        }
+
+        public Map<String, Long> getActions() {
+            return actions;
+        }
+
+        public void setActions(Map<String, Long> actions) {
+            this.actions = actions;
+        }
+    }
+}
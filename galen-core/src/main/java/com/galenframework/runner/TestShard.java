@@ -0,0 +1,154 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.runner;
+
+import com.galenframework.config.GalenConfig;
+import com.galenframework.config.GalenProperty;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import java.util.*;
+import java.util.function.ToLongFunction;
+
+/**
+ * One of the equal parts of a test suite, defined as "i/n" where i is a number of the shard starting from 1.
+ * The tests are distributed between shards by their expected durations, so that all shards take about the same time.
+ * The distribution depends only on the list of tests and their durations, so all machines have to use the same history.
+ */
+public class TestShard {
+    private final int index;
+    private final int total;
+
+    public TestShard(int index, int total) {
+        if (total < 1 || index < 1 || index > total) {
+            throw new IllegalArgumentException(String.format("Incorrect shard: %d/%d", index, total));
+        }
+        this.index = index;
+        this.total = total;
+    }
+
+    public static TestShard parse(String text) {
+        String[] parts = text.trim().split("/");
+        try {
+            if (parts.length == 2) {
+                return new TestShard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+            }
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Incorrect shard: " + text, ex);
+        }
+        throw new IllegalArgumentException("Incorrect shard: " + text);
+    }
+
+    /**
+     * @return the shard specified in "galen.test.shard" property or null in case it is not set
+     */
+    public static TestShard fromConfig() {
+        String text = GalenConfig.getConfig().readProperty(GalenProperty.GALEN_TEST_SHARD);
+        if (text != null && !text.trim().isEmpty()) {
+            return parse(text);
+        } else {
+            return null;
+        }
+    }
+
+    public <T> List<T> select(List<T> items, ToLongFunction<T> expectedDuration) {
+        return select(items, expectedDuration, 0);
+    }
+
+    /**
+     * Distributes items between shards starting from the longest ones, each of them goes to the least loaded shard.
+     * @param firstShard - index of shard which gets an item first in case all shards are loaded equally.
+     *                   It allows to spread small lists of items, which are sharded separately, between all shards
+     * @return the items of this shard in their original order
+     */
+    public <T> List<T> select(List<T> items, ToLongFunction<T> expectedDuration, int firstShard) {
+        List<T> itemsList = new ArrayList<>(items);
+        long[] durations = new long[itemsList.size()];
+        Integer[] order = new Integer[itemsList.size()];
+        for (int i = 0; i < durations.length; i++) {
+            // every item counts even if there is no history yet, so that the shards get equal amounts of items
+            durations[i] = Math.max(1, expectedDuration.applyAsLong(itemsList.get(i)));
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> durations[a] != durations[b] ? Long.compare(durations[b], durations[a]) : Integer.compare(a, b));
+
+        long[] loads = new long[total];
+        boolean[] selected = new boolean[itemsList.size()];
+        for (int itemIndex : order) {
+            int shard = leastLoadedShard(loads, Math.floorMod(firstShard, total));
+            loads[shard] += durations[itemIndex];
+            selected[itemIndex] = shard == index - 1;
+        }
+
+        List<T> shardItems = new LinkedList<>();
+        for (int i = 0; i < selected.length; i++) {
+            if (selected[i]) {
+                shardItems.add(itemsList.get(i));
+            }
+        }
+        return shardItems;
+    }
+
+    private int leastLoadedShard(long[] loads, int firstShard) {
+        int shard = firstShard;
+        for (int k = 1; k < total; k++) {
+            int candidate = (firstShard + k) % total;
+            if (loads[candidate] < loads[shard]) {
+                shard = candidate;
+            }
+        }
+        return shard;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder()
+                .append(index)
+                .append(total)
+                .toHashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof TestShard)) {
+            return false;
+        }
+        TestShard rhs = (TestShard) obj;
+        return new EqualsBuilder()
+                .append(index, rhs.index)
+                .append(total, rhs.total)
+                .isEquals();
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + total;
+    }
+}
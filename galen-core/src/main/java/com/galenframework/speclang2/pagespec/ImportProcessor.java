@@ -16,13 +16,11 @@
 package com.galenframework.speclang2.pagespec;
 
 import com.galenframework.parser.SyntaxException;
-import com.galenframework.parser.IndentationStructureParser;
 import com.galenframework.parser.StructNode;
 import com.galenframework.parser.StringCharReader;
 import com.galenframework.utils.GalenUtils;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -67,14 +65,12 @@ public class ImportProcessor implements StructNodeProcessor {
         if (!pageSpecHandler.getProcessedImports().contains(fileId)) {
             pageSpecHandler.getProcessedImports().add(fileId);
 
-            InputStream stream = GalenUtils.findFileOrResourceAsStream(fullPath);
+            List<StructNode> structs = ParsedSpecCache.parse(fullPath);
 
-            if (stream == null) {
+            if (structs == null) {
                 throw new SyntaxException(origin, "Cannot find file: " + fullPath);
             }
 
-            List<StructNode> structs = new IndentationStructureParser().parse(stream, fullPath);
-
             PageSpecHandler childPageSpecHandler = new PageSpecHandler(pageSpecHandler, GalenUtils.getParentForFile(fullPath));
 
             List<StructNode> allProcessedChildNodes = new MacroProcessor(childPageSpecHandler).process(structs);
@@ -15,6 +15,8 @@
 ******************************************************************************/
 package com.galenframework.speclang2.pagespec;
 
+import com.galenframework.config.GalenConfig;
+import com.galenframework.config.GalenProperty;
 import com.galenframework.page.selenium.ScreenElement;
 import com.galenframework.page.selenium.SeleniumPage;
 import com.galenframework.page.selenium.ViewportElement;
@@ -24,6 +26,7 @@ import com.galenframework.javascript.GalenJsExecutor;
 import com.galenframework.page.AbsentPageElement;
 import com.galenframework.page.Page;
 import com.galenframework.page.PageElement;
+import com.galenframework.page.Rect;
 import com.galenframework.speclang2.specs.SpecReader;
 import com.galenframework.specs.page.Locator;
 import com.galenframework.specs.page.PageSpec;
@@ -34,11 +37,14 @@ import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.mozilla.javascript.*;
 
 
 public class PageSpecHandler implements VarsParserJsFunctions {
+    private static final String SPEC_LIBRARY = "GalenSpecLibrary.js";
+
     private final PageSpec pageSpec;
     private final Page page;
     private final String contextPath;
@@ -52,6 +58,12 @@ public class PageSpecHandler implements VarsParserJsFunctions {
     private final Map<String, Object> jsVariables;
     private final SectionFilter sectionFilter;
 
+    /**
+     * Tells whether anything was fetched from the page while processing the spec,
+     * it is shared with the handlers of imported specs
+     */
+    private final AtomicBoolean pageUsed;
+
     public PageSpecHandler(PageSpec pageSpec, Page page,
                            SectionFilter sectionFilter,
                            String contextPath, Properties properties,
@@ -59,6 +71,7 @@ public class PageSpecHandler implements VarsParserJsFunctions {
     ) {
         this.pageSpec = pageSpec;
         this.page = page;
+        this.pageUsed = new AtomicBoolean(false);
         this.sectionFilter = sectionFilter;
         this.contextPath = contextPath;
         this.specReader = new SpecReader();
@@ -83,6 +96,7 @@ public class PageSpecHandler implements VarsParserJsFunctions {
     public PageSpecHandler(PageSpecHandler copy, String contextPath) {
         this.pageSpec = copy.pageSpec;
         this.page = copy.page;
+        this.pageUsed = copy.pageUsed;
         this.contextPath = contextPath;
         this.specReader = copy.specReader;
         this.jsExecutor = copy.jsExecutor;
@@ -94,14 +108,32 @@ public class PageSpecHandler implements VarsParserJsFunctions {
     }
 
     private static GalenJsExecutor createGalenJsExecutor(final PageSpecHandler pageSpecHandler) {
-        GalenJsExecutor js = new GalenJsExecutor();
+        GalenJsExecutor js;
+        if (GalenConfig.getConfig().getBooleanProperty(GalenProperty.GALEN_JS_SHARED_SCOPE)) {
+            js = GalenJsExecutor.withSharedScope(SPEC_LIBRARY);
+        } else {
+            js = new GalenJsExecutor();
+            js.evalScriptFromLibrary(SPEC_LIBRARY);
+        }
         js.putObject("_pageSpecHandler", pageSpecHandler);
         js.evalScriptFromLibrary("GalenSpecProcessing.js");
 
         if (pageSpecHandler.page instanceof SeleniumPage) {
             SeleniumPage seleniumPage = (SeleniumPage) pageSpecHandler.page;
-            js.putObject("screen", new JsPageElement("screen", new ScreenElement(seleniumPage.getDriver())));
-            js.putObject("viewport", new JsPageElement("viewport", new ViewportElement(seleniumPage.getDriver())));
+            js.putObject("screen", new JsPageElement("screen", new ScreenElement(seleniumPage.getDriver()) {
+                @Override
+                public Rect calculateArea() {
+                    pageSpecHandler.pageUsed.set(true);
+                    return super.calculateArea();
+                }
+            }));
+            js.putObject("viewport", new JsPageElement("viewport", new ViewportElement(seleniumPage.getDriver()) {
+                @Override
+                public Rect calculateArea() {
+                    pageSpecHandler.pageUsed.set(true);
+                    return super.calculateArea();
+                }
+            }));
         }
 
         js.getScope().defineProperty("isVisible", new BaseFunction() {
@@ -193,7 +225,7 @@ public class PageSpecHandler implements VarsParserJsFunctions {
     public Object isVisible(String objectName) {
         for (Map.Entry<String, Locator> object : pageSpec.getObjects().entrySet()) {
             if (object.getKey().equals(objectName)) {
-                PageElement pageElement = page.getObject(object.getKey(), object.getValue());
+                PageElement pageElement = getPage().getObject(object.getKey(), object.getValue());
 
                 return pageElement != null && pageElement.isPresent() && pageElement.isVisible();
             }
@@ -205,7 +237,7 @@ public class PageSpecHandler implements VarsParserJsFunctions {
     public Object isPresent(String objectName) {
         for (Map.Entry<String, Locator> object : pageSpec.getObjects().entrySet()) {
             if (object.getKey().equals(objectName)) {
-                PageElement pageElement = page.getObject(object.getKey(), object.getValue());
+                PageElement pageElement = getPage().getObject(object.getKey(), object.getValue());
                 return pageElement != null && pageElement.isPresent();
             }
         }
@@ -277,7 +309,7 @@ public class PageSpecHandler implements VarsParserJsFunctions {
 
             Locator locator = pageSpec.getObjects().get(objectName);
             if (locator != null && page != null) {
-                PageElement pageElement = page.getObject(objectName, locator);
+                PageElement pageElement = getPage().getObject(objectName, locator);
                 if (pageElement != null) {
                     return new JsPageElement(objectName, pageElement);
                 }
@@ -296,7 +328,7 @@ public class PageSpecHandler implements VarsParserJsFunctions {
             Locator locator = pageSpec.getObjects().get(objectName);
             PageElement pageElement = null;
             if (locator != null) {
-                pageElement = page.getObject(objectName, locator);
+                pageElement = getPage().getObject(objectName, locator);
             }
 
             if (pageElement != null) {
@@ -329,7 +361,7 @@ public class PageSpecHandler implements VarsParserJsFunctions {
 
             Locator locator = pageSpec.getObjects().get(objectName);
             if (locator != null) {
-                pageElement = page.getObject(objectName, locator);
+                pageElement = getPage().getObject(objectName, locator);
             }
         }
 
@@ -443,9 +475,17 @@ public class PageSpecHandler implements VarsParserJsFunctions {
     }
 
     public Page getPage() {
+        pageUsed.set(true);
         return page;
     }
 
+    /**
+     * @return true in case any object was fetched from the page, so the resulting page spec could not be reused for other pages
+     */
+    public boolean isPageUsed() {
+        return pageUsed.get();
+    }
+
     public Properties getProperties() {
         return properties;
     }
@@ -31,6 +31,8 @@ import java.util.Properties;
 
 public class PageSpecReader {
 
+    private boolean pageUsed = false;
+
     public PageSpec read(String path, Page page,
                          SectionFilter sectionFilter,
                          Properties properties,
@@ -38,11 +40,11 @@ public class PageSpecReader {
 
         String contextPath = GalenUtils.getParentForFile(path);
 
-        InputStream stream = GalenUtils.findFileOrResourceAsStream(path);
-        if (stream == null) {
+        List<StructNode> structs = ParsedSpecCache.parse(path);
+        if (structs == null) {
             throw new FileNotFoundException(path);
         }
-        return read(stream, path, contextPath, page, sectionFilter, properties, jsVariables, objects);
+        return read(structs, contextPath, page, sectionFilter, properties, jsVariables, objects);
     }
 
     public PageSpec read(InputStream inputStream, String source,
@@ -53,7 +55,15 @@ public class PageSpecReader {
                          Map<String, Object> jsVariables, Map<String, Locator> objects) throws IOException {
         IndentationStructureParser structParser = new IndentationStructureParser();
         List<StructNode> structs = structParser.parse(inputStream, source);
+        return read(structs, contextPath, page, sectionFilter, properties, jsVariables, objects);
+    }
 
+    private PageSpec read(List<StructNode> structs,
+                          String contextPath,
+                          Page page,
+                          SectionFilter sectionFilter,
+                          Properties properties,
+                          Map<String, Object> jsVariables, Map<String, Locator> objects) throws IOException {
         PageSpec pageSpec = new PageSpec(objects);
 
         PageSpecHandler pageSpecHandler = new PageSpecHandler(pageSpec, page, sectionFilter, contextPath, properties, jsVariables);
@@ -61,8 +71,17 @@ public class PageSpecReader {
         List<StructNode> allProcessedChildNodes = new MacroProcessor(pageSpecHandler).process(structs);
         new PostProcessor(pageSpecHandler).process(allProcessedChildNodes);
 
+        pageUsed = pageSpecHandler.isPageUsed();
         return pageSpecHandler.buildPageSpec();
     }
 
+    /**
+     * Tells whether anything was fetched from the page while reading the last page spec.
+     * If not, the page spec doesn't depend on the page and could be reused for other pages with the same inputs
+     */
+    public boolean isPageUsed() {
+        return pageUsed;
+    }
+
 
 }
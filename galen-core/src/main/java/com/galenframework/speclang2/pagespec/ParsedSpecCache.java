@@ -0,0 +1,107 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.speclang2.pagespec;
+
+import com.galenframework.config.GalenConfig;
+import com.galenframework.config.GalenProperty;
+import com.galenframework.parser.IndentationStructureParser;
+import com.galenframework.parser.StructNode;
+import com.galenframework.utils.GalenUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide cache of parsed spec files. Only the structure of the file is cached,
+ * as macros and expressions depend on the page and js variables and have to be processed on every read.
+ * The files are identified by their path, modification time and size, so a modified file is parsed again.
+ */
+public class ParsedSpecCache {
+
+    private static final Map<String, List<StructNode>> cache = new LinkedHashMap<String, List<StructNode>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<StructNode>> eldest) {
+            return size() > GalenConfig.getConfig().getIntProperty(GalenProperty.SPEC_CACHE_SIZE);
+        }
+    };
+
+    private ParsedSpecCache() {
+    }
+
+    /**
+     * Parses the spec file or takes its structure from cache.
+     * @return a copy of parsed nodes which could be modified by caller or null in case file does not exist
+     */
+    public static List<StructNode> parse(String fullPath) throws IOException {
+        String key = cacheKey(fullPath);
+        List<StructNode> structs;
+        synchronized (cache) {
+            structs = cache.get(key);
+        }
+
+        if (structs == null) {
+            try (InputStream stream = GalenUtils.findFileOrResourceAsStream(fullPath)) {
+                if (stream == null) {
+                    return null;
+                }
+                structs = new IndentationStructureParser().parse(stream, fullPath);
+            }
+            if (structs == null) {
+                // the file is empty
+                structs = new ArrayList<>();
+            }
+            if (GalenConfig.getConfig().getIntProperty(GalenProperty.SPEC_CACHE_SIZE) <= 0) {
+                return structs;
+            }
+            synchronized (cache) {
+                cache.put(key, structs);
+            }
+        }
+        return copy(structs);
+    }
+
+    /**
+     * Files are identified by their modification time and size, so that they don't have to be read
+     * in order to find out whether they were changed. Classpath resources can't change while running
+     */
+    private static String cacheKey(String fullPath) {
+        File file = new File(fullPath);
+        if (file.exists()) {
+            return fullPath + ":" + file.lastModified() + ":" + file.length();
+        } else {
+            return "classpath:" + fullPath;
+        }
+    }
+
+    public static void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private static List<StructNode> copy(List<StructNode> structs) {
+        List<StructNode> copies = new ArrayList<>(structs.size());
+        for (StructNode struct : structs) {
+            copies.add(struct.copy());
+        }
+        return copies;
+    }
+}
@@ -45,6 +45,8 @@ import static java.util.Collections.singletonList;
 
 public class SpecImageProcessor implements SpecProcessor {
 
+    private static final int DEFAULT_PYRAMID_LEVELS = 2;
+
     @Override
     public Spec process(StringCharReader reader, String contextPath) {
         List<Pair<String, String>> parameters = Expectations.commaSeparatedRepeatedKeyValues().read(reader);
@@ -72,6 +74,13 @@ public class SpecImageProcessor implements SpecProcessor {
             else if ("analyze-offset".equals(parameter.getKey())) {
                 spec.setAnalyzeOffset(parseIntegerParameter("analyze-offset", parameter.getValue()));
             }
+            else if ("pyramid".equals(parameter.getKey())) {
+                if (parameter.getValue().isEmpty()) {
+                    spec.setPyramidLevels(DEFAULT_PYRAMID_LEVELS);
+                } else {
+                    spec.setPyramidLevels(parseIntegerParameter("pyramid", parameter.getValue()));
+                }
+            }
             else if ("stretch".equals(parameter.getKey())) {
                 spec.setStretch(true);
             }
@@ -107,6 +107,7 @@ public class SpecImage extends Spec {
     private boolean stretch = false;
     private boolean cropIfOutside = false;
     private int analyzeOffset = 0;
+    private int pyramidLevels = 0;
 
     public int getAnalyzeOffset() {
         return analyzeOffset;
@@ -116,6 +117,14 @@ public class SpecImage extends Spec {
         this.analyzeOffset = analyzeOffset;
     }
 
+    public int getPyramidLevels() {
+        return pyramidLevels;
+    }
+
+    public void setPyramidLevels(int pyramidLevels) {
+        this.pyramidLevels = pyramidLevels;
+    }
+
     public Integer getTolerance() {
 
         return tolerance;
@@ -0,0 +1,125 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.specs.page;
+
+import com.galenframework.parser.AlphanumericComparator;
+import com.galenframework.utils.GalenUtils;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the names of page spec objects sorted alphanumerically and lexicographically.
+ * The lexicographic order is used to pick only the names starting with the literal prefix of a search expression,
+ * so that the rest of the objects is not matched against its pattern at all.
+ */
+class ObjectNameIndex {
+    private static final String REGEX_SYMBOLS = "*#\\^$.|?+()[]{}";
+    private static final String OPTIONAL_QUANTIFIERS = "?{*";
+
+    private final List<String> sortedNames;
+    private final String[] lexicographicNames;
+
+    /**
+     * Position of each name from lexicographicNames in sortedNames
+     */
+    private final int[] positions;
+
+    ObjectNameIndex(Collection<String> names) {
+        List<String> sortedNames = new ArrayList<>(names);
+        Collections.sort(sortedNames, new AlphanumericComparator());
+        this.sortedNames = Collections.unmodifiableList(sortedNames);
+
+        Integer[] order = new Integer[sortedNames.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> sortedNames.get(a).compareTo(sortedNames.get(b)));
+
+        this.lexicographicNames = new String[order.length];
+        this.positions = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            lexicographicNames[i] = sortedNames.get(order[i]);
+            positions[i] = order[i];
+        }
+    }
+
+    /**
+     * Returns an alphanumerically sorted unmodifiable list of all names
+     */
+    List<String> getSortedNames() {
+        return sortedNames;
+    }
+
+    /**
+     * Returns an alphanumerically sorted list of names matching the given search expression
+     * @param searchExpression - object search expression, e.g. "menu.item-#" or "footer*"
+     */
+    List<String> findMatching(String searchExpression) {
+        Pattern pattern = GalenUtils.convertObjectNameRegex(searchExpression);
+        String prefix = literalPrefix(searchExpression);
+
+        List<String> matchingNames = new ArrayList<>();
+        if (prefix.isEmpty()) {
+            for (String name : sortedNames) {
+                if (pattern.matcher(name).matches()) {
+                    matchingNames.add(name);
+                }
+            }
+            return matchingNames;
+        }
+
+        int from = Arrays.binarySearch(lexicographicNames, prefix);
+        if (from < 0) {
+            from = -from - 1;
+        }
+
+        int[] matchingPositions = new int[lexicographicNames.length - from];
+        int amount = 0;
+        for (int i = from; i < lexicographicNames.length && lexicographicNames[i].startsWith(prefix); i++) {
+            if (pattern.matcher(lexicographicNames[i]).matches()) {
+                matchingPositions[amount++] = positions[i];
+            }
+        }
+
+        Arrays.sort(matchingPositions, 0, amount);
+        for (int i = 0; i < amount; i++) {
+            matchingNames.add(sortedNames.get(matchingPositions[i]));
+        }
+        return matchingNames;
+    }
+
+    /**
+     * Returns the beginning of expression which is matched literally by its pattern.
+     * In case of alternation there is no common prefix, and a character followed by
+     * a quantifier, which allows it to be absent, is not included in the prefix
+     */
+    private static String literalPrefix(String searchExpression) {
+        if (searchExpression.indexOf('|') >= 0) {
+            return "";
+        }
+        for (int i = 0; i < searchExpression.length(); i++) {
+            char symbol = searchExpression.charAt(i);
+            if (REGEX_SYMBOLS.indexOf(symbol) >= 0) {
+                if (i > 0 && OPTIONAL_QUANTIFIERS.indexOf(symbol) >= 0) {
+                    return searchExpression.substring(0, i - 1);
+                }
+                return searchExpression.substring(0, i);
+            }
+        }
+        return searchExpression;
+    }
+}
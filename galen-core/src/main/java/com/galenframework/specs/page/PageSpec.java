@@ -16,18 +16,18 @@
 package com.galenframework.specs.page;
 
 import java.util.*;
-import java.util.regex.Pattern;
 
-import com.galenframework.parser.AlphanumericComparator;
 import com.galenframework.speclang2.specs.SpecReader;
 import com.galenframework.utils.GalenUtils;
 
 
 public class PageSpec {
 
-    private final Map<String, Locator> objects = new HashMap<>();
+    private final Map<String, Locator> objects = new LinkedHashMap<>();
+    private final Map<String, Locator> objectsView = new ObjectsView();
     private final List<PageSection> sections = new LinkedList<>();
     private final Map<String, List<String>> objectGroups = new HashMap<>();
+    private volatile ObjectNameIndex objectNameIndex;
 
     public PageSpec() {
     }
@@ -42,7 +42,7 @@ public class PageSpec {
      * @return
      */
     public Map<String, Locator> getObjects() {
-        return this.objects;
+        return this.objectsView;
     }
 
     /**
@@ -54,6 +54,7 @@ public class PageSpec {
         if (objects != null) {
             this.objects.putAll(objects);
         }
+        objectNameIndex = null;
     }
 
     /**
@@ -101,6 +102,7 @@ public class PageSpec {
      */
     public void addObject(String objectName, Locator locator) {
         objects.put(objectName, locator);
+        objectNameIndex = null;
     }
 
     /**
@@ -119,7 +121,6 @@ public class PageSpec {
     public List<String> findOnlyExistingMatchingObjectNames(String objectExpression) {
         String[] parts = objectExpression.split(",");
 
-        List<String> allSortedObjectNames = getSortedObjectNames();
         List<String> resultingObjectNames = new LinkedList<>();
 
         for (String part : parts) {
@@ -128,12 +129,7 @@ public class PageSpec {
                 if (GalenUtils.isObjectGroup(singleExpression)) {
                     resultingObjectNames.addAll(findObjectsInGroup(GalenUtils.extractGroupName(singleExpression)));
                 } else if (GalenUtils.isObjectsSearchExpression(singleExpression)) {
-                    Pattern objectPattern = GalenUtils.convertObjectNameRegex(singleExpression);
-                    for (String objectName : allSortedObjectNames) {
-                        if (objectPattern.matcher(objectName).matches()) {
-                            resultingObjectNames.add(objectName);
-                        }
-                    }
+                    resultingObjectNames.addAll(getObjectNameIndex().findMatching(singleExpression));
                 } else if (objects.containsKey(singleExpression)) {
                     resultingObjectNames.add(singleExpression);
                 }
@@ -152,7 +148,6 @@ public class PageSpec {
     public List<String> findAllObjectsMatchingStrictStatements(String objectExpression) {
         String[] parts = objectExpression.split(",");
 
-        List<String> allSortedObjectNames = getSortedObjectNames();
         List<String> resultingObjectNames = new LinkedList<>();
 
         for (String part : parts) {
@@ -161,12 +156,7 @@ public class PageSpec {
                 if (GalenUtils.isObjectGroup(singleExpression)) {
                     resultingObjectNames.addAll(findObjectsInGroup(GalenUtils.extractGroupName(singleExpression)));
                 } else if (GalenUtils.isObjectsSearchExpression(singleExpression)) {
-                    Pattern objectPattern = GalenUtils.convertObjectNameRegex(singleExpression);
-                    for (String objectName : allSortedObjectNames) {
-                        if (objectPattern.matcher(objectName).matches()) {
-                            resultingObjectNames.add(objectName);
-                        }
-                    }
+                    resultingObjectNames.addAll(getObjectNameIndex().findMatching(singleExpression));
                 } else {
                     resultingObjectNames.add(singleExpression);
                 }
@@ -179,9 +169,19 @@ public class PageSpec {
      * Returns an alphanumericly sorted list of names of all declared objects
      */
     public List<String> getSortedObjectNames() {
-        List<String> list = new ArrayList<>(getObjects().keySet());
-        Collections.sort(list, new AlphanumericComparator());
-        return list;
+        return new ArrayList<>(getObjectNameIndex().getSortedNames());
+    }
+
+    /**
+     * Returns the index of object names, which is rebuilt only after objects were added or removed
+     */
+    private ObjectNameIndex getObjectNameIndex() {
+        ObjectNameIndex index = objectNameIndex;
+        if (index == null) {
+            index = new ObjectNameIndex(objects.keySet());
+            objectNameIndex = index;
+        }
+        return index;
     }
 
     /**
@@ -205,6 +205,7 @@ public class PageSpec {
             throw new IllegalArgumentException("Cannot merge null spec");
         }
         objects.putAll(spec.getObjects());
+        objectNameIndex = null;
         sections.addAll(spec.getSections());
         objectGroups.putAll(spec.getObjectGroups());
 	}
@@ -248,4 +249,75 @@ public class PageSpec {
         return objectGroups;
     }
 
+    /**
+     * Gives direct access to the objects and invalidates the index of object names whenever they are changed through it
+     */
+    private class ObjectsView extends AbstractMap<String, Locator> {
+        @Override
+        public int size() {
+            return objects.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return objects.containsKey(key);
+        }
+
+        @Override
+        public Locator get(Object key) {
+            return objects.get(key);
+        }
+
+        @Override
+        public Locator put(String key, Locator value) {
+            Locator previous = objects.put(key, value);
+            objectNameIndex = null;
+            return previous;
+        }
+
+        @Override
+        public Locator remove(Object key) {
+            Locator previous = objects.remove(key);
+            objectNameIndex = null;
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            objects.clear();
+            objectNameIndex = null;
+        }
+
+        @Override
+        public Set<Entry<String, Locator>> entrySet() {
+            return new AbstractSet<Entry<String, Locator>>() {
+                @Override
+                public int size() {
+                    return objects.size();
+                }
+
+                @Override
+                public Iterator<Entry<String, Locator>> iterator() {
+                    Iterator<Entry<String, Locator>> iterator = objects.entrySet().iterator();
+                    return new Iterator<Entry<String, Locator>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Locator> next() {
+                            return iterator.next();
+                        }
+
+                        @Override
+                        public void remove() {
+                            iterator.remove();
+                            objectNameIndex = null;
+                        }
+                    };
+                }
+            };
+        }
+    }
 }
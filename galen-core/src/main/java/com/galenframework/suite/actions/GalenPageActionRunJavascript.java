@@ -20,6 +20,7 @@ import java.io.FileReader;
 import java.io.Reader;
 
 import com.galenframework.browser.Browser;
+import com.galenframework.browser.PooledBrowser;
 import com.galenframework.browser.SeleniumBrowser;
 import com.galenframework.javascript.GalenJsExecutor;
 import com.galenframework.reports.TestReport;
@@ -66,6 +67,9 @@ public class GalenPageActionRunJavascript extends GalenPageAction{
     }
     
     private void provideWebDriverInstance(GalenJsExecutor jsExecutor, Browser browser) {
+        if (browser instanceof PooledBrowser) {
+            browser = ((PooledBrowser) browser).getOrigin();
+        }
         if (browser instanceof SeleniumBrowser) {
             SeleniumBrowser seleniumBrowser = (SeleniumBrowser) browser;
             WebDriver driver = seleniumBrowser.getDriver();
@@ -34,6 +34,7 @@ import java.util.regex.Pattern;
 import javax.imageio.ImageIO;
 
 import com.galenframework.browser.SeleniumGridBrowserFactory;
+import com.galenframework.page.MappedImage;
 import com.galenframework.page.selenium.ByChain;
 import com.galenframework.reports.TestReport;
 import com.galenframework.reports.model.LayoutReport;
@@ -71,6 +72,15 @@ public class GalenUtils {
 
     public static final int ZERO_WIDTH_SPACE_CHAR = 65279;
 
+    private static final int OBJECT_NAME_PATTERNS_CACHE_SIZE = 1000;
+    private static final Map<String, Pattern> objectNamePatterns = Collections.synchronizedMap(
+        new LinkedHashMap<String, Pattern>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+                return size() > OBJECT_NAME_PATTERNS_CACHE_SIZE;
+            }
+        });
+
     public static boolean isUrl(String url) {
         if (url == null) {
             return false;
@@ -108,11 +118,48 @@ public class GalenUtils {
     
     
     public static File makeFullScreenshot(WebDriver driver) throws IOException, InterruptedException {
+        File file = File.createTempFile("screenshot", ".png");
+        ImageIO.write(makeFullScreenshotImage(driver), "png", file);
+        return file;
+    }
+
+    /**
+     * Same as makeFullScreenshotImage but draws every captured part straight into a memory-mapped image,
+     * so that the whole page is never kept in java heap. In case screenshots need to be resized
+     * every captured part is resized separately.
+     */
+    public static MappedImage makeMappedFullScreenshot(WebDriver driver) throws IOException, InterruptedException {
+        MappedStripCanvas canvas = new MappedStripCanvas(driver);
+        captureFullPage(driver, canvas);
+        return canvas.mappedImage;
+    }
+
+    /**
+     * Same as makeFullScreenshot but keeps the resulting image in memory instead of writing it to a file
+     */
+    public static BufferedImage makeFullScreenshotImage(WebDriver driver) throws IOException, InterruptedException {
+        BufferedStripCanvas canvas = new BufferedStripCanvas();
+        captureFullPage(driver, canvas);
+        BufferedImage resultingImage = canvas.image;
+
+        if (GalenConfig.getConfig().shouldAutoresizeScreenshots()) {
+            try {
+                resultingImage = GalenUtils.resizeScreenshotIfNeeded(driver, resultingImage);
+            } catch (Exception ex) {
+                LOG.trace("Couldn't resize screenshot", ex);
+            }
+        }
+
+        return resultingImage;
+    }
+
+    /**
+     * Captures the page part by part while scrolling it down and draws every part on the given canvas
+     */
+    private static void captureFullPage(WebDriver driver, StripCanvas canvas) throws IOException, InterruptedException {
         // scroll up first
         scrollVerticallyTo(driver, 0);
-        byte[] bytes = ((TakesScreenshot)driver).getScreenshotAs(OutputType.BYTES);
-        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
-        int capturedWidth = image.getWidth();
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(((TakesScreenshot)driver).getScreenshotAs(OutputType.BYTES)));
         int capturedHeight = image.getHeight();
 
         long longScrollHeight = ((Number)((JavascriptExecutor)driver).executeScript("return Math.max(" +
@@ -121,60 +168,115 @@ public class GalenUtils {
                 "document.body.clientHeight, document.documentElement.clientHeight);"
             )).longValue();
 
-        Double devicePixelRatio = ((Number)((JavascriptExecutor)driver).executeScript(JS_RETRIEVE_DEVICE_PIXEL_RATIO)).doubleValue();
+        double devicePixelRatio = ((Number)((JavascriptExecutor)driver).executeScript(JS_RETRIEVE_DEVICE_PIXEL_RATIO)).doubleValue();
 
         int scrollHeight = (int)longScrollHeight;
-
-        File file = File.createTempFile("screenshot", ".png");
-
         int adaptedCapturedHeight = (int)(((double)capturedHeight) / devicePixelRatio);
 
-        BufferedImage resultingImage;
+        boolean needsScrolling = Math.abs(adaptedCapturedHeight - scrollHeight) > 40;
+        canvas.prepare(image, needsScrolling ? (int)(((double)scrollHeight) * devicePixelRatio) : capturedHeight);
+        canvas.draw(image, 0);
 
-        if (Math.abs(adaptedCapturedHeight - scrollHeight) > 40) {
-            int scrollOffset = adaptedCapturedHeight;
-            
+        if (needsScrolling) {
             int times = scrollHeight / adaptedCapturedHeight;
             int leftover = scrollHeight % adaptedCapturedHeight;
 
-            final BufferedImage tiledImage = new BufferedImage(capturedWidth, (int)(((double)scrollHeight) * devicePixelRatio), BufferedImage.TYPE_INT_RGB);
-            Graphics2D g2dTile = tiledImage.createGraphics();
-            g2dTile.drawImage(image, 0,0, null);
-
-            
             int scroll = 0;
             for (int i = 0; i < times - 1; i++) {
-                scroll += scrollOffset;
+                scroll += adaptedCapturedHeight;
                 scrollVerticallyTo(driver, scroll);
                 BufferedImage nextImage = ImageIO.read(new ByteArrayInputStream(((TakesScreenshot)driver).getScreenshotAs(OutputType.BYTES)));
-                g2dTile.drawImage(nextImage, 0, (i+1) * capturedHeight, null);
+                canvas.draw(nextImage, (i + 1) * capturedHeight);
             }
             if (leftover > 0) {
-                scroll += scrollOffset;
+                scroll += adaptedCapturedHeight;
                 scrollVerticallyTo(driver, scroll);
                 BufferedImage nextImage = ImageIO.read(new ByteArrayInputStream(((TakesScreenshot)driver).getScreenshotAs(OutputType.BYTES)));
-                BufferedImage lastPart = nextImage.getSubimage(0, nextImage.getHeight() - (int)(((double)leftover) * devicePixelRatio), nextImage.getWidth(), leftover);
-                g2dTile.drawImage(lastPart, 0, times * capturedHeight, null);
+                int leftoverHeight = Math.min(nextImage.getHeight(), (int)(((double) leftover) * devicePixelRatio));
+                if (leftoverHeight > 0) {
+                    BufferedImage lastPart = nextImage.getSubimage(0, nextImage.getHeight() - leftoverHeight, nextImage.getWidth(), leftoverHeight);
+                    canvas.draw(lastPart, times * capturedHeight);
+                }
             }
-            
-            scrollVerticallyTo(driver, 0);
 
-            resultingImage = tiledImage;
+            scrollVerticallyTo(driver, 0);
         }
-        else {
-            resultingImage = image;
+    }
+
+    /**
+     * Receives the parts of a full page screenshot
+     */
+    private interface StripCanvas {
+        /**
+         * Is called before any part is drawn
+         * @param firstStrip - the first captured part of the page
+         * @param fullHeight - height of the whole page in screenshot pixels
+         */
+        void prepare(BufferedImage firstStrip, int fullHeight) throws IOException;
+
+        void draw(BufferedImage strip, int top);
+    }
+
+    private static class BufferedStripCanvas implements StripCanvas {
+        private BufferedImage image;
+        private Graphics2D graphics;
+
+        @Override
+        public void prepare(BufferedImage firstStrip, int fullHeight) {
+            if (fullHeight == firstStrip.getHeight()) {
+                image = firstStrip;
+            } else {
+                image = new BufferedImage(firstStrip.getWidth(), fullHeight, BufferedImage.TYPE_INT_RGB);
+                graphics = image.createGraphics();
+            }
         }
 
-        if (GalenConfig.getConfig().shouldAutoresizeScreenshots()) {
-            try {
-                resultingImage = GalenUtils.resizeScreenshotIfNeeded(driver, resultingImage);
-            } catch (Exception ex) {
-                LOG.trace("Couldn't resize screenshot", ex);
+        @Override
+        public void draw(BufferedImage strip, int top) {
+            if (graphics != null) {
+                graphics.drawImage(strip, 0, top, null);
             }
         }
+    }
 
-        ImageIO.write(resultingImage, "png", file);
-        return file;
+    /**
+     * In case screenshots need to be resized every part is resized separately before it is drawn
+     */
+    private static class MappedStripCanvas implements StripCanvas {
+        private final WebDriver driver;
+        private MappedImage mappedImage;
+        private double pixelRatio = 1.0;
+
+        MappedStripCanvas(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        @Override
+        public void prepare(BufferedImage firstStrip, int fullHeight) throws IOException {
+            if (GalenConfig.getConfig().shouldAutoresizeScreenshots()) {
+                try {
+                    pixelRatio = estimateScreenshotPixelRatio(driver, firstStrip.getWidth());
+                } catch (Exception ex) {
+                    LOG.trace("Couldn't resize screenshot", ex);
+                }
+            }
+            mappedImage = new MappedImage(
+                    Math.max(1, (int)(firstStrip.getWidth() / pixelRatio)),
+                    Math.max(1, (int)(fullHeight / pixelRatio)));
+        }
+
+        @Override
+        public void draw(BufferedImage strip, int top) {
+            if (pixelRatio > 1.0) {
+                int scaledTop = (int) (top / pixelRatio);
+                int scaledHeight = (int) ((top + strip.getHeight()) / pixelRatio) - scaledTop;
+                if (scaledHeight > 0) {
+                    mappedImage.drawImage(scaleImage(strip, mappedImage.getWidth(), scaledHeight), scaledTop);
+                }
+            } else {
+                mappedImage.drawImage(strip, top);
+            }
+        }
     }
 
 
@@ -185,6 +287,23 @@ public class GalenUtils {
      * @return
      */
     public static BufferedImage resizeScreenshotIfNeeded(WebDriver driver, BufferedImage screenshotImage) {
+        double estimatedPixelRatio = estimateScreenshotPixelRatio(driver, screenshotImage.getWidth());
+
+        if (estimatedPixelRatio > 1.0) {
+            int newWidth = (int) (screenshotImage.getWidth() / estimatedPixelRatio);
+            int newHeight = (int) (screenshotImage.getHeight() / estimatedPixelRatio);
+
+            return scaleImage(screenshotImage, newWidth, newHeight);
+        }
+        else return screenshotImage;
+    }
+
+    /**
+     * Compares the width of screenshot with the width of page in order to find out how many screenshot pixels
+     * are used for a single css pixel
+     * @return the ratio or 1.0 in case screenshot doesn't need to be resized
+     */
+    private static double estimateScreenshotPixelRatio(WebDriver driver, int screenshotWidth) {
         Double devicePixelRatio = 1.0;
 
         try {
@@ -193,32 +312,27 @@ public class GalenUtils {
             ex.printStackTrace();
         }
 
-        if (devicePixelRatio > 1.0 && screenshotImage.getWidth() > 0) {
+        if (devicePixelRatio > 1.0 && screenshotWidth > 0) {
             Long screenSize = ((Number) ((JavascriptExecutor) driver).executeScript("return Math.max(" +
                             "document.body.scrollWidth, document.documentElement.scrollWidth," +
                             "document.body.offsetWidth, document.documentElement.offsetWidth," +
                             "document.body.clientWidth, document.documentElement.clientWidth);"
             )).longValue();
 
-            Double estimatedPixelRatio = ((double)screenshotImage.getWidth()) / ((double)screenSize);
-
-            if (estimatedPixelRatio > 1.0) {
-
-                int newWidth = (int) (screenshotImage.getWidth() / estimatedPixelRatio);
-                int newHeight = (int) (screenshotImage.getHeight() / estimatedPixelRatio);
+            return Math.max(1.0, ((double)screenshotWidth) / ((double)screenSize));
+        }
+        else return 1.0;
+    }
 
-                Image tmp = screenshotImage.getScaledInstance(newWidth, newHeight, Image.SCALE_SMOOTH);
-                BufferedImage scaledImage = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_RGB);
+    private static BufferedImage scaleImage(BufferedImage image, int newWidth, int newHeight) {
+        Image tmp = image.getScaledInstance(newWidth, newHeight, Image.SCALE_SMOOTH);
+        BufferedImage scaledImage = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_RGB);
 
-                Graphics2D g2d = scaledImage.createGraphics();
-                g2d.drawImage(tmp, 0, 0, null);
-                g2d.dispose();
+        Graphics2D g2d = scaledImage.createGraphics();
+        g2d.drawImage(tmp, 0, 0, null);
+        g2d.dispose();
 
-                return scaledImage;
-            }
-            else return screenshotImage;
-        }
-        else return screenshotImage;
+        return scaledImage;
     }
 
     public static void scrollVerticallyTo(WebDriver driver, int scroll) {
@@ -325,6 +439,19 @@ public class GalenUtils {
         }
         else return file;
     }
+
+    /**
+     * Takes a screenshot and decodes it straight from the bytes returned by the driver, without using temporary files
+     */
+    public static BufferedImage takeScreenshotImage(WebDriver driver) throws IOException {
+        byte[] bytes = ((TakesScreenshot)driver).getScreenshotAs(OutputType.BYTES);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+
+        if (GalenConfig.getConfig().shouldAutoresizeScreenshots()) {
+            image = GalenUtils.resizeScreenshotIfNeeded(driver, image);
+        }
+        return image;
+    }
     
     public static Properties loadProperties(String fileName) throws IOException {
         
@@ -416,9 +543,15 @@ public class GalenUtils {
     }
 
 
+    /**
+     * Converts object search expression (e.g. "menu.item-#") to a pattern.
+     * Compiled patterns are cached, since the same expressions are used again and again while reading specs
+     */
     public static Pattern convertObjectNameRegex(String regex) {
-        String jRegex = regex.replace("#", "[0-9]+").replace("*", ".*");
-        return Pattern.compile(jRegex);
+        return objectNamePatterns.computeIfAbsent(regex, r -> {
+            String jRegex = r.replace("#", "[0-9]+").replace("*", ".*");
+            return Pattern.compile(jRegex);
+        });
     }
 
     public static boolean isObjectsSearchExpression(String singleExpression) {
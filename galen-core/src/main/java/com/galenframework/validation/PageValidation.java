@@ -18,6 +18,9 @@ package com.galenframework.validation;
 import static java.lang.String.format;
 
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.galenframework.browser.Browser;
 import com.galenframework.parser.SyntaxException;
@@ -37,6 +40,12 @@ public class PageValidation {
     private ValidationListener validationListener;
     private SectionFilter sectionFilter;
 
+    /**
+     * Page specs of components which don't depend on the page, so they are read only once for all component objects.
+     * Shared with page validations of the components
+     */
+    private Map<List<Object>, PageSpec> componentPageSpecs = new ConcurrentHashMap<>();
+
     public PageValidation(Browser browser, Page page, PageSpec pageSpec, ValidationListener validationListener, SectionFilter sectionFilter) {
         this.setBrowser(browser);
         this.setPage(page);
@@ -207,6 +216,14 @@ public class PageValidation {
         this.sectionFilter = sectionFilter;
     }
 
+    public Map<List<Object>, PageSpec> getComponentPageSpecs() {
+        return componentPageSpecs;
+    }
+
+    public void setComponentPageSpecs(Map<List<Object>, PageSpec> componentPageSpecs) {
+        this.componentPageSpecs = componentPageSpecs;
+    }
+
     public Browser getBrowser() {
         return browser;
     }
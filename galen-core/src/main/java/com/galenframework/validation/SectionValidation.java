@@ -15,11 +15,15 @@
 ******************************************************************************/
 package com.galenframework.validation;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
+import com.galenframework.config.GalenConfig;
+import com.galenframework.page.snapshot.SnapshotPage;
 import com.galenframework.speclang2.pagespec.SectionFilter;
+import com.galenframework.specs.SpecComponent;
 import com.galenframework.specs.page.ObjectSpecs;
 import com.galenframework.specs.page.PageSection;
 import com.galenframework.specs.page.SpecGroup;
@@ -33,10 +37,22 @@ public class SectionValidation {
     
     private final static Logger LOG = LoggerFactory.getLogger(SectionValidation.class);
 
+    /**
+     * Threads shared by all validations. It is bounded by the amount of processors,
+     * the idle threads are stopped and they never keep the JVM from exiting
+     */
+    private static final ExecutorService workers = createWorkers();
+
     private List<PageSection> pageSections;
     private PageValidation pageValidation;
     private ValidationListener validationListener;
 
+    /**
+     * Results of specs which are checked in parallel, in the same order as the specs are visited.
+     * Null entries stand for specs that have to be checked in the current thread
+     */
+    private Iterator<Future<ValidationResult>> scheduledChecks;
+
     public SectionValidation(List<PageSection> pageSections, PageValidation pageValidation, ValidationListener validationListener) {
         this.pageSections = pageSections;
         this.pageValidation = pageValidation;
@@ -47,15 +63,145 @@ public class SectionValidation {
         List<ValidationResult> validationResults = new LinkedList<>();
 
         Pattern sectionFilter = createSectionFilter(pageValidation.getSectionFilter());
-        
-        for (PageSection section : pageSections) {
-            if (appliesToFilter(section, sectionFilter)) {
-                validationResults.addAll(checkPageSection(section));
+
+        List<Future<ValidationResult>> checks = scheduleParallelChecks(sectionFilter);
+        try {
+            for (PageSection section : pageSections) {
+                if (appliesToFilter(section, sectionFilter)) {
+                    validationResults.addAll(checkPageSection(section));
+                }
+            }
+        } finally {
+            scheduledChecks = null;
+            for (Future<ValidationResult> check : checks) {
+                if (check != null) {
+                    check.cancel(false);
+                }
             }
         }
         return validationResults;
     }
 
+    /**
+     * Starts checking all specs in parallel in case it is enabled. The page should be immutable for that,
+     * so it is only done for page snapshots. The sections are then walked as usual, but instead of checking the specs
+     * their results are taken one by one from the scheduled checks. This way the listener is still invoked
+     * from a single thread and all results come in the same order as in sequential validation.
+     */
+    private List<Future<ValidationResult>> scheduleParallelChecks(Pattern sectionFilter) {
+        int parallelism = GalenConfig.getConfig().getSpecValidationParallelism();
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+
+        List<Future<ValidationResult>> checks = new ArrayList<>();
+        if (parallelism > 1 && pageValidation.getPage() instanceof SnapshotPage) {
+            List<Runnable> jobs = new ArrayList<>();
+            for (PageSection section : pageSections) {
+                if (appliesToFilter(section, sectionFilter)) {
+                    scheduleSection(section, checks, jobs);
+                }
+            }
+            startWorkers(Math.min(parallelism, jobs.size()), jobs);
+            scheduledChecks = checks.iterator();
+        }
+        return checks;
+    }
+
+    /**
+     * Every worker takes the next job until there are none left, so that a single validation
+     * never occupies more shared threads than its parallelism
+     */
+    private void startWorkers(int amount, List<Runnable> jobs) {
+        AtomicInteger nextJob = new AtomicInteger(0);
+        for (int i = 0; i < amount; i++) {
+            workers.execute(() -> {
+                int job;
+                while ((job = nextJob.getAndIncrement()) < jobs.size()) {
+                    jobs.get(job).run();
+                }
+            });
+        }
+    }
+
+    private static ExecutorService createWorkers() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "galen-spec-validation");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private void scheduleSection(PageSection section, List<Future<ValidationResult>> checks, List<Runnable> jobs) {
+        if (section.getSections() != null) {
+            for (PageSection subSection : section.getSections()) {
+                scheduleSection(subSection, checks, jobs);
+            }
+        }
+
+        for (ObjectSpecs object : section.getObjects()) {
+            scheduleSpecs(object.getObjectName(), object.getSpecs(), checks, jobs);
+            if (object.getSpecGroups() != null) {
+                for (SpecGroup specGroup : object.getSpecGroups()) {
+                    scheduleSpecs(object.getObjectName(), specGroup.getSpecs(), checks, jobs);
+                }
+            }
+        }
+    }
+
+    private void scheduleSpecs(String objectName, List<Spec> specs, List<Future<ValidationResult>> checks, List<Runnable> jobs) {
+        for (Spec spec : specs) {
+            if (spec instanceof SpecComponent) {
+                // components are reporting their own specs to listener, so they are checked sequentially
+                checks.add(null);
+            } else {
+                CompletableFuture<ValidationResult> check = new CompletableFuture<>();
+                checks.add(check);
+                jobs.add(() -> {
+                    if (!check.isDone()) {
+                        try {
+                            check.complete(pageValidation.check(objectName, spec));
+                        } catch (Throwable ex) {
+                            check.completeExceptionally(ex);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    private ValidationResult checkSpec(String objectName, Spec spec) {
+        if (scheduledChecks != null) {
+            Future<ValidationResult> check = scheduledChecks.next();
+            if (check != null) {
+                return waitFor(check);
+            }
+        }
+        return pageValidation.check(objectName, spec);
+    }
+
+    private ValidationResult waitFor(Future<ValidationResult> check) {
+        try {
+            return check.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for spec validation", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            } else {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+
     private Pattern createSectionFilter(SectionFilter sectionFilter) {
         if (sectionFilter != null && sectionFilter.getSectionName() != null) {
             return Pattern.compile(sectionFilter.getSectionName().replace("*", ".*"));
@@ -184,7 +330,7 @@ public class SectionValidation {
         for (Spec spec : specs) {
             tellBeforeSpec(pageValidation, objectName, spec);
 
-            ValidationResult result = pageValidation.check(objectName, spec);
+            ValidationResult result = checkSpec(objectName, spec);
             if (result.getError()!= null) {
                 validationResults.add(result);
                 tellOnSpecError(pageValidation, objectName, spec, result);
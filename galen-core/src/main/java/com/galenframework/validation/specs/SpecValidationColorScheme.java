@@ -25,6 +25,7 @@ import java.util.stream.Collectors;
 import com.galenframework.config.GalenConfig;
 import com.galenframework.config.GalenProperty;
 import com.galenframework.page.Rect;
+import com.galenframework.page.Screenshot;
 import com.galenframework.rainbow4j.colorscheme.ColorClassifier;
 import com.galenframework.rainbow4j.colorscheme.CustomSpectrum;
 import com.galenframework.rainbow4j.colorscheme.SimpleColorClassifier;
@@ -47,10 +48,10 @@ public class SpecValidationColorScheme extends SpecValidation<SpecColorScheme> {
         checkAvailability(mainObject, objectName);
 
         
-        BufferedImage pageImage = pageValidation.getPage().getScreenshotImage();
+        Screenshot screenshot = pageValidation.getPage().getScreenshot();
         
         Rect area = mainObject.getArea();
-        if (pageImage.getWidth() < area.getLeft() + area.getWidth() || pageImage.getHeight() < area.getTop() + area.getHeight()) {
+        if (screenshot.getWidth() < area.getLeft() + area.getWidth() || screenshot.getHeight() < area.getTop() + area.getHeight()) {
             throw new ValidationErrorException()
                 .withValidationObject(new ValidationObject(area, objectName))
                 .withMessage("Can't fetch image for \"object\" as it is outside of screenshot");
@@ -62,9 +63,10 @@ public class SpecValidationColorScheme extends SpecValidation<SpecColorScheme> {
 
         CustomSpectrum spectrum;
         try {
+            BufferedImage elementImage = screenshot.getSubimage(area.getLeft(), area.getTop(), area.getWidth(), area.getHeight());
             spectrum = Rainbow4J.readCustomSpectrum(
-                    pageImage, classifiers,
-                    new Rectangle(area.getLeft(), area.getTop(), area.getWidth(), area.getHeight()),
+                    elementImage, classifiers,
+                    new Rectangle(0, 0, area.getWidth(), area.getHeight()),
                     colorTolerance
             );
         } catch (Exception e) {
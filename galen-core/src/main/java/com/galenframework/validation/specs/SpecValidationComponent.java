@@ -23,7 +23,6 @@ import java.util.Map;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import com.galenframework.browser.Browser;
 import com.galenframework.speclang2.pagespec.PageSpecReader;
 import com.galenframework.specs.SpecComponent;
 import com.galenframework.validation.*;
@@ -108,8 +107,7 @@ public class SpecValidationComponent extends SpecValidation<SpecComponent> {
 
         Page framePage = page.createFrameContext(mainObject);
 
-        List<ValidationResult> results = checkInsidePage(pageValidation.getBrowser(), framePage, spec,
-                pageValidation.getSectionFilter(), pageValidation.getValidationListener());
+        List<ValidationResult> results = checkInsidePage(pageValidation, framePage, spec);
 
         if (spec.isFrame()) {
             page.switchToParentFrame();
@@ -119,28 +117,50 @@ public class SpecValidationComponent extends SpecValidation<SpecComponent> {
     }
 
 
-    private List<ValidationResult> checkInsidePage(Browser browser, Page page, SpecComponent spec,
-                                                   SectionFilter sectionFilter, ValidationListener validationListener) {
-        PageSpecReader pageSpecReader = new PageSpecReader();
+    private List<ValidationResult> checkInsidePage(PageValidation pageValidation, Page page, SpecComponent spec) {
+        SectionFilter sectionFilter = pageValidation.getSectionFilter();
+        ValidationListener validationListener = pageValidation.getValidationListener();
 
-        PageSpec componentPageSpec;
-        try {
-            componentPageSpec = pageSpecReader.read(spec.getSpecPath(),
-                    page, sectionFilter, spec.getProperties(),
-                    wrapJsVariables(spec.getJsVariables(), spec.getArguments()),
-                    NO_OBJECTS
-            );
-        } catch (IOException e) {
-            throw new RuntimeException("Could not read spec " + spec.getSpecPath(), e);
-        }
+        PageSpec componentPageSpec = readComponentPageSpec(pageValidation, page, spec);
+
+        PageValidation componentPageValidation = new PageValidation(pageValidation.getBrowser(), page, componentPageSpec, validationListener, sectionFilter);
+        componentPageValidation.setComponentPageSpecs(pageValidation.getComponentPageSpecs());
 
         SectionValidation sectionValidation = new SectionValidation(componentPageSpec.getSections(),
-                new PageValidation(browser, page, componentPageSpec, validationListener, sectionFilter),
+                componentPageValidation,
                 validationListener);
 
         return sectionValidation.check();
     }
 
+    /**
+     * Reads the component spec only once for all objects it is applied to, unless it fetches anything from the page
+     * (e.g. counts objects or checks their visibility), in which case it has to be read for every object
+     */
+    private PageSpec readComponentPageSpec(PageValidation pageValidation, Page page, SpecComponent spec) {
+        Map<String, Object> jsVariables = wrapJsVariables(spec.getJsVariables(), spec.getArguments());
+        List<Object> templateKey = asList(spec.getSpecPath(), spec.getProperties(), jsVariables);
+
+        PageSpec componentPageSpec = pageValidation.getComponentPageSpecs().get(templateKey);
+        if (componentPageSpec == null) {
+            PageSpecReader pageSpecReader = new PageSpecReader();
+            try {
+                componentPageSpec = pageSpecReader.read(spec.getSpecPath(),
+                        page, pageValidation.getSectionFilter(), spec.getProperties(),
+                        jsVariables,
+                        NO_OBJECTS
+                );
+            } catch (IOException e) {
+                throw new RuntimeException("Could not read spec " + spec.getSpecPath(), e);
+            }
+
+            if (!pageSpecReader.isPageUsed()) {
+                pageValidation.getComponentPageSpecs().put(templateKey, componentPageSpec);
+            }
+        }
+        return componentPageSpec;
+    }
+
     private Map<String, Object> wrapJsVariables(Map<String, Object> jsVariables, Map<String, Object> arguments) {
         Map<String, Object> newJsVariables = new HashMap<>();
         if (jsVariables != null) {
@@ -158,8 +178,7 @@ public class SpecValidationComponent extends SpecValidation<SpecComponent> {
         Locator mainObjectLocator = pageValidation.getPageSpec().getObjectLocator(objectName);
         Page objectContextPage = pageValidation.getPage().createObjectContextPage(mainObjectLocator);
 
-        return checkInsidePage(pageValidation.getBrowser(), objectContextPage, spec,
-                pageValidation.getSectionFilter(), pageValidation.getValidationListener());
+        return checkInsidePage(pageValidation, objectContextPage, spec);
     }
 
     private Predicate<ValidationResult> byOnlyWarn() {
@@ -26,6 +26,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 import com.galenframework.page.Rect;
+import com.galenframework.page.Screenshot;
 import com.galenframework.specs.SpecImage;
 import com.galenframework.validation.*;
 import com.galenframework.config.GalenConfig;
@@ -66,7 +67,7 @@ public class SpecValidationImage extends SpecValidation<SpecImage> {
         PageElement pageElement = pageValidation.findPageElement(objectName);
         checkAvailability(pageElement, objectName);
 
-        final BufferedImage pageImage = pageValidation.getPage().getScreenshotImage();
+        final Screenshot screenshot = pageValidation.getPage().getScreenshot();
 
         int tolerance = GalenConfig.getConfig().getImageSpecDefaultTolerance();
 
@@ -76,13 +77,15 @@ public class SpecValidationImage extends SpecValidation<SpecImage> {
 
         ComparisonOptions options = new ComparisonOptions();
 
-        options.setIgnoreRegions(convertIgnoreObjectsToRegions(pageValidation, spec));
+        List<Rectangle> ignoreRegions = convertIgnoreObjectsToRegions(pageValidation, spec);
         options.setStretchToFit(spec.isStretch());
         options.setOriginalFilters(spec.getOriginalFilters());
         options.setSampleFilters(spec.getSampleFilters());
         options.setMapFilters(spec.getMapFilters());
         options.setTolerance(tolerance);
         options.setAnalyzeOffset(spec.getAnalyzeOffset());
+        options.setPyramidLevels(spec.getPyramidLevels());
+        options.setParallelism(GalenConfig.getConfig().getImageSpecParallelism());
 
         Rect elementArea = pageElement.getArea();
 
@@ -109,7 +112,7 @@ public class SpecValidationImage extends SpecValidation<SpecImage> {
             while (minCheck.difference > 0 && it.hasNext()) {
                 String imagePath = it.next();
 
-                ImageCheck imageCheck = checkImages(spec, pageImage, options, elementArea, imagePath);
+                ImageCheck imageCheck = checkImages(spec, screenshot, options, ignoreRegions, elementArea, imagePath);
                 if (imageCheck.difference <= minCheck.difference) {
                     minCheck = imageCheck;
                 }
@@ -170,8 +173,8 @@ public class SpecValidationImage extends SpecValidation<SpecImage> {
     }
 
 
-    private ImageCheck checkImages(SpecImage spec, BufferedImage pageImage, ComparisonOptions options, Rect elementArea, String imagePath)
-            throws ValidationErrorException {
+    private ImageCheck checkImages(SpecImage spec, Screenshot screenshot, ComparisonOptions options, List<Rectangle> ignoreRegions,
+                                   Rect elementArea, String imagePath) throws ValidationErrorException {
         BufferedImage sampleImage;
         try {
             InputStream stream = GalenUtils.findFileOrResourceAsStream(imagePath);
@@ -184,17 +187,33 @@ public class SpecValidationImage extends SpecValidation<SpecImage> {
         Rectangle sampleArea = spec.getSelectedArea() != null ? toRectangle(spec.getSelectedArea()) : new Rectangle(0, 0, sampleImage.getWidth(),
                 sampleImage.getHeight());
 
-        if (elementArea.getLeft() >= pageImage.getWidth() || elementArea.getTop() >= pageImage.getHeight()) {
+        int screenshotWidth = screenshot.getWidth();
+        int screenshotHeight = screenshot.getHeight();
+
+        if (elementArea.getLeft() >= screenshotWidth || elementArea.getTop() >= screenshotHeight) {
             throw new RuntimeException(String.format(
                     "The page element is located outside of the screenshot. (Element {x: %d, y: %d, w: %d, h: %d}, Screenshot {w: %d, h: %d})", elementArea.getLeft(),
-                    elementArea.getTop(), elementArea.getWidth(), elementArea.getHeight(), pageImage.getWidth(), pageImage.getHeight()));
+                    elementArea.getTop(), elementArea.getWidth(), elementArea.getHeight(), screenshotWidth, screenshotHeight));
         }
 
-        if (spec.isCropIfOutside() || isOnlyOnePixelOutsideScreenshot(elementArea, pageImage)) {
-            elementArea = cropElementAreaIfOutside(elementArea, pageImage.getWidth(), pageImage.getHeight());
+        if (spec.isCropIfOutside() || isOnlyOnePixelOutsideScreenshot(elementArea, screenshotWidth, screenshotHeight)) {
+            elementArea = cropElementAreaIfOutside(elementArea, screenshotWidth, screenshotHeight);
         }
 
-        ImageCompareResult result = Rainbow4J.compare(pageImage, sampleImage, toRectangle(elementArea), sampleArea, options);
+        // Only the element area together with pixels reachable by offset analysis is read from the screenshot
+        int margin = Math.max(0, options.getAnalyzeOffset()) + 1;
+        int regionLeft = Math.max(0, elementArea.getLeft() - margin);
+        int regionTop = Math.max(0, elementArea.getTop() - margin);
+        int regionRight = Math.max(regionLeft + 1, Math.min(screenshotWidth, elementArea.getLeft() + elementArea.getWidth() + margin));
+        int regionBottom = Math.max(regionTop + 1, Math.min(screenshotHeight, elementArea.getTop() + elementArea.getHeight() + margin));
+
+        BufferedImage pageImage = screenshot.getSubimage(regionLeft, regionTop, regionRight - regionLeft, regionBottom - regionTop);
+        options.setIgnoreRegions(translateRegions(ignoreRegions, -regionLeft, -regionTop));
+
+        Rectangle area = toRectangle(elementArea);
+        area.translate(-regionLeft, -regionTop);
+
+        ImageCompareResult result = Rainbow4J.compare(pageImage, sampleImage, area, sampleArea, options);
 
         double difference = 0.0;
         String errorMessage = null;
@@ -219,9 +238,19 @@ public class SpecValidationImage extends SpecValidation<SpecImage> {
         return new ImageCheck(imagePath, difference, result, errorMessage);
     }
 
-    private boolean isOnlyOnePixelOutsideScreenshot(Rect elementArea, BufferedImage pageImage) {
-        int dx = elementArea.getLeft() + elementArea.getWidth() - pageImage.getWidth();
-        int dy = elementArea.getTop() + elementArea.getHeight() - pageImage.getHeight();
+    private List<Rectangle> translateRegions(List<Rectangle> regions, int dx, int dy) {
+        List<Rectangle> translatedRegions = new LinkedList<>();
+        for (Rectangle region : regions) {
+            Rectangle translatedRegion = new Rectangle(region);
+            translatedRegion.translate(dx, dy);
+            translatedRegions.add(translatedRegion);
+        }
+        return translatedRegions;
+    }
+
+    private boolean isOnlyOnePixelOutsideScreenshot(Rect elementArea, int screenshotWidth, int screenshotHeight) {
+        int dx = elementArea.getLeft() + elementArea.getWidth() - screenshotWidth;
+        int dy = elementArea.getTop() + elementArea.getHeight() - screenshotHeight;
 
         return Math.max(dx, dy) == 1;
     }
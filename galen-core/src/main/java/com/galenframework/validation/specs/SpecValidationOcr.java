@@ -27,6 +27,7 @@ import com.galenframework.ocr.OcrResult;
 import com.galenframework.ocr.OcrService;
 import com.galenframework.page.PageElement;
 import com.galenframework.page.Rect;
+import com.galenframework.page.Screenshot;
 import com.galenframework.specs.SpecOcr;
 import com.galenframework.validation.PageValidation;
 import com.galenframework.validation.SpecValidation;
@@ -49,9 +50,19 @@ public class SpecValidationOcr extends SpecValidation<SpecOcr> {
         checkAvailability(mainObject, objectName);
         
         Rect area = mainObject.getArea();
-        BufferedImage img = pageValidation.getPage().getScreenshotImage();
+        Screenshot screenshot = pageValidation.getPage().getScreenshot();
+        if (area.getLeft() < 0 || area.getTop() < 0
+                || screenshot.getWidth() < area.getRight() || screenshot.getHeight() < area.getBottom()) {
+            throw new ValidationErrorException()
+                .withValidationObject(new ValidationObject(area, objectName))
+                .withMessage("Could not extract element image. Looks like it is located outside of screenshot area");
+        }
+
+        // only the element area is read, so that a mapped screenshot is not copied to java heap as a whole
+        BufferedImage img = screenshot.getSubimage(area.getLeft(), area.getTop(), area.getWidth(), area.getHeight());
 
-        OcrResult ocrResult = ocrService.findOcrText(img, area);
+        OcrResult ocrResult = ocrService.findOcrText(img, new Rect(0, 0, area.getWidth(), area.getHeight()));
+        ocrResult.setRect(area);
         if (ocrResult.getText() == null) {
             ocrResult.setText("");
         }
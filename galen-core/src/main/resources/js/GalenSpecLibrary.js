@@ -0,0 +1,30 @@
+/** This script is loaded once into the scope shared by all page specs **/
+/*jslint nomen: true*/
+/*global importClass, com*/
+
+importClass(com.galenframework.speclang2.pagespec.PageRule);
+importClass(com.galenframework.parser.StructNode);
+
+function _readDataFromProperties(properties) {
+    "use strict";
+    var data = {},
+        it,
+        entry,
+        value;
+
+    if (properties !== null) {
+        it = properties.entrySet().iterator();
+
+        while (it.hasNext()) {
+            entry = it.next();
+            if (entry.getValue() !== null) {
+                value = entry.getValue().toString();
+            } else {
+                value = null;
+            }
+            data[entry.getKey()] = value;
+        }
+    }
+
+    return data;
+}
@@ -1,33 +1,6 @@
 /** This script is used in PageSpecReader **/
 /*jslint nomen: true*/
-/*global importClass, com, PageRule, StructNode, _pageSpecHandler*/
-
-importClass(com.galenframework.speclang2.pagespec.PageRule);
-importClass(com.galenframework.parser.StructNode);
-
-function _readDataFromProperties(properties) {
-    "use strict";
-    var data = {},
-        it,
-        entry,
-        value;
-
-    if (properties !== null) {
-        it = properties.entrySet().iterator();
-
-        while (it.hasNext()) {
-            entry = it.next();
-            if (entry.getValue() !== null) {
-                value = entry.getValue().toString();
-            } else {
-                value = null;
-            }
-            data[entry.getKey()] = value;
-        }
-    }
-
-    return data;
-}
+/*global PageRule, StructNode, _readDataFromProperties, _pageSpecHandler*/
 
 /*jslint unparam: true*/
 this.rule = function (ruleExpression, callback) {
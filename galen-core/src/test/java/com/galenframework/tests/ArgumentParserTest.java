@@ -27,6 +27,7 @@ import java.util.List;
 
 import com.galenframework.actions.*;
 import com.galenframework.runner.CombinedListener;
+import com.galenframework.runner.TestShard;
 import com.galenframework.suite.actions.mutation.MutationOptions;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.lang3.ArrayUtils;
@@ -157,6 +158,15 @@ public class ArgumentParserTest {
                             .setExcludedTags(EMPTY_TAGS)
                             .setConfig("/some/config")
             },
+
+            {args("test", "mysuite", "--shard", "2/8"),
+                    new GalenActionTestArguments()
+                            .setPaths(asList("mysuite"))
+                            .setRecursive(false)
+                            .setIncludedTags(EMPTY_TAGS)
+                            .setExcludedTags(EMPTY_TAGS)
+                            .setShard(new TestShard(2, 8))
+            },
         };
     }
 
@@ -20,6 +20,7 @@ import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.is;
 
 import com.galenframework.browser.Browser;
+import com.galenframework.browser.BrowserPool;
 import com.galenframework.browser.SeleniumBrowser;
 import com.galenframework.components.mocks.driver.MockedDriver;
 import com.galenframework.components.mocks.driver.MockedDriverElement;
@@ -50,5 +51,21 @@ public class GalenPageActionRunJavascriptTest {
                 webElement.getMockedEvents(),
                 hasItems("#sendKeys: This was typed by a selenium from javascript text from imported script"));
     }
-    
+
+    @Test public void shouldProvide_driver_ofPooledBrowser() throws Exception {
+        MockedDriver driver = new MockedDriver();
+        Browser browser = new BrowserPool(0, 60000, 10, "").lease("mocked", () -> new SeleniumBrowser(driver));
+        browser.load(TEST_URL);
+
+        GalenPageActionRunJavascript action = new GalenPageActionRunJavascript(getClass().getResource("/scripts/to-run-1.js").getFile());
+        action.setJsonArguments("{prefix: 'This was'}");
+
+        action.execute(new TestReport(), browser, new GalenPageTest(), null);
+
+        MockedDriverElement webElement = (MockedDriverElement) driver.findElement(By.id("search-query"));
+        assertThat("Mocked events of element should be",
+                webElement.getMockedEvents(),
+                hasItems("#sendKeys: This was typed by a selenium from javascript text from imported script"));
+    }
+
 }
@@ -17,6 +17,7 @@ package com.galenframework.tests.api;
 
 import com.galenframework.api.GalenPageDump;
 import com.galenframework.components.DummyCompleteListener;
+import com.galenframework.components.JsTestRegistry;
 import com.galenframework.page.Rect;
 import com.galenframework.reports.model.LayoutMeta;
 import com.galenframework.specs.Spec;
@@ -93,6 +94,30 @@ public class GalenTest {
     }
 
 
+    @Test
+    public void checkLayout_shouldRead_pageIndependentComponentSpec_onlyOnce() throws IOException {
+        JsTestRegistry.get().clear();
+        WebDriver driver = new MockedDriver();
+        driver.get("/mocks/pages/component-reuse-page.json");
+
+        LayoutReport layoutReport = Galen.checkLayout(driver, "/specs/galen4j/component-reuse.gspec", new SectionFilter(), new Properties(), null, null);
+
+        assertThat(layoutReport.errors(), is(0));
+        assertThat(JsTestRegistry.get().getEvents(), contains("static component read"));
+    }
+
+    @Test
+    public void checkLayout_shouldRead_pageDependentComponentSpec_forEveryObject() throws IOException {
+        JsTestRegistry.get().clear();
+        WebDriver driver = new MockedDriver();
+        driver.get("/mocks/pages/component-reuse-page.json");
+
+        LayoutReport layoutReport = Galen.checkLayout(driver, "/specs/galen4j/component-reuse-page-dependent.gspec", new SectionFilter(), new Properties(), null, null);
+
+        assertThat(layoutReport.errors(), is(0));
+        assertThat(JsTestRegistry.get().getEvents(), contains("dynamic component read", "dynamic component read", "dynamic component read"));
+    }
+
     @Test
     public void dumpPage_shouldGenereate_htmlJsonReport_andStorePicturesOfElements() throws IOException {
         String pageDumpPath = Files.createTempDir().getAbsolutePath() + "/pagedump";
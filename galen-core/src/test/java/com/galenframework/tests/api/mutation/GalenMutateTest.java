@@ -17,19 +17,31 @@ package com.galenframework.tests.api.mutation;
 
 import com.galenframework.api.mutation.GalenMutate;
 import com.galenframework.browser.SeleniumBrowser;
+import com.galenframework.browser.mutation.MutationRecordBrowser;
+import com.galenframework.components.MockedBrowser;
 import com.galenframework.components.mocks.driver.MockedDriver;
+import com.galenframework.components.validation.MockedPage;
+import com.galenframework.components.validation.MockedPageElement;
+import com.galenframework.config.GalenConfig;
+import com.galenframework.config.GalenProperty;
+import com.galenframework.page.Page;
+import com.galenframework.page.PageElement;
+import com.galenframework.specs.page.Locator;
 import com.galenframework.suite.actions.mutation.MutationOptions;
 import com.galenframework.suite.actions.mutation.MutationReport;
 import com.galenframework.validation.ValidationListener;
 import org.openqa.selenium.WebDriver;
 import org.testng.annotations.Test;
 
+import java.awt.Dimension;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Properties;
 
 import static java.util.Collections.emptyList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.is;
 
 public class GalenMutateTest {
@@ -111,4 +123,51 @@ public class GalenMutateTest {
         ));
     }
 
+    @Test
+    public void should_give_sameResults_whenMutations_areTested_inSingleThread() throws IOException {
+        GalenConfig.getConfig().setProperty(GalenProperty.MUTATION_PARALLELISM, "1");
+        try {
+            WebDriver driver = new MockedDriver();
+            driver.get("/mocks/pages/mutation-sample-page.json");
+
+            MutationReport mutationReport = GalenMutate.checkAllMutations(new SeleniumBrowser(driver), "/specs/mutation.gspec",
+                emptyList(), emptyList(), new MutationOptions(), new Properties(), NO_VALIDATION_LISTENER);
+
+            assertThat("amount of passed mutations", mutationReport.getTotalPassed(), is(56));
+            assertThat("amount of failed mutations", mutationReport.getTotalFailed(), is(4));
+            assertThat("All failed mutations", mutationReport.allFailedMutations(), contains(
+                "container: increase height by 5px",
+                "container: decrease height by 5px",
+                "menu.item-3: increase width by 5px",
+                "menu.item-3: decrease width by 5px"
+            ));
+        } finally {
+            GalenConfig.getConfig().setProperty(GalenProperty.MUTATION_PARALLELISM, "0");
+        }
+    }
+
+    @Test
+    public void recordBrowser_shouldRecord_elementsRead_onlyWhileRecording() {
+        HashMap<String, PageElement> elements = new HashMap<>();
+        elements.put("container", new MockedPageElement(0, 0, 1000, 800));
+        elements.put("header", new MockedPageElement(0, 0, 1000, 60));
+        MockedPage mockedPage = new MockedPage(elements) {
+            @Override
+            public PageElement getSpecialObject(String objectName) {
+                return new MockedPageElement(0, 0, 1024, 768);
+            }
+        };
+        MutationRecordBrowser browser = new MutationRecordBrowser(new MockedBrowser("/", new Dimension(1024, 768), mockedPage));
+        Page page = browser.getPage();
+
+        page.getObject("container", Locator.css("#container"));
+        browser.startRecordingReadElements();
+        page.getObject("header", Locator.css("#header"));
+        page.getSpecialObject("viewport");
+
+        assertThat(browser.stopRecordingReadElements(), containsInAnyOrder("header", "viewport"));
+        assertThat(browser.stopRecordingReadElements().size(), is(0));
+        assertThat(browser.getRecordedElements().keySet(), containsInAnyOrder("container", "header", "viewport"));
+    }
+
 }
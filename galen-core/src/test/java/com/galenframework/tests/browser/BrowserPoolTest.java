@@ -0,0 +1,173 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.tests.browser;
+
+import com.galenframework.browser.BrowserPool;
+import com.galenframework.browser.PooledBrowser;
+import com.galenframework.browser.SeleniumBrowser;
+import com.galenframework.components.mocks.driver.MockedDriver;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.WebDriverException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class BrowserPoolTest {
+    private static final int NO_LIMIT = 0;
+    private static final long ONE_MINUTE = 60000;
+    private static final String NO_RESET_URL = "";
+
+    private final List<TrackedDriver> openedDrivers = new LinkedList<>();
+
+    @BeforeMethod
+    public void clearOpenedDrivers() {
+        openedDrivers.clear();
+    }
+
+    @Test
+    public void shouldReuse_returnedBrowsers_afterCleaningThem() {
+        BrowserPool pool = new BrowserPool(NO_LIMIT, ONE_MINUTE, 10, NO_RESET_URL);
+
+        PooledBrowser browser = pool.lease("chrome", this::openBrowser);
+        browser.quit();
+        PooledBrowser reusedBrowser = pool.lease("chrome", this::openBrowser);
+
+        assertThat(reusedBrowser.getOrigin(), is(sameInstance(browser.getOrigin())));
+        assertThat(reusedBrowser.getLeases(), is(2));
+        assertThat(openedDrivers.size(), is(1));
+        assertThat(openedDrivers.get(0).quits, is(0));
+        assertThat(openedDrivers.get(0).getAllExecutedJavascript(), contains(containsString("localStorage.clear()")));
+    }
+
+    @Test
+    public void shouldRestore_originalWindowSize_ofReturnedBrowsers() {
+        BrowserPool pool = new BrowserPool(NO_LIMIT, ONE_MINUTE, 10, NO_RESET_URL);
+
+        PooledBrowser browser = pool.lease("chrome", this::openBrowser);
+        openedDrivers.get(0).manage().window().setSize(new Dimension(400, 300));
+        browser.quit();
+        PooledBrowser reusedBrowser = pool.lease("chrome", this::openBrowser);
+
+        assertThat(reusedBrowser.getScreenSize(), is(new java.awt.Dimension(1024, 768)));
+    }
+
+    @Test
+    public void shouldNotShare_browsers_betweenDifferentKeys() {
+        BrowserPool pool = new BrowserPool(NO_LIMIT, ONE_MINUTE, 10, NO_RESET_URL);
+
+        pool.lease("chrome", this::openBrowser).quit();
+        PooledBrowser browser = pool.lease("firefox", this::openBrowser);
+
+        assertThat(browser.getLeases(), is(1));
+        assertThat(openedDrivers.size(), is(2));
+        assertThat(pool.countIdleBrowsers("chrome"), is(1));
+    }
+
+    @Test
+    public void shouldClose_browsers_whichWereLeased_tooManyTimes() {
+        BrowserPool pool = new BrowserPool(NO_LIMIT, ONE_MINUTE, 2, NO_RESET_URL);
+
+        pool.lease("chrome", this::openBrowser).quit();
+        pool.lease("chrome", this::openBrowser).quit();
+        pool.lease("chrome", this::openBrowser).quit();
+
+        assertThat(openedDrivers.size(), is(2));
+        assertThat(openedDrivers.get(0).quits, is(1));
+        assertThat(openedDrivers.get(1).quits, is(0));
+    }
+
+    @Test
+    public void shouldClose_expiredBrowsers() {
+        BrowserPool pool = new BrowserPool(NO_LIMIT, -1, 10, NO_RESET_URL);
+
+        pool.lease("chrome", this::openBrowser).quit();
+        pool.lease("chrome", this::openBrowser);
+
+        assertThat(openedDrivers.size(), is(2));
+        assertThat(openedDrivers.get(0).quits, is(1));
+    }
+
+    @Test
+    public void shouldReplace_browsers_whichStoppedResponding() {
+        BrowserPool pool = new BrowserPool(NO_LIMIT, ONE_MINUTE, 10, NO_RESET_URL);
+
+        pool.lease("chrome", this::openBrowser).quit();
+        openedDrivers.get(0).dead = true;
+        PooledBrowser browser = pool.lease("chrome", this::openBrowser);
+
+        assertThat(browser.getLeases(), is(1));
+        assertThat(openedDrivers.size(), is(2));
+        assertThat(openedDrivers.get(0).quits, is(1));
+    }
+
+    @Test
+    public void shouldWait_forReturnedBrowser_whenLimitIsReached() throws Exception {
+        BrowserPool pool = new BrowserPool(1, ONE_MINUTE, 10, NO_RESET_URL);
+
+        PooledBrowser browser = pool.lease("chrome", this::openBrowser);
+        CompletableFuture<PooledBrowser> nextBrowser = CompletableFuture.supplyAsync(() -> pool.lease("chrome", this::openBrowser));
+
+        Thread.sleep(100);
+        assertThat(nextBrowser.isDone(), is(false));
+
+        browser.quit();
+
+        assertThat(nextBrowser.get(5, TimeUnit.SECONDS).getOrigin(), is(sameInstance(browser.getOrigin())));
+        assertThat(openedDrivers.size(), is(1));
+    }
+
+    @Test
+    public void shouldNotReturn_browserTwice() {
+        BrowserPool pool = new BrowserPool(NO_LIMIT, ONE_MINUTE, 10, NO_RESET_URL);
+
+        PooledBrowser browser = pool.lease("chrome", this::openBrowser);
+        browser.quit();
+        browser.quit();
+
+        assertThat(pool.countIdleBrowsers("chrome"), is(1));
+    }
+
+    private synchronized SeleniumBrowser openBrowser() {
+        TrackedDriver driver = new TrackedDriver();
+        openedDrivers.add(driver);
+        return new SeleniumBrowser(driver);
+    }
+
+    private static class TrackedDriver extends MockedDriver {
+        private volatile int quits = 0;
+        private volatile boolean dead = false;
+
+        @Override
+        public String getCurrentUrl() {
+            if (dead) {
+                throw new WebDriverException("Session is closed");
+            }
+            return super.getCurrentUrl();
+        }
+
+        @Override
+        public void quit() {
+            quits++;
+        }
+    }
+}
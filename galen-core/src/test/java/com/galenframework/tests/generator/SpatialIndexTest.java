@@ -0,0 +1,81 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.tests.generator;
+
+import com.galenframework.generator.SpatialIndex;
+import com.galenframework.page.Rect;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class SpatialIndexTest {
+
+    @Test
+    public void should_findFirstContainingArea_inOrderOfIndexedList() {
+        Rect item = new Rect(10, 10, 20, 20);
+        Rect otherArea = new Rect(100, 100, 50, 50);
+        Rect container = new Rect(10, 10, 30, 20);
+        Rect page = new Rect(0, 0, 1000, 1000);
+        SpatialIndex<Rect> index = new SpatialIndex<>(asList(item, otherArea, container, page), r -> r);
+
+        assertThat(index.findFirstContaining(item, r -> r != item), is(container));
+        assertThat(index.findFirstContaining(container, r -> r != container), is(page));
+        assertThat(index.findFirstContaining(page, r -> r != page), is(nullValue()));
+    }
+
+    @Test
+    public void should_findFirstContainingArea_sameAsFullScan() {
+        Random random = new Random(1);
+        List<Rect> areas = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            areas.add(new Rect(random.nextInt(1000), random.nextInt(1000), random.nextInt(300), random.nextInt(300)));
+        }
+        SpatialIndex<Rect> index = new SpatialIndex<>(areas, r -> r);
+
+        for (Rect area : areas) {
+            Rect expected = null;
+            for (Rect other : areas) {
+                if (other != area && other.getLeft() <= area.getLeft() && other.getTop() <= area.getTop()
+                        && other.getRight() >= area.getRight() && other.getBottom() >= area.getBottom()) {
+                    expected = other;
+                    break;
+                }
+            }
+            assertThat(index.findFirstContaining(area, r -> r != area), is(expected));
+        }
+    }
+
+    @Test
+    public void should_findClosestArea_toTheRight() {
+        Rect first = new Rect(100, 0, 10, 10);
+        Rect second = new Rect(50, 0, 10, 10);
+        Rect sameDistanceAsSecond = new Rect(50, 20, 10, 10);
+        Rect below = new Rect(20, 100, 10, 10);
+        SpatialIndex<Rect> index = new SpatialIndex<>(asList(first, second, sameDistanceAsSecond, below), r -> r);
+
+        assertThat(index.findClosest(b -> b.right >= 30 && b.top < 40 && b.bottom > 0 ? Math.max(b.left, 30) - 30 : -1, r -> true),
+                is(second));
+        assertThat(index.findClosest(b -> b.right >= 30 && b.top < 40 && b.bottom > 0 ? Math.max(b.left, 30) - 30 : -1, r -> r != second),
+                is(sameDistanceAsSecond));
+    }
+}
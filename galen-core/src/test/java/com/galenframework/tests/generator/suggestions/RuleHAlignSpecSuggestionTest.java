@@ -68,4 +68,18 @@ public class RuleHAlignSpecSuggestionTest {
         assertThat(statements.size(), is(1));
         assertThat(statements.get(0).getStatement(), is("| menu.item-1, menu.item-2, some-button are aligned horizontally next to each other with 0px margin"));
     }
+
+    @Test
+    public void should_findSequences_forWhichRuleCouldHold() {
+        int[] ends = new RuleHAlignSpecSuggestion().findSequenceEnds(new PageItemNode[]{
+            new PageItemNode(new PageItem("item-1", new Rect(0, 0, 100, 30))),
+            new PageItemNode(new PageItem("item-2", new Rect(110, 0, 100, 30))),
+            new PageItemNode(new PageItem("item-3", new Rect(220, 0, 100, 30))),
+            new PageItemNode(new PageItem("item-4", new Rect(340, 0, 100, 30))),
+            new PageItemNode(new PageItem("item-5", new Rect(460, 0, 100, 30))),
+            new PageItemNode(new PageItem("button", new Rect(570, 0, 100, 40)))
+        });
+
+        assertThat(ends, is(new int[]{2, 2, 4, 4, 4, 5}));
+    }
 }
@@ -16,11 +16,17 @@
 package com.galenframework.tests.javascript;
 
 import com.galenframework.components.JsTestRegistry;
+import com.galenframework.javascript.CompiledScriptCache;
 import com.galenframework.javascript.GalenJsExecutor;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
 import org.testng.annotations.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 
 public class GalenJsExecutorTest {
 
@@ -35,5 +41,59 @@ public class GalenJsExecutorTest {
                 "Loaded script from 2 file"));
     }
 
+    @Test
+    public void compiledScripts_shouldBeShared_betweenExecutors_withTheirOwnScopes() {
+        GalenJsExecutor first = new GalenJsExecutor();
+        GalenJsExecutor second = new GalenJsExecutor();
+        first.putObject("x", 2);
+        second.putObject("x", 5);
+
+        assertThat(first.evalStrictToString("x * 10"), is("20"));
+        assertThat(second.evalStrictToString("x * 10"), is("50"));
+    }
+
+    @Test
+    public void compiledScriptCache_shouldCompile_sameSource_onlyOnce_perOptimizationLevel() {
+        Context context = Context.enter();
+        try {
+            context.setOptimizationLevel(-1);
+            Script script = CompiledScriptCache.compile(context, "var a = 1; a + 1");
+            assertThat(CompiledScriptCache.compile(context, "var a = 1; a + 1"), is(sameInstance(script)));
+
+            context.setOptimizationLevel(0);
+            assertThat(CompiledScriptCache.compile(context, "var a = 1; a + 1"), is(not(sameInstance(script))));
+        } finally {
+            Context.exit();
+        }
+    }
+
+    @Test
+    public void executorsWithSharedScope_shouldKeep_theirDeclarationsAndImports_separately() {
+        GalenJsExecutor first = GalenJsExecutor.withSharedScope("GalenSpecLibrary.js");
+        GalenJsExecutor second = GalenJsExecutor.withSharedScope("GalenSpecLibrary.js");
 
+        first.eval("var name = 'first'; importClass(java.util.ArrayList);");
+        second.eval("var name = 'second';");
+
+        assertThat(first.evalStrictToString("name"), is("first"));
+        assertThat(second.evalStrictToString("name"), is("second"));
+        assertThat(first.evalStrictToString("typeof ArrayList"), is("function"));
+        assertThat(second.evalStrictToString("typeof ArrayList"), is("undefined"));
+
+        assertThat(second.evalStrictToString("typeof By"), is("function"));
+        assertThat(second.evalStrictToString("typeof _readDataFromProperties"), is("function"));
+        assertThat(second.evalStrictToString("new StructNode('some text').getName()"), is("some text"));
+    }
+
+    @Test
+    public void executorsWithSharedScope_shouldAllow_toModifyStandardObjects_separately() {
+        GalenJsExecutor first = GalenJsExecutor.withSharedScope("GalenSpecLibrary.js");
+        GalenJsExecutor second = GalenJsExecutor.withSharedScope("GalenSpecLibrary.js");
+
+        first.eval("String.prototype.shout = function () { return this.toUpperCase() + '!'; };");
+
+        assertThat(first.evalStrictToString("'hello'.shout()"), is("HELLO!"));
+        assertThat(second.evalStrictToString("typeof 'hello'.shout"), is("undefined"));
+        assertThat(GalenJsExecutor.withSharedScope("GalenSpecLibrary.js").evalStrictToString("typeof ''.shout"), is("undefined"));
+    }
 }
@@ -0,0 +1,97 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.tests.page;
+
+import com.galenframework.page.MappedImage;
+import com.galenframework.page.Screenshot;
+import com.galenframework.rainbow4j.Rainbow4J;
+import org.testng.annotations.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class MappedImageTest {
+
+    @Test
+    public void shouldStitchStrips_andReadAreas() throws IOException {
+        MappedImage mappedImage = new MappedImage(40, 100);
+        mappedImage.drawImage(strip(40, 30, 0), 0);
+        mappedImage.drawImage(strip(40, 30, 30), 30);
+        mappedImage.drawImage(strip(40, 30, 60), 60);
+        mappedImage.drawImage(strip(40, 30, 90), 90);
+
+        BufferedImage area = mappedImage.getSubimage(5, 25, 10, 20);
+
+        assertThat(area.getWidth(), is(10));
+        assertThat(area.getHeight(), is(20));
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 10; x++) {
+                assertThat(area.getRGB(x, y), is(expectedColor(x + 5, y + 25)));
+            }
+        }
+    }
+
+    @Test
+    public void shouldWritePng_rowByRow() throws IOException {
+        MappedImage mappedImage = new MappedImage(40, 50);
+        mappedImage.drawImage(strip(40, 50, 0), 0);
+
+        File file = File.createTempFile("mapped-image", ".png");
+        file.deleteOnExit();
+        mappedImage.writePng(file);
+
+        BufferedImage image = Rainbow4J.loadImage(file.getAbsolutePath());
+        assertThat(image.getWidth(), is(40));
+        assertThat(image.getHeight(), is(50));
+        for (int y = 0; y < 50; y++) {
+            for (int x = 0; x < 40; x++) {
+                assertThat(image.getRGB(x, y), is(expectedColor(x, y)));
+            }
+        }
+    }
+
+    @Test
+    public void screenshot_shouldReadAreas_fromMappedImage() throws IOException {
+        MappedImage mappedImage = new MappedImage(40, 60);
+        mappedImage.drawImage(strip(40, 60, 0), 0);
+        Screenshot screenshot = Screenshot.fromMappedImage(mappedImage);
+
+        assertThat(screenshot.getWidth(), is(40));
+        assertThat(screenshot.getHeight(), is(60));
+        assertThat(screenshot.getSubimage(10, 50, 5, 5).getRGB(2, 3), is(expectedColor(12, 53)));
+        assertThat(screenshot.getFile().exists(), is(true));
+        assertThat(screenshot.getImage(), is(sameInstance(screenshot.getImage())));
+    }
+
+    private BufferedImage strip(int width, int height, int top) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, expectedColor(x, top + y));
+            }
+        }
+        return image;
+    }
+
+    private int expectedColor(int x, int y) {
+        return 0xff000000 | (x * 5) << 16 | (y * 2) << 8 | ((x + y) & 0xff);
+    }
+}
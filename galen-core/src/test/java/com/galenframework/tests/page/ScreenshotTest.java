@@ -0,0 +1,99 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.tests.page;
+
+import com.galenframework.components.validation.MockedPage;
+import com.galenframework.page.Screenshot;
+import com.galenframework.rainbow4j.Rainbow4J;
+import com.galenframework.reports.model.FileTempStorage;
+import org.testng.annotations.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ScreenshotTest {
+
+    @Test
+    public void shouldKeepImage_inMemory_andWriteFile_onlyOnce() throws Exception {
+        BufferedImage image = new BufferedImage(30, 20, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(5, 7, 0xff0000);
+        Screenshot screenshot = Screenshot.fromImage(image);
+
+        assertThat(screenshot.getImage(), is(sameInstance(image)));
+
+        Future<File> file = screenshot.saveAsync();
+        assertThat(screenshot.saveAsync(), is(sameInstance(file)));
+        assertThat(screenshot.getFile(), is(file.get()));
+
+        BufferedImage savedImage = Rainbow4J.loadImage(file.get().getAbsolutePath());
+        assertThat(savedImage.getWidth(), is(30));
+        assertThat(savedImage.getHeight(), is(20));
+        assertThat(savedImage.getRGB(5, 7) & 0xffffff, is(0xff0000));
+    }
+
+    @Test
+    public void shouldDecodeImage_fromProvidedFile() throws IOException {
+        File file = new File(getClass().getResource("/color-scheme-image-1.png").getFile());
+        Screenshot screenshot = Screenshot.fromFile(file);
+
+        assertThat(screenshot.getFile(), is(file));
+        BufferedImage image = screenshot.getImage();
+        assertThat(image, is(notNullValue()));
+        assertThat(screenshot.getImage(), is(sameInstance(image)));
+    }
+
+    @Test
+    public void defaultScreenshot_ofPage_shouldUse_itsScreenshotImage_andFile() throws IOException {
+        File file = new File(getClass().getResource("/color-scheme-image-1.png").getFile());
+        BufferedImage image = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB);
+        MockedPage page = new MockedPage(new HashMap<>(), image) {
+            @Override
+            public File getScreenshotFile() {
+                return file;
+            }
+        };
+
+        Screenshot screenshot = page.getScreenshot();
+
+        assertThat(screenshot.getImage(), is(sameInstance(image)));
+        assertThat(screenshot.getFile(), is(file));
+    }
+
+    @Test
+    public void defaultScreenshot_ofPage_shouldWriteImage_whenPageHasNoScreenshotFile() throws IOException {
+        Screenshot screenshot = new MockedPage(new HashMap<>(), new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB)).getScreenshot();
+
+        assertThat(Rainbow4J.loadImage(screenshot.getFile().getAbsolutePath()).getWidth(), is(10));
+        assertThat(new MockedPage(new HashMap<>()).getScreenshot(), is(nullValue()));
+    }
+
+    @Test
+    public void fileStorage_shouldWaitForPendingFiles() throws IOException {
+        Screenshot screenshot = Screenshot.fromImage(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB));
+        FileTempStorage storage = new FileTempStorage("test");
+
+        String name = storage.registerFile("screenshot.png", screenshot.saveAsync());
+
+        assertThat(storage.getFiles().get(name), is(screenshot.getFile()));
+        assertThat(storage.getFiles().get(name).exists(), is(true));
+    }
+}
@@ -0,0 +1,167 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.tests.page;
+
+import com.galenframework.api.Galen;
+import com.galenframework.api.PageDump;
+import com.galenframework.components.validation.MockedPage;
+import com.galenframework.components.validation.MockedPageElement;
+import com.galenframework.config.GalenConfig;
+import com.galenframework.config.GalenProperty;
+import com.galenframework.page.PageElement;
+import com.galenframework.page.snapshot.SnapshotPage;
+import com.galenframework.reports.model.LayoutReport;
+import com.galenframework.speclang2.pagespec.SectionFilter;
+import com.galenframework.specs.page.Locator;
+import com.galenframework.specs.Spec;
+import com.galenframework.specs.page.PageSpec;
+import com.galenframework.validation.*;
+import com.google.common.io.Files;
+import org.testng.annotations.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class SnapshotPageTest {
+
+    @Test
+    public void shouldCapture_onlyValues_neededForSpecs() {
+        SnapshotPage snapshot = SnapshotPage.capture(createPage(), createPageSpec());
+
+        PageElement header = snapshot.getObject("header", null);
+        assertThat(header.getArea().toIntArray(), is(new int[]{10, 20, 100, 30}));
+        assertThat(header.isVisible(), is(true));
+        assertThat(header.getText(), is("Welcome"));
+        assertThat(header.getCssProperty("color"), is("red"));
+
+        assertThat(snapshot.getPageDump().getItems().get("menu").getText(), is(nullValue()));
+        assertThat(snapshot.getObject("unknown", null).isPresent(), is(false));
+        assertThat(snapshot.getScreenshot().getWidth(), is(200));
+    }
+
+    @Test(expectedExceptions = RuntimeException.class,
+            expectedExceptionsMessageRegExp = "Text of object \"menu\" was not captured in page snapshot")
+    public void shouldFail_whenText_wasNotCaptured() {
+        SnapshotPage.capture(createPage(), createPageSpec()).getObject("menu", null).getText();
+    }
+
+    @Test
+    public void shouldReturn_absentSpecialObjects_whenTheyWereNotCaptured() {
+        PageDump pageDump = new PageDump();
+        pageDump.addElement(new PageDump.Element("header", new int[]{10, 20, 100, 30}));
+        SnapshotPage snapshot = new SnapshotPage(pageDump, null);
+
+        assertThat(snapshot.getSpecialObject("screen").isPresent(), is(false));
+        assertThat(snapshot.getSpecialObject("viewport").isPresent(), is(false));
+        assertThat(snapshot.getSpecialObject("header").getArea().toIntArray(), is(new int[]{10, 20, 100, 30}));
+    }
+
+    @Test
+    public void shouldCheckLayout_againstSnapshot_loadedFromDisk() throws IOException {
+        PageSpec pageSpec = createPageSpec();
+        File folder = Files.createTempDir();
+        SnapshotPage.capture(createPage(), pageSpec).save(folder);
+
+        SnapshotPage snapshot = SnapshotPage.load(folder);
+        assertThat(snapshot.getTitle(), is("Test page"));
+        assertThat(snapshot.getObject("menu", null).getArea().toIntArray(), is(new int[]{10, 60, 100, 40}));
+
+        LayoutReport layoutReport = Galen.checkLayout(snapshot, pageSpec,
+                new SectionFilter(Collections.emptyList(), Collections.emptyList()), null);
+
+        assertThat(layoutReport.errors(), is(0));
+        assertThat(layoutReport.getValidationErrorResults(), is(empty()));
+    }
+
+    @Test
+    public void shouldCheckSpecs_inParallel_andReportThem_inSameOrder() throws IOException {
+        HashMap<String, PageElement> elements = new HashMap<>();
+        PageSpec pageSpec = new PageSpec();
+        for (int i = 0; i < 50; i++) {
+            String objectName = "item-" + i;
+            elements.put(objectName, new MockedPageElement(10, i * 20, 100 + i % 3, 20));
+            pageSpec.addObject(objectName, new Locator("css", "#" + objectName));
+            pageSpec.addSpec("Section " + i % 4, objectName, "width 100px");
+            pageSpec.addSpec("Section " + i % 4, objectName, "height 20px");
+        }
+        SnapshotPage snapshot = SnapshotPage.capture(new MockedPage(elements), pageSpec);
+
+        List<String> sequentialEvents = new LinkedList<>();
+        List<ValidationResult> sequentialResults = checkSections(snapshot, pageSpec, sequentialEvents);
+
+        List<String> parallelEvents = new LinkedList<>();
+        List<ValidationResult> parallelResults;
+        GalenConfig.getConfig().setProperty(GalenProperty.SPEC_VALIDATION_PARALLELISM, "4");
+        try {
+            parallelResults = checkSections(snapshot, pageSpec, parallelEvents);
+        } finally {
+            GalenConfig.getConfig().setProperty(GalenProperty.SPEC_VALIDATION_PARALLELISM, "1");
+        }
+
+        assertThat(sequentialResults.size(), is(33));
+        assertThat(parallelResults, is(sequentialResults));
+        assertThat(parallelEvents, is(sequentialEvents));
+    }
+
+    private List<ValidationResult> checkSections(SnapshotPage page, PageSpec pageSpec, List<String> events) {
+        ValidationListener listener = new CombinedValidationListener() {
+            @Override
+            public void onObject(PageValidation pageValidation, String objectName) {
+                events.add("object " + objectName);
+            }
+
+            @Override
+            public void onSpecError(PageValidation pageValidation, String objectName, Spec spec, ValidationResult result) {
+                events.add("error " + objectName + " " + spec.getOriginalText());
+            }
+
+            @Override
+            public void onSpecSuccess(PageValidation pageValidation, String objectName, Spec spec, ValidationResult result) {
+                events.add("success " + objectName + " " + spec.getOriginalText());
+            }
+        };
+        PageValidation pageValidation = new PageValidation(null, page, pageSpec, listener, null);
+        return new SectionValidation(pageSpec.getSections(), pageValidation, listener).check();
+    }
+
+    private PageSpec createPageSpec() {
+        PageSpec pageSpec = new PageSpec();
+        pageSpec.addObject("header", new Locator("css", "#header"));
+        pageSpec.addObject("menu", new Locator("css", "#menu"));
+        pageSpec.addSpec("Main", "header", "text is \"Welcome\"");
+        pageSpec.addSpec("Main", "header", "css color is \"red\"");
+        pageSpec.addSpec("Main", "menu", "below header 10px");
+        pageSpec.addSpec("Main", "menu", "width 100px");
+        return pageSpec;
+    }
+
+    private MockedPage createPage() {
+        HashMap<String, PageElement> elements = new HashMap<>();
+        elements.put("header", new MockedPageElement(10, 20, 100, 30).withText("Welcome").withCssProperty("color", "red"));
+        elements.put("menu", new MockedPageElement(10, 60, 100, 40).withText("Menu"));
+        return new MockedPage(elements, new BufferedImage(200, 150, BufferedImage.TYPE_INT_RGB)) {
+            @Override
+            public String getTitle() {
+                return "Test page";
+            }
+        };
+    }
+}
@@ -15,7 +15,10 @@
 ******************************************************************************/
 package com.galenframework.tests.page.selenium;
 
+import com.galenframework.config.GalenConfig;
+import com.galenframework.config.GalenProperty;
 import com.galenframework.page.AbsentPageElement;
+import com.galenframework.page.Rect;
 import com.galenframework.page.selenium.SeleniumPage;
 import com.galenframework.page.selenium.WebPageElement;
 import com.galenframework.specs.page.Locator;
@@ -26,10 +29,16 @@ import com.galenframework.page.PageElement;
 import com.galenframework.page.selenium.SeleniumPage;
 import com.galenframework.page.selenium.WebPageElement;
 import com.galenframework.specs.page.Locator;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
@@ -81,4 +90,33 @@ public class SeleniumPageTest {
                 .withParent(new Locator("css", ".menu-item", 4)));
         assertThat(pageElement4, instanceOf(AbsentPageElement.class));
     }
+
+    @Test
+    public void shouldPrefetch_allObjects_inSingleJavascriptCall() {
+        GalenConfig.getConfig().setProperty(GalenProperty.GALEN_BROWSER_PAGELEMENT_PREFETCH, "true");
+        try {
+            MockedDriver mockedDriver = new MockedDriver("/mocks/pages/selenium-page.json");
+            WebElement username = mockedDriver.findElement(By.id("username"));
+            mockedDriver.setExpectedJavaScriptReturnValues(asList(
+                    (Object) asList(asList(username, 10.4, 20L, 100L, 30.7, false), false)
+            ));
+
+            Map<String, Locator> objects = new LinkedHashMap<>();
+            objects.put("username", new Locator("id", "username"));
+            objects.put("missing", new Locator("id", "blahblah"));
+
+            SeleniumPage seleniumPage = new SeleniumPage(mockedDriver);
+            seleniumPage.prefetchObjects(objects);
+
+            PageElement usernameElement = seleniumPage.getObject("username", objects.get("username"));
+            assertThat(usernameElement.getArea(), is(new Rect(10, 20, 100, 30)));
+            assertThat(usernameElement.isVisible(), is(false));
+            assertThat(usernameElement.getText(), is("John"));
+
+            assertThat(seleniumPage.getObject("missing", objects.get("missing")), instanceOf(AbsentPageElement.class));
+            assertThat(mockedDriver.getAllExecutedJavascript().size(), is(1));
+        } finally {
+            GalenConfig.getConfig().setProperty(GalenProperty.GALEN_BROWSER_PAGELEMENT_PREFETCH, "false");
+        }
+    }
 }
@@ -0,0 +1,93 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.tests.reports;
+
+import com.galenframework.reports.model.FileTempStorage;
+import com.galenframework.reports.model.ReportArtifactStore;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class ReportArtifactStoreTest {
+
+    @Test
+    public void shouldWrite_filesWithSameContent_onlyOnce() throws IOException {
+        File reportFolder = Files.createTempDirectory("report").toFile();
+        File sample = createTempFile("sample image");
+        File sampleCopy = createTempFile("sample image");
+        File screenshot = createTempFile("screenshot");
+
+        FileTempStorage firstTest = new FileTempStorage("test1");
+        firstTest.registerFile("sample.png", sample);
+        firstTest.registerFile("screenshot.png", screenshot);
+        FileTempStorage secondTest = new FileTempStorage("test2");
+        secondTest.registerFile("sample.png", sampleCopy);
+
+        ReportArtifactStore store = ReportArtifactStore.forFolder(reportFolder);
+        firstTest.copyAllFilesAsync(store);
+        secondTest.copyAllFilesAsync(store);
+        store.flush();
+
+        File[] files = reportFolder.listFiles((dir, name) -> name.endsWith("sample.png"));
+        assertThat(files.length, is(2));
+        assertThat(FileUtils.readFileToString(files[0]), is("sample image"));
+        assertThat(FileUtils.readFileToString(files[1]), is("sample image"));
+        assertThat(Files.isSameFile(files[0].toPath(), files[1].toPath()), is(true));
+
+        File[] screenshots = reportFolder.listFiles((dir, name) -> name.endsWith("screenshot.png"));
+        assertThat(screenshots.length, is(1));
+        assertThat(FileUtils.readFileToString(screenshots[0]), is("screenshot"));
+
+        firstTest.cleanup();
+        secondTest.cleanup();
+        assertThat(sample.exists(), is(false));
+        assertThat(sampleCopy.exists(), is(false));
+        FileUtils.deleteDirectory(reportFolder);
+    }
+
+    @Test
+    public void shouldNotLink_toFiles_whichWereOverwritten() throws IOException {
+        File reportFolder = Files.createTempDirectory("report").toFile();
+        ReportArtifactStore store = ReportArtifactStore.forFolder(reportFolder);
+
+        store.write(completedFuture(createTempFile("sample image")), "first.png").join();
+        FileUtils.writeStringToFile(new File(reportFolder, "first.png"), "changed outside");
+        store.write(completedFuture(createTempFile("sample image")), "second.png").join();
+
+        store.write(completedFuture(createTempFile("another image")), "second.png").join();
+        store.write(completedFuture(createTempFile("sample image")), "third.png").join();
+        store.flush();
+
+        assertThat(FileUtils.readFileToString(new File(reportFolder, "first.png")), is("changed outside"));
+        assertThat(FileUtils.readFileToString(new File(reportFolder, "second.png")), is("another image"));
+        assertThat(FileUtils.readFileToString(new File(reportFolder, "third.png")), is("sample image"));
+        FileUtils.deleteDirectory(reportFolder);
+    }
+
+    private File createTempFile(String content) throws IOException {
+        File file = File.createTempFile("artifact", ".png");
+        file.deleteOnExit();
+        FileUtils.writeStringToFile(file, content);
+        return file;
+    }
+}
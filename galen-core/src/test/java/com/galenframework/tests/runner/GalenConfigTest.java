@@ -23,11 +23,14 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.galenframework.actions.GalenAction;
 import com.galenframework.parser.StringCharReader;
 import com.galenframework.components.DummyCompleteListener;
 import com.galenframework.config.GalenConfig;
+import com.galenframework.config.GalenProperty;
 import com.galenframework.parser.Expectations;
 import com.galenframework.runner.CompleteListener;
 import com.galenframework.specs.Range;
@@ -154,6 +157,48 @@ public class GalenConfigTest {
         assertThat(config.getImageSpecDefaultTolerance(), is(32));
     }
 
+    @Test public void shouldOverride_property_onlyInCurrentThread() throws Exception {
+        GalenConfig config = GalenConfig.getConfig();
+        config.reset();
+
+        try (GalenConfig.ThreadOverride ignored = config.overrideForCurrentThread(GalenProperty.GALEN_RANGE_APPROXIMATION, "7")) {
+            assertThat(config.getRangeApproximation(), is(7));
+
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                assertThat(executor.submit(config::getRangeApproximation).get(), is(2));
+            } finally {
+                executor.shutdown();
+            }
+        }
+        assertThat(config.getRangeApproximation(), is(2));
+    }
+
+    @Test public void shouldResolve_systemProperties_changedAfterConfigWasLoaded() throws IOException {
+        GalenConfig config = GalenConfig.getConfig();
+        config.reset();
+
+        try {
+            System.setProperty("galen.range.approximation", "9");
+            assertThat(config.getRangeApproximation(), is(9));
+        } finally {
+            System.getProperties().remove("galen.range.approximation");
+        }
+        assertThat(config.getRangeApproximation(), is(2));
+    }
+
+    @Test public void shouldApply_changes_ofLoadedProperties() throws IOException {
+        GalenConfig config = GalenConfig.getConfig();
+        config.reset();
+
+        try {
+            config.getProperties().setProperty("galen.range.approximation", "5");
+            assertThat(config.getRangeApproximation(), is(5));
+        } finally {
+            config.reset();
+        }
+    }
+
     private File copyConfigFromResources(String resourcesConfig, String destConfig) throws IOException {
         File configFile = new File(destConfig);
         configFile.createNewFile();
@@ -40,6 +40,7 @@ import com.galenframework.components.report.ReportingListenerTestUtils;
 import com.galenframework.reports.json.JsonReportBuilder;
 import com.galenframework.reports.model.FileTempStorage;
 import com.galenframework.reports.model.LayoutReport;
+import com.galenframework.reports.model.ReportArtifactStore;
 import com.galenframework.reports.nodes.LayoutReportNode;
 
 import com.galenframework.tests.GalenEmptyTest;
@@ -261,6 +262,42 @@ public class ReportingTest {
         ));
     }
 
+    @Test public void streamingReportWriter_shouldWrite_testReports_asSoonAsTheyFinish_andRelease_theirNodes() throws IOException {
+        String htmlReportPath = Files.createTempDir().getAbsolutePath() + "/html-report";
+        String jsonReportPath = Files.createTempDir().getAbsolutePath() + "/json-report";
+
+        GalenTestInfo testInfo = new GalenTestInfo("Home page test", null);
+        testInfo.getReport().error("Some error").withAttachment("some-file.txt", File.createTempFile("some-file", ".txt"));
+        testInfo.getReport().info("Some info");
+
+        StreamingReportWriter reportWriter = new StreamingReportWriter(htmlReportPath, jsonReportPath);
+        reportWriter.write(testInfo);
+        // attached files are written in background
+        ReportArtifactStore.forFolder(new File(htmlReportPath)).flush();
+        ReportArtifactStore.forFolder(new File(jsonReportPath)).flush();
+
+        assertThat(asList(new File(htmlReportPath).list()), containsInAnyOrder(
+                "1-home-page-test.html",
+                "1-home-page-test.json",
+                "file-1-some-file.txt"
+        ));
+        assertThat(asList(new File(jsonReportPath).list()), containsInAnyOrder(
+                "1-home-page-test.json",
+                "file-1-some-file.txt"
+        ));
+        assertThat(testInfo.getReport().getNodes().size(), is(0));
+        assertThat(testInfo.getReport().fetchStatistic(), is(new TestStatistic(1, 1, 0, 2)));
+        assertThat(testInfo.isFailed(), is(true));
+
+        reportWriter.finish();
+
+        assertThat(new File(htmlReportPath + "/report.html").exists(), is(true));
+        assertThat(new File(jsonReportPath + "/report.json").exists(), is(true));
+        JsonNode overview = new ObjectMapper().readTree(new File(jsonReportPath + "/report.json"));
+        assertThat(overview.get("tests").get(0).get("testId").asText(), is("1-home-page-test"));
+        assertThat(overview.get("tests").get(0).get("failed").asBoolean(), is(true));
+    }
+
     private String trimEveryLine(String text) {
         String lines[] = text.split("\\r?\\n");
         StringBuilder builder = new StringBuilder();
@@ -0,0 +1,140 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.tests.runner;
+
+import com.galenframework.TestRunnable;
+import com.galenframework.browser.SeleniumBrowserFactory;
+import com.galenframework.reports.GalenTestInfo;
+import com.galenframework.reports.TestReport;
+import com.galenframework.runner.CompleteListener;
+import com.galenframework.runner.EventHandler;
+import com.galenframework.runner.SuiteScheduler;
+import com.galenframework.suite.GalenPageTest;
+import com.galenframework.tests.GalenBasicTest;
+import com.galenframework.tests.GalenTest;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class SuiteSchedulerTest {
+
+    @Test
+    public void shouldRun_testsWithLongestExpectedDuration_first() {
+        List<String> executedTests = Collections.synchronizedList(new LinkedList<>());
+        Map<String, Long> durations = new HashMap<>();
+        durations.put("test A", 10L);
+        durations.put("test B", 300L);
+        durations.put("test C", 20L);
+        durations.put("test D", 300L);
+
+        List<GalenTestInfo> testInfos = Collections.synchronizedList(new LinkedList<>());
+        List<TestRunnable> runnables = new LinkedList<>();
+        for (String name : asList("test A", "test B", "test C", "test D")) {
+            runnables.add(new TestRunnable(new RecordingTest(name, executedTests), null, new EventHandler(), testInfos));
+        }
+
+        new SuiteScheduler(1, Collections.emptyMap(), test -> durations.get(test.getName())).run(runnables);
+
+        assertThat(executedTests, contains("test B", "test D", "test C", "test A"));
+        assertThat(testInfos.size(), is(4));
+    }
+
+    @Test
+    public void shouldNotRun_moreTests_thanAllowed_forBrowserType() {
+        AtomicInteger runningChromeTests = new AtomicInteger(0);
+        AtomicInteger maxRunningChromeTests = new AtomicInteger(0);
+        List<String> executedTests = Collections.synchronizedList(new LinkedList<>());
+
+        List<GalenTestInfo> testInfos = Collections.synchronizedList(new LinkedList<>());
+        List<TestRunnable> runnables = new LinkedList<>();
+        for (int i = 0; i < 6; i++) {
+            GalenBasicTest chromeTest = new GalenBasicTest() {
+                @Override
+                public void execute(TestReport report, CompleteListener listener) throws Exception {
+                    maxRunningChromeTests.accumulateAndGet(runningChromeTests.incrementAndGet(), Math::max);
+                    Thread.sleep(20);
+                    runningChromeTests.decrementAndGet();
+                }
+            };
+            chromeTest.setName("chrome test " + i);
+            chromeTest.setPageTests(asList(new GalenPageTest().withBrowserFactory(new SeleniumBrowserFactory("chrome"))));
+            runnables.add(new TestRunnable(chromeTest, null, new EventHandler(), testInfos));
+            runnables.add(new TestRunnable(new RecordingTest("other test " + i, executedTests), null, new EventHandler(), testInfos));
+        }
+
+        Map<String, Integer> browserLimits = new HashMap<>();
+        browserLimits.put("chrome", 2);
+        new SuiteScheduler(4, browserLimits, test -> 0L).run(runnables);
+
+        assertThat(testInfos.size(), is(12));
+        assertThat(executedTests.size(), is(6));
+        assertThat(maxRunningChromeTests.get(), is(lessThanOrEqualTo(2)));
+    }
+
+    @Test
+    public void shouldRetry_failedTests_andReport_onlyLastAttempt() {
+        List<String> executedTests = Collections.synchronizedList(new LinkedList<>());
+        EventHandler eventHandler = new EventHandler();
+        eventHandler.getTestRetryEvents().add((test, retryCount) -> retryCount < 3);
+
+        List<GalenTestInfo> testInfos = Collections.synchronizedList(new LinkedList<>());
+        GalenTest failingTest = new RecordingTest("failing test", executedTests) {
+            @Override
+            public void execute(TestReport report, CompleteListener listener) throws Exception {
+                super.execute(report, listener);
+                throw new RuntimeException("failed");
+            }
+        };
+        List<TestRunnable> runnables = asList(
+                new TestRunnable(failingTest, null, eventHandler, testInfos),
+                new TestRunnable(new RecordingTest("passing test", executedTests), null, eventHandler, testInfos));
+
+        new SuiteScheduler(2, Collections.emptyMap(), test -> 0L).run(runnables);
+
+        assertThat(executedTests.stream().filter("failing test"::equals).count(), is(3L));
+        assertThat(testInfos.size(), is(2));
+    }
+
+    private static class RecordingTest implements GalenTest {
+        private final String name;
+        private final List<String> executedTests;
+
+        RecordingTest(String name, List<String> executedTests) {
+            this.name = name;
+            this.executedTests = executedTests;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void execute(TestReport report, CompleteListener listener) throws Exception {
+            executedTests.add(name);
+        }
+
+        @Override
+        public List<String> getGroups() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.tests.runner;
+
+import com.galenframework.runner.TestDurationHistory;
+import com.galenframework.runner.TestShard;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.*;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class TestShardTest {
+
+    @Test
+    public void shouldParse_shard() {
+        assertThat(TestShard.parse(" 3/8 "), is(new TestShard(3, 8)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldNotAllow_shardIndex_outsideOfTotal() {
+        TestShard.parse("9/8");
+    }
+
+    @Test
+    public void shouldBalance_shards_byDuration_andKeep_originalOrder() {
+        Map<String, Long> durations = new HashMap<>();
+        durations.put("A", 100L);
+        durations.put("B", 60L);
+        durations.put("C", 50L);
+        durations.put("D", 40L);
+        durations.put("E", 10L);
+        List<String> tests = asList("A", "B", "C", "D", "E");
+
+        assertThat(new TestShard(1, 2).select(tests, durations::get), contains("A", "D"));
+        assertThat(new TestShard(2, 2).select(tests, durations::get), contains("B", "C", "E"));
+    }
+
+    @Test
+    public void shouldSplit_testsWithoutHistory_equally() {
+        List<String> tests = asList("A", "B", "C", "D", "E", "F", "G");
+        List<String> allTests = new LinkedList<>();
+        for (int i = 1; i <= 3; i++) {
+            List<String> shardTests = new TestShard(i, 3).select(tests, test -> 0L);
+            assertThat(shardTests.size(), is(both(greaterThanOrEqualTo(2)).and(lessThanOrEqualTo(3))));
+            allTests.addAll(shardTests);
+        }
+        assertThat(allTests, containsInAnyOrder(tests.toArray()));
+    }
+
+    @Test
+    public void durationHistory_shouldAverage_durationsWithPreviousRun() throws Exception {
+        File file = File.createTempFile("test-durations", ".json");
+        file.delete();
+
+        TestDurationHistory history = TestDurationHistory.load(file);
+        history.record(TestDurationHistory.createKey("Home page", asList("mobile", "desktop")), 1000, Collections.singletonMap("open", 200L));
+        history.record("Login page", 3000, Collections.emptyMap());
+        history.save();
+
+        history = TestDurationHistory.load(file);
+        history.record("Login page", 2000, Collections.emptyMap());
+        history.record("Login page", 1000, Collections.emptyMap());
+        file.delete();
+
+        assertThat(history.getExpectedDuration("Home page [desktop, mobile]"), is(1000L));
+        assertThat(history.getExpectedDuration("Login page"), is(2000L));
+        assertThat(history.getExpectedDuration("Unknown page"), is(1500L));
+    }
+}
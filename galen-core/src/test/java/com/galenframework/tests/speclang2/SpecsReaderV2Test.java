@@ -1066,6 +1066,19 @@ public class SpecsReaderV2Test {
         assertThat(spec.getAnalyzeOffset(), is(5));
     }
 
+    @Test
+    public void shouldReadSpec_image_withPyramid() throws IOException {
+        SpecImage spec = (SpecImage)readSpec("image file imgs/image.png, analyze-offset 10, pyramid 3");
+        assertThat(spec.getAnalyzeOffset(), is(10));
+        assertThat(spec.getPyramidLevels(), is(3));
+    }
+
+    @Test
+    public void shouldReadSpec_image_withPyramid_andDefaultLevels() throws IOException {
+        SpecImage spec = (SpecImage)readSpec("image file imgs/image.png, pyramid");
+        assertThat(spec.getPyramidLevels(), is(2));
+    }
+
 
     @Test
     public void shouldReadSpec_image_andBuildImagePath_withContextPath() throws IOException {
@@ -76,6 +76,18 @@ public class PageSpecReaderTest extends PageSpecReaderTestBase {
         }}));
     }
 
+    @Test
+    public void shouldTell_whetherPageWasUsed_whileReadingPageSpec() throws IOException {
+        PageSpecReader reader = new PageSpecReader();
+        reader.read("speclang2/object-definitions.gspec", EMPTY_PAGE, new SectionFilter(EMPTY_TAGS, EMPTY_TAGS), NO_PROPERTIES, NO_VARS, EMPTY_OBJECTS);
+        assertThat(reader.isPageUsed(), is(false));
+
+        reader.read("speclang2/object-definitions-multi-objects.gspec",
+                new SeleniumBrowser(new MockedDriver("/speclang2/mocks/menu-items.json")).getPage(),
+                new SectionFilter(EMPTY_TAGS, EMPTY_TAGS), NO_PROPERTIES, NO_VARS, EMPTY_OBJECTS);
+        assertThat(reader.isPageUsed(), is(true));
+    }
+
     @Test
     public void shouldRead_objectDefinitions_withMultiLevelObjects() throws IOException {
         PageSpec pageSpec = readPageSpec("speclang2/object-definitions-multi-level-objects.gspec",
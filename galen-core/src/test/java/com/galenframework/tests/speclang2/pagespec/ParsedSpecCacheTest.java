@@ -0,0 +1,75 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.tests.speclang2.pagespec;
+
+import com.galenframework.parser.StructNode;
+import com.galenframework.speclang2.pagespec.ParsedSpecCache;
+import com.google.common.io.Files;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ParsedSpecCacheTest {
+
+    @Test
+    public void shouldGiveCopies_ofCachedNodes() throws IOException {
+        File file = new File(Files.createTempDir(), "cached.gspec");
+        FileUtils.writeStringToFile(file, "= Main =\n    header:\n        width 100px\n");
+
+        List<StructNode> first = ParsedSpecCache.parse(file.getAbsolutePath());
+        first.get(0).setName("modified");
+        first.get(0).getChildNodes().clear();
+
+        List<StructNode> second = ParsedSpecCache.parse(file.getAbsolutePath());
+        assertThat(second.get(0).getName(), is("= Main ="));
+        assertThat(second.get(0).getChildNodes().get(0).getName(), is("header:"));
+        assertThat(second.get(0).getChildNodes().get(0).getChildNodes().get(0).getName(), is("width 100px"));
+        assertThat(second.get(0).getPlace().getFilePath(), is(file.getAbsolutePath()));
+    }
+
+    @Test
+    public void shouldParseFileAgain_whenItIsModified() throws IOException {
+        File file = new File(Files.createTempDir(), "modified.gspec");
+        FileUtils.writeStringToFile(file, "= Main =\n    header:\n        width 100px\n");
+        assertThat(ParsedSpecCache.parse(file.getAbsolutePath()).get(0).getChildNodes().get(0).getName(), is("header:"));
+
+        FileUtils.writeStringToFile(file, "= Main =\n    menu:\n        width 100px\n");
+        assertThat(ParsedSpecCache.parse(file.getAbsolutePath()).get(0).getChildNodes().get(0).getName(), is("menu:"));
+    }
+
+    @Test
+    public void shouldNotReadFileAgain_whenItsModificationTimeAndSizeAreSame() throws IOException {
+        File file = new File(Files.createTempDir(), "unchanged.gspec");
+        FileUtils.writeStringToFile(file, "= Main =\n    header:\n        width 100px\n");
+        long lastModified = file.lastModified();
+        assertThat(ParsedSpecCache.parse(file.getAbsolutePath()).get(0).getChildNodes().get(0).getName(), is("header:"));
+
+        FileUtils.writeStringToFile(file, "= Main =\n    footer:\n        width 100px\n");
+        file.setLastModified(lastModified);
+        assertThat(ParsedSpecCache.parse(file.getAbsolutePath()).get(0).getChildNodes().get(0).getName(), is("header:"));
+    }
+
+    @Test
+    public void shouldReturnNull_forMissingFile() throws IOException {
+        assertThat(ParsedSpecCache.parse("/non-existing/file.gspec"), is(nullValue()));
+    }
+}
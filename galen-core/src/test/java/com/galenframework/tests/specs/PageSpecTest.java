@@ -0,0 +1,69 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.tests.specs;
+
+import com.galenframework.specs.page.Locator;
+import com.galenframework.specs.page.PageSpec;
+import org.testng.annotations.Test;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+public class PageSpecTest {
+
+    @Test
+    public void should_findMatchingObjects_inAlphanumericOrder() {
+        PageSpec pageSpec = createPageSpec("menu.item-10", "menu.item-2", "menu.item-1", "menu-item-3", "menu", "footer", "header.icon");
+
+        assertThat(pageSpec.findAllObjectsMatchingStrictStatements("menu.item-#"),
+                contains("menu-item-3", "menu.item-1", "menu.item-2", "menu.item-10"));
+        assertThat(pageSpec.findAllObjectsMatchingStrictStatements("*.icon, menu*, header"),
+                contains("header.icon", "menu", "menu-item-3", "menu.item-1", "menu.item-2", "menu.item-10", "header"));
+        assertThat(pageSpec.findOnlyExistingMatchingObjectNames("item-#, menu.item-1#, header"),
+                contains("menu.item-10"));
+    }
+
+    @Test
+    public void should_findMatchingObjects_withOptionalCharacters_andAlternation() {
+        PageSpec pageSpec = createPageSpec("item-1", "items-2", "header", "footer.link", "menu");
+
+        assertThat(pageSpec.findOnlyExistingMatchingObjectNames("items?-#"), contains("item-1", "items-2"));
+        assertThat(pageSpec.findOnlyExistingMatchingObjectNames("header|footer*"), contains("footer.link", "header"));
+    }
+
+    @Test
+    public void should_updateObjectIndex_whenObjectsAreChanged_directly() {
+        PageSpec pageSpec = createPageSpec("item-1", "item-2");
+        assertThat(pageSpec.findOnlyExistingMatchingObjectNames("item-#"), contains("item-1", "item-2"));
+
+        pageSpec.getObjects().put("item-3", new Locator("css", "#item-3"));
+        assertThat(pageSpec.findOnlyExistingMatchingObjectNames("item-#"), contains("item-1", "item-2", "item-3"));
+
+        pageSpec.getObjects().remove("item-1");
+        assertThat(pageSpec.findOnlyExistingMatchingObjectNames("item-#"), contains("item-2", "item-3"));
+        assertThat(pageSpec.getSortedObjectNames(), is(asList("item-2", "item-3")));
+    }
+
+    private PageSpec createPageSpec(String... objectNames) {
+        PageSpec pageSpec = new PageSpec();
+        for (String objectName : objectNames) {
+            pageSpec.addObject(objectName, new Locator("css", "#" + objectName));
+        }
+        return pageSpec;
+    }
+}
@@ -15,9 +15,19 @@
 ******************************************************************************/
 package com.galenframework.junit;
 
+import com.galenframework.runner.TestDurationHistory;
+import com.galenframework.runner.TestShard;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.Parameterized;
 
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Galen JUnit test runner
  *
@@ -33,6 +43,38 @@ public class GalenReportTestRunner extends Parameterized {
      */
     public GalenReportTestRunner(Class<?> klass) throws Throwable {
         super(klass);
+        applyShard(klass);
+    }
+
+    /**
+     * Leaves only the tests of the shard specified in "galen.test.shard" property.
+     * Every test class is sharded separately, so the classes start filling the shards from different ones
+     */
+    private void applyShard(Class<?> klass) {
+        TestShard shard = TestShard.fromConfig();
+        if (shard != null) {
+            List<Description> tests = new LinkedList<>();
+            collectTests(getDescription(), tests);
+
+            TestDurationHistory durationHistory = TestDurationHistory.load();
+            Set<Description> shardTests = new HashSet<>(shard.select(tests,
+                    test -> durationHistory.getExpectedDuration(JUnitStepListener.testNameOf(test)), klass.getName().hashCode()));
+            try {
+                filter(new ShardFilter(shard, shardTests));
+            } catch (NoTestsRemainException e) {
+                // none of the tests of this class belong to the shard
+            }
+        }
+    }
+
+    private static void collectTests(Description description, List<Description> tests) {
+        if (description.isTest()) {
+            tests.add(description);
+        } else {
+            for (Description child : description.getChildren()) {
+                collectTests(child, tests);
+            }
+        }
     }
 
     @Override
@@ -41,4 +83,32 @@ public class GalenReportTestRunner extends Parameterized {
         this.notifier.addFirstListener(new JUnitStepListener());
         super.run(this.notifier);
     }
+
+    private static class ShardFilter extends Filter {
+        private final TestShard shard;
+        private final Set<Description> shardTests;
+
+        private ShardFilter(TestShard shard, Set<Description> shardTests) {
+            this.shard = shard;
+            this.shardTests = shardTests;
+        }
+
+        @Override
+        public boolean shouldRun(Description description) {
+            if (description.isTest()) {
+                return shardTests.contains(description);
+            }
+            for (Description child : description.getChildren()) {
+                if (shouldRun(child)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String describe() {
+            return "shard " + shard;
+        }
+    }
 }
@@ -15,7 +15,10 @@
 ******************************************************************************/
 package com.galenframework.junit;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.galenframework.support.GalenReportsContainer;
 import com.galenframework.config.GalenConfig;
@@ -23,7 +26,9 @@ import com.galenframework.config.GalenProperty;
 import com.galenframework.reports.GalenTestInfo;
 import com.galenframework.reports.HtmlReportBuilder;
 import com.galenframework.reports.model.FileTempStorage;
+import com.galenframework.runner.TestDurationHistory;
 
+import org.junit.runner.Description;
 import org.junit.runner.Result;
 import org.junit.runner.notification.RunListener;
 import org.slf4j.Logger;
@@ -36,6 +41,32 @@ public class JUnitStepListener extends RunListener {
 
     private static final Logger LOG = LoggerFactory.getLogger(JUnitStepListener.class);
 
+    /**
+     * Every test class adds its own listener to the same run, so they share the durations
+     * and record every test only once
+     */
+    private static final TestDurationHistory durationHistory = TestDurationHistory.load();
+    private static final Map<Description, Long> testStartTimes = new ConcurrentHashMap<>();
+
+    @Override
+    public void testStarted(Description description) throws Exception {
+        super.testStarted(description);
+        testStartTimes.putIfAbsent(description, System.currentTimeMillis());
+    }
+
+    @Override
+    public void testFinished(Description description) throws Exception {
+        super.testFinished(description);
+        Long startTime = testStartTimes.get(description);
+        if (startTime != null) {
+            durationHistory.record(testNameOf(description), System.currentTimeMillis() - startTime, Collections.emptyMap());
+        }
+    }
+
+    static String testNameOf(Description description) {
+        return description.getClassName() + "#" + description.getMethodName();
+    }
+
     /**
      * @see org.junit.runner.notification.RunListener#testRunFinished(org.junit.runner.Result)
      */
@@ -44,6 +75,7 @@ public class JUnitStepListener extends RunListener {
         super.testRunFinished(result);
         LOG.info("Generating Galen Html reports");
         List<GalenTestInfo> tests = GalenReportsContainer.get().getAllTests();
+        durationHistory.save();
         try {
             new HtmlReportBuilder().build(tests, GalenConfig.getConfig().readProperty(GalenProperty.TEST_JAVA_REPORT_OUTPUTFOLDER));
             cleanData(tests);
@@ -16,6 +16,9 @@
 package com.galenframework.support;
 
 import com.galenframework.api.Galen;
+import com.galenframework.browser.BrowserPool;
+import com.galenframework.browser.PooledBrowser;
+import com.galenframework.browser.SeleniumBrowser;
 import com.galenframework.reports.GalenTestInfo;
 import com.galenframework.reports.TestReport;
 import com.galenframework.reports.model.LayoutReport;
@@ -42,6 +45,7 @@ public abstract class GalenJavaTestBase {
     protected ThreadLocal<WebDriver> driver = new ThreadLocal<>();
     protected ThreadLocal<TestReport> report = new ThreadLocal<>();
     protected ThreadLocal<GalenTestInfo> testInfo = new ThreadLocal<>();
+    protected ThreadLocal<PooledBrowser> pooledBrowser = new ThreadLocal<>();
 
     /**
      * Returns the report for current test thread
@@ -136,8 +140,28 @@ public abstract class GalenJavaTestBase {
      * @param args the arguments of current test
      */
     public void initDriver(Object[] args) {
-        WebDriver driver = createDriver(args);
-        this.driver.set(driver);
+        Object driverPoolKey = getDriverPoolKey(args);
+        if (driverPoolKey != null && BrowserPool.isEnabled()) {
+            PooledBrowser browser = BrowserPool.getDefault().lease(driverPoolKey, () -> new SeleniumBrowser(createDriver(args)));
+            this.pooledBrowser.set(browser);
+            this.driver.set(((SeleniumBrowser) browser.getOrigin()).getDriver());
+        } else {
+            WebDriver driver = createDriver(args);
+            this.driver.set(driver);
+        }
+    }
+
+    /**
+     * Used for reusing drivers between tests via {@link BrowserPool} in case it is enabled with "galen.browser.pool.enabled".
+     * Drivers created for the same key could be shared by tests, so the key should include everything
+     * that is used for creating the driver (e.g. browser type and capabilities).
+     * By default drivers are not reused
+     *
+     * @param args the arguments of current test
+     * @return a key of driver or null in case the driver should not be reused
+     */
+    public Object getDriverPoolKey(Object[] args) {
+        return null;
     }
 
     /**
@@ -149,7 +173,13 @@ public abstract class GalenJavaTestBase {
     public abstract WebDriver createDriver(Object[] args);
 
     public void quitDriver() {
-        getDriver().quit();
+        PooledBrowser browser = this.pooledBrowser.get();
+        if (browser != null) {
+            this.pooledBrowser.remove();
+            browser.quit();
+        } else {
+            getDriver().quit();
+        }
     }
 
     /**
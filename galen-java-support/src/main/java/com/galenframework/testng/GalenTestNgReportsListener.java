@@ -23,6 +23,7 @@ import com.galenframework.reports.HtmlReportBuilder;
 import com.galenframework.support.GalenReportsContainer;
 import com.galenframework.config.GalenConfig;
 import com.galenframework.reports.model.FileTempStorage;
+import com.galenframework.runner.TestDurationHistory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +39,7 @@ public class GalenTestNgReportsListener implements IReporter {
     public void generateReport(List<XmlSuite> xmlSuites, List<ISuite> iSuites, String s) {
         LOG.info("Generating Galen Html reports");
         List<GalenTestInfo> tests = GalenReportsContainer.get().getAllTests();
+        saveTestDurations(tests);
         try {
             new HtmlReportBuilder().build(tests, GalenConfig.getConfig().readProperty(GalenProperty.TEST_JAVA_REPORT_OUTPUTFOLDER));
             cleanData(tests);
@@ -46,6 +48,16 @@ public class GalenTestNgReportsListener implements IReporter {
         }
     }
 
+    private void saveTestDurations(List<GalenTestInfo> tests) {
+        TestDurationHistory durationHistory = TestDurationHistory.load();
+        synchronized (tests) {
+            for (GalenTestInfo test : tests) {
+                durationHistory.record(test);
+            }
+        }
+        durationHistory.save();
+    }
+
     private void cleanData(List<GalenTestInfo> testInfos) {
         for (GalenTestInfo testInfo : testInfos) {
             if (testInfo.getReport() != null) {
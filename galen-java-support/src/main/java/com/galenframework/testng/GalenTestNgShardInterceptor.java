@@ -0,0 +1,51 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.testng;
+
+import com.galenframework.runner.TestDurationHistory;
+import com.galenframework.runner.TestShard;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.List;
+
+/**
+ * Leaves only the test methods of the shard specified in "galen.test.shard" property,
+ * the methods are distributed between shards by their durations from previous runs
+ */
+public class GalenTestNgShardInterceptor implements IMethodInterceptor {
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        TestShard shard = TestShard.fromConfig();
+        if (shard == null) {
+            return methods;
+        }
+
+        TestDurationHistory durationHistory = TestDurationHistory.load();
+        return shard.select(methods, method -> durationHistory.getExpectedDurationOfAll(testNameOf(method.getMethod())));
+    }
+
+    /**
+     * @return the name which is given to the test by {@link com.galenframework.reports.GalenTestInfo#fromMethod}
+     * without arguments
+     */
+    private static String testNameOf(ITestNGMethod method) {
+        return method.getRealClass().getSimpleName() + "#" + method.getMethodName();
+    }
+}
@@ -28,7 +28,7 @@ import java.util.Date;
 /**
  * This class is used as a base test class for TestNG tests, see {@link GalenJavaTestBase}
  */
-@Listeners(GalenTestNgReportsListener.class)
+@Listeners({GalenTestNgReportsListener.class, GalenTestNgShardInterceptor.class})
 public abstract class GalenTestNgTestBase extends GalenJavaTestBase {
 
     /**
@@ -30,6 +30,8 @@ public class ComparisonOptions {
     private List<ImageFilter> mapFilters = new LinkedList<>();
     private int analyzeOffset = 0;
     private List<Rectangle> ignoreRegions;
+    private int parallelism = 1;
+    private int pyramidLevels = 0;
 
     public void setTolerance(int tolerance) {
         this.tolerance = tolerance;
@@ -115,4 +117,31 @@ public class ComparisonOptions {
     public List<Rectangle> getIgnoreRegions() {
         return ignoreRegions;
     }
+
+    /**
+     * Sets the amount of threads that are used for comparing a single image.
+     * The threads are shared by all comparisons, so there are never more of them than available processors
+     * @param parallelism 1 - compares the images in the current thread, 0 or less - uses all available processors
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Enables coarse-to-fine comparison. Identical parts of images are detected without comparing every pixel
+     * and in case of offset analysis the unlikely offsets are ruled out on downscaled images
+     * before comparing them in full resolution.
+     * @param pyramidLevels amount of downscaled levels, each next level is twice smaller. 0 - disables the pyramid comparison
+     */
+    public void setPyramidLevels(int pyramidLevels) {
+        this.pyramidLevels = pyramidLevels;
+    }
+
+    public int getPyramidLevels() {
+        return pyramidLevels;
+    }
 }
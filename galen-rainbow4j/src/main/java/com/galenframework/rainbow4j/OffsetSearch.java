@@ -0,0 +1,179 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.rainbow4j;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Searches for the offset of image A which gives the smallest amount of mismatching pixels.
+ * Offsets are scored in the order of a spiral starting from the center, without drawing any comparison map.
+ * The best result found so far is shared between all workers so that they could abandon
+ * a candidate as soon as it is known to be worse.
+ * In case several offsets give the same amount of mismatching pixels the one closer to the start of the spiral wins,
+ * which makes the result independent from the amount of threads.
+ */
+class OffsetSearch {
+
+    private static final int INDEX_BITS = 24;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    private final PixelComparator comparator;
+    private final int[] offsetsX;
+    private final int[] offsetsY;
+    private final boolean[] excluded;
+
+    /**
+     * Amount of mismatching pixels and the index of the best offset packed in a single number
+     */
+    private final AtomicLong best = new AtomicLong(pack(Integer.MAX_VALUE, INDEX_MASK));
+
+    OffsetSearch(PixelComparator comparator, int analyzeOffset) {
+        this.comparator = comparator;
+
+        int spiral_n = 0;
+        if (analyzeOffset > 0) {
+            spiral_n = analyzeOffset * 2 + 1;
+        }
+        int max_spiral = spiral_n * spiral_n;
+
+        if (max_spiral >= INDEX_MASK) {
+            throw new IllegalArgumentException("Offset is too big: " + analyzeOffset);
+        }
+
+        this.offsetsX = new int[max_spiral + 1];
+        this.offsetsY = new int[max_spiral + 1];
+        this.excluded = new boolean[max_spiral + 1];
+
+        int offsetX = 0;
+        int offsetY = 0;
+        int spiral_dx = 0;
+        int spiral_dy = -1;
+
+        for (int spiral_i = 0; spiral_i <= max_spiral; spiral_i++) {
+            if ((offsetX == offsetY) || (offsetX < 0 && offsetX == -offsetY) || (offsetX > 0 && offsetX == 1 - offsetY)){
+                int temp = spiral_dx;
+                spiral_dx = -spiral_dy;
+                spiral_dy = temp;
+            }
+
+            offsetsX[spiral_i] = offsetX;
+            offsetsY[spiral_i] = offsetY;
+
+            offsetX += spiral_dx;
+            offsetY += spiral_dy;
+        }
+    }
+
+    /**
+     * @return index of the best offset
+     */
+    int search(int parallelism) {
+        if (offsetsX.length == 1) {
+            return 0;
+        }
+
+        if (parallelism > 1) {
+            AtomicInteger nextCandidate = new AtomicInteger(0);
+            List<Callable<Void>> workers = new LinkedList<>();
+            for (int i = 0; i < parallelism; i++) {
+                workers.add(() -> {
+                    int candidate;
+                    while ((candidate = nextCandidate.getAndIncrement()) < offsetsX.length) {
+                        score(candidate);
+                    }
+                    return null;
+                });
+            }
+            ParallelComparator.invokeAll(workers);
+        } else {
+            for (int candidate = 0; candidate < offsetsX.length; candidate++) {
+                score(candidate);
+            }
+        }
+        return (int) (best.get() & INDEX_MASK);
+    }
+
+    int size() {
+        return offsetsX.length;
+    }
+
+    boolean isExcluded(int index) {
+        return excluded[index];
+    }
+
+    /**
+     * Excludes the offset from the search. The offset at the center of the spiral is never excluded
+     */
+    void exclude(int index) {
+        if (index > 0) {
+            excluded[index] = true;
+        }
+    }
+
+    int getOffsetX(int index) {
+        return offsetsX[index];
+    }
+
+    int getOffsetY(int index) {
+        return offsetsY[index];
+    }
+
+    private void score(int candidate) {
+        if (excluded[candidate]) {
+            return;
+        }
+        long mismatchingPixels = 0;
+
+        for (int y = 0; y < comparator.getHeight(); y++) {
+            long limit = limitFor(candidate);
+            if (mismatchingPixels >= limit) {
+                return;
+            }
+            mismatchingPixels += comparator.compareRows(offsetsX[candidate], offsetsY[candidate], y, y + 1, limit - mismatchingPixels, null);
+        }
+
+        offer(candidate, mismatchingPixels);
+    }
+
+    /**
+     * @return the amount of mismatching pixels at which the candidate can no longer win
+     */
+    private long limitFor(int candidate) {
+        long current = best.get();
+        long bestMismatchingPixels = current >>> INDEX_BITS;
+        if (candidate < (current & INDEX_MASK)) {
+            return bestMismatchingPixels + 1;
+        } else {
+            return bestMismatchingPixels;
+        }
+    }
+
+    private void offer(int candidate, long mismatchingPixels) {
+        long proposed = pack(mismatchingPixels, candidate);
+        long current = best.get();
+        while (proposed < current && !best.compareAndSet(current, proposed)) {
+            current = best.get();
+        }
+    }
+
+    private static long pack(long mismatchingPixels, long index) {
+        return (mismatchingPixels << INDEX_BITS) | index;
+    }
+}
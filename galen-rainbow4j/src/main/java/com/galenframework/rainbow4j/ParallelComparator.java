@@ -0,0 +1,138 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.rainbow4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Splits the compared area into horizontal bands which are compared by as many workers as the given parallelism.
+ * Every band draws only its own rows of the comparison map and the mismatching pixels are summed up,
+ * so the outcome does not depend on the order in which the bands are processed
+ * and is always the same as for the serial comparison.
+ */
+class ParallelComparator {
+
+    private static final int MIN_BAND_HEIGHT = 16;
+    private static final int BANDS_PER_THREAD = 4;
+
+    /**
+     * Threads shared by all comparisons. It is bounded by the amount of processors,
+     * the idle threads are stopped and they never keep the JVM from exiting
+     */
+    private static final ExecutorService workers = createWorkers();
+
+    private final PixelComparator comparator;
+    private final int parallelism;
+    private final int bandHeight;
+
+    ParallelComparator(PixelComparator comparator, int parallelism) {
+        this.comparator = comparator;
+        this.parallelism = parallelism;
+        this.bandHeight = Math.max(MIN_BAND_HEIGHT, comparator.getHeight() / (parallelism * BANDS_PER_THREAD) + 1);
+    }
+
+    static int resolveParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            return Runtime.getRuntime().availableProcessors();
+        } else {
+            return parallelism;
+        }
+    }
+
+    private static ExecutorService createWorkers() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "rainbow4j-comparator");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Runs all tasks on the shared threads and waits for them to finish
+     */
+    static void invokeAll(List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : workers.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while comparing images", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            } else {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Compares the whole area with the given offset.
+     * @return amount of mismatching pixels or the limit in case it was reached
+     */
+    long compare(int offsetX, int offsetY, long limit, ImageHandler mapHandler) {
+        if (limit <= 0) {
+            return 0;
+        }
+        AtomicLong mismatchingPixels = new AtomicLong(0);
+        AtomicInteger nextBand = new AtomicInteger(0);
+        int height = comparator.getHeight();
+
+        List<Callable<Void>> tasks = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            tasks.add(() -> {
+                int fromRow;
+                while ((fromRow = nextBand.getAndIncrement() * bandHeight) < height) {
+                    compareBand(offsetX, offsetY, fromRow, Math.min(height, fromRow + bandHeight), limit, mapHandler, mismatchingPixels);
+                }
+                return null;
+            });
+        }
+        invokeAll(tasks);
+        return Math.min(mismatchingPixels.get(), limit);
+    }
+
+    private void compareBand(int offsetX, int offsetY, int fromRow, int toRow, long limit, ImageHandler mapHandler, AtomicLong mismatchingPixels) {
+        for (int y = fromRow; y < toRow; y++) {
+            long alreadyFound = mismatchingPixels.get();
+            if (alreadyFound >= limit) {
+                return;
+            }
+            long rowMismatches = comparator.compareRows(offsetX, offsetY, y, y + 1, limit - alreadyFound, mapHandler);
+            if (rowMismatches > 0) {
+                mismatchingPixels.addAndGet(rowMismatches);
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.rainbow4j;
+
+import java.awt.*;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static com.galenframework.rainbow4j.ImageHandler.BLOCK_SIZE;
+
+/**
+ * Compares two areas pixel by pixel reading the RGBA bytes straight from the image handlers,
+ * so that no objects are created per compared pixel.
+ */
+class PixelComparator {
+
+    private static final int OUTSIDE = -1;
+    private static final int TILE_WIDTH = 64;
+
+    private final ByteBuffer bytesA;
+    private final int imageAWidth;
+    private final int imageAHeight;
+
+    private final ByteBuffer bytesB;
+    private final int imageBWidth;
+
+    private final int areaAx;
+    private final int areaAy;
+    private final int width;
+    private final int height;
+
+    /**
+     * Pre-calculated coordinates in image B for every column and row of the compared area.
+     * Contains OUTSIDE in case the coordinate is located outside of image B
+     */
+    private final int[] columnsB;
+    private final int[] rowsB;
+
+    private final int tolerance;
+    private final Rectangle[] ignoreRegions;
+    private final boolean stretchToFit;
+    private boolean skipIdenticalTiles = false;
+
+    PixelComparator(ImageHandler handlerA, ImageHandler handlerB, Rectangle areaA, Rectangle areaB, ComparisonOptions options) {
+        this.bytesA = handlerA.getBytes();
+        this.imageAWidth = handlerA.getWidth();
+        this.imageAHeight = handlerA.getHeight();
+        this.bytesB = handlerB.getBytes();
+        this.imageBWidth = handlerB.getWidth();
+
+        this.areaAx = areaA.x;
+        this.areaAy = areaA.y;
+        this.width = areaA.width;
+        this.height = areaA.height;
+
+        this.tolerance = options.getTolerance();
+        this.ignoreRegions = toArray(options.getIgnoreRegions());
+        this.stretchToFit = options.isStretchToFit();
+
+        this.columnsB = new int[width];
+        this.rowsB = new int[height];
+
+        double Kx = ((double) areaB.width) / ((double) areaA.width);
+        double Ky = ((double) areaB.height) / ((double) areaA.height);
+
+        for (int x = 0; x < width; x++) {
+            int xB;
+            if (options.isStretchToFit()) {
+                xB = (int) Math.round((((double) x) * Kx) + areaB.x);
+                xB = Math.min(xB, areaB.x + areaB.width - 1);
+            } else {
+                xB = x + areaB.x;
+            }
+            columnsB[x] = xB >= 0 && xB < handlerB.getWidth() ? xB : OUTSIDE;
+        }
+        for (int y = 0; y < height; y++) {
+            int yB;
+            if (options.isStretchToFit()) {
+                yB = (int) Math.round(((double) y) * Ky + areaB.y);
+                yB = Math.min(yB, areaB.y + areaB.height - 1);
+            } else {
+                yB = y + areaB.y;
+            }
+            rowsB[y] = yB >= 0 && yB < handlerB.getHeight() ? yB : OUTSIDE;
+        }
+    }
+
+    private static Rectangle[] toArray(List<Rectangle> ignoreRegions) {
+        if (ignoreRegions != null) {
+            return ignoreRegions.toArray(new Rectangle[ignoreRegions.size()]);
+        } else {
+            return new Rectangle[0];
+        }
+    }
+
+    /**
+     * Enables a quick byte comparison of row tiles before comparing them pixel by pixel.
+     * Pays off when most of the compared area is identical. Does not change the result of comparison
+     */
+    void setSkipIdenticalTiles(boolean skipIdenticalTiles) {
+        this.skipIdenticalTiles = skipIdenticalTiles && !stretchToFit;
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    /**
+     * Compares the specified rows of the area with the given offset applied to image A.
+     * Stops as soon as the amount of mismatching pixels reaches the limit.
+     * @param mapHandler a comparison map to draw the result in. Could be null if only the amount of mismatching pixels is needed
+     * @return amount of mismatching pixels. If it is equal to the limit - the comparison was interrupted
+     */
+    long compareRows(int offsetX, int offsetY, int fromRow, int toRow, long limit, ImageHandler mapHandler) {
+        long mismatchingPixels = 0;
+
+        for (int y = fromRow; y < toRow; y++) {
+            int yA = y + areaAy + offsetY;
+            boolean rowInsideA = yA >= 0 && yA < imageAHeight;
+            int rowB = rowsB[y];
+
+            for (int x = 0; x < width; x++) {
+                if (mismatchingPixels >= limit) {
+                    return mismatchingPixels;
+                }
+
+                int xA = x + areaAx + offsetX;
+
+                if (skipIdenticalTiles && rowInsideA && x % TILE_WIDTH == 0) {
+                    int tileEnd = Math.min(x + TILE_WIDTH, width);
+                    if (isTileIdentical(x, tileEnd, yA, rowB, offsetX)) {
+                        if (mapHandler != null) {
+                            for (int tileX = x; tileX < tileEnd; tileX++) {
+                                mapHandler.setRGBA(tileX, y, 0, 0, 0, 255);
+                            }
+                        }
+                        x = tileEnd - 1;
+                        continue;
+                    }
+                }
+
+                if (rowInsideA && xA >= 0 && xA < imageAWidth) {
+                    if (!isIgnored(xA, yA)) {
+                        long colorError = colorDiff(yA * imageAWidth + xA, rowB, columnsB[x]);
+
+                        if (colorError > tolerance) {
+                            int diff = (int) (colorError - tolerance);
+                            if (mapHandler != null) {
+                                if (diff > 30 && diff < 80) {
+                                    mapHandler.setRGBA(x, y, 255, 255, 0, 255);
+                                } else if (diff <= 30) {
+                                    mapHandler.setRGBA(x, y, 0, 255, 0, 255);
+                                } else {
+                                    mapHandler.setRGBA(x, y, 255, 0, 0, 255);
+                                }
+                            }
+                            mismatchingPixels += 1;
+                        } else if (mapHandler != null) {
+                            mapHandler.setRGBA(x, y, 0, 0, 0, 255);
+                        }
+                    } else if (mapHandler != null) {
+                        mapHandler.setRGBA(x, y, 0, 0, 0, 160);
+                    }
+                } else if (mapHandler != null) {
+                    mapHandler.setRGBA(x, y, 0, 0, 0, 255);
+                }
+            }
+        }
+        return mismatchingPixels;
+    }
+
+    private boolean isTileIdentical(int fromX, int toX, int yA, int rowB, int offsetX) {
+        int fromXA = fromX + areaAx + offsetX;
+        int toXA = toX + areaAx + offsetX;
+
+        if (rowB == OUTSIDE || columnsB[fromX] == OUTSIDE || columnsB[toX - 1] == OUTSIDE
+                || fromXA < 0 || toXA > imageAWidth
+                || isAnyIgnored(fromXA, toXA, yA)) {
+            return false;
+        }
+
+        int kA = (yA * imageAWidth + fromXA) * BLOCK_SIZE;
+        int kB = (rowB * imageBWidth + columnsB[fromX]) * BLOCK_SIZE;
+        int length = (toX - fromX) * BLOCK_SIZE;
+
+        int i = 0;
+        for (; i + 8 <= length; i += 8) {
+            if (bytesA.getLong(kA + i) != bytesB.getLong(kB + i)) {
+                return false;
+            }
+        }
+        for (; i < length; i += BLOCK_SIZE) {
+            if (bytesA.getInt(kA + i) != bytesB.getInt(kB + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isAnyIgnored(int fromX, int toX, int y) {
+        for (int i = 0; i < ignoreRegions.length; i++) {
+            Rectangle region = ignoreRegions[i];
+            if (region.width > 0 && region.height > 0
+                    && y >= region.y && y < region.y + region.height
+                    && fromX < region.x + region.width && toX > region.x) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isIgnored(int x, int y) {
+        for (int i = 0; i < ignoreRegions.length; i++) {
+            if (ignoreRegions[i].contains(x, y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same as ImageHandler.colorDiff but reads the colors directly from the buffers.
+     * Pixels outside of image B are treated as opaque black
+     */
+    private long colorDiff(int pixelA, int rowB, int columnB) {
+        int kA = pixelA * BLOCK_SIZE;
+
+        int redB = 0, greenB = 0, blueB = 0, alphaB = 255;
+        if (rowB != OUTSIDE && columnB != OUTSIDE) {
+            int kB = (rowB * imageBWidth + columnB) * BLOCK_SIZE;
+            redB = bytesB.get(kB) & 0xff;
+            greenB = bytesB.get(kB + 1) & 0xff;
+            blueB = bytesB.get(kB + 2) & 0xff;
+            alphaB = bytesB.get(kB + 3) & 0xff;
+        }
+
+        if ((bytesA.get(kA + 3) & 0xff) > 128 && alphaB > 128) {
+            return Math.abs((bytesA.get(kA) & 0xff) - redB)
+                    + Math.abs((bytesA.get(kA + 1) & 0xff) - greenB)
+                    + Math.abs((bytesA.get(kA + 2) & 0xff) - blueB);
+        } else {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.rainbow4j;
+
+import java.awt.*;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.galenframework.rainbow4j.ImageHandler.BLOCK_SIZE;
+
+/**
+ * Rules out unlikely offsets before they are compared in full resolution.
+ * Both images are downscaled with a factor of 2^level, starting from the coarsest level.
+ * On each level every offset is scored using the block averages, where image A is downscaled separately
+ * for every sub-block phase of the offsets so that the blocks of both images are aligned exactly.
+ * Only offsets which are close to the best one, together with their direct neighbours, are kept for the next level.
+ */
+class PyramidMatcher {
+
+    /**
+     * A downscaled image should have at least this amount of blocks in each dimension, otherwise the level is skipped
+     */
+    private static final int MIN_BLOCKS = 4;
+
+    /**
+     * Groups with a score worse than the best one by more than this share of all blocks are ruled out
+     */
+    private static final double SCORE_SLACK = 0.02;
+
+    private static final int ABSENT = -1;
+
+    private final ImageHandler handlerA;
+    private final ImageHandler handlerB;
+    private final Rectangle areaA;
+    private final Rectangle areaB;
+    private final int tolerance;
+    private final List<Rectangle> ignoreRegions;
+
+    PyramidMatcher(ImageHandler handlerA, ImageHandler handlerB, Rectangle areaA, Rectangle areaB, ComparisonOptions options) {
+        this.handlerA = handlerA;
+        this.handlerB = handlerB;
+        this.areaA = areaA;
+        this.areaB = areaB;
+        this.tolerance = options.getTolerance();
+        this.ignoreRegions = options.getIgnoreRegions();
+    }
+
+    void excludeUnlikelyOffsets(OffsetSearch offsetSearch, int levels) {
+        for (int level = levels; level > 0; level--) {
+            int factor = 1 << level;
+            if (areaA.width / factor >= MIN_BLOCKS && areaA.height / factor >= MIN_BLOCKS) {
+                excludeOffsetsOnLevel(offsetSearch, factor);
+            }
+        }
+    }
+
+    private void excludeOffsetsOnLevel(OffsetSearch offsetSearch, int factor) {
+        int maxOffset = 0;
+        for (int i = 0; i < offsetSearch.size(); i++) {
+            maxOffset = Math.max(maxOffset, Math.max(Math.abs(offsetSearch.getOffsetX(i)), Math.abs(offsetSearch.getOffsetY(i))));
+        }
+        int margin = maxOffset / factor + 1;
+
+        Level levelB = new Level(handlerB, areaB.x, areaB.y, areaA.width, areaA.height, factor);
+        Map<Long, Level> levelsA = new HashMap<>();
+
+        Map<Long, Long> scores = new HashMap<>();
+        long bestScore = Long.MAX_VALUE;
+        for (int i = 0; i < offsetSearch.size(); i++) {
+            if (!offsetSearch.isExcluded(i)) {
+                int offsetX = offsetSearch.getOffsetX(i);
+                int offsetY = offsetSearch.getOffsetY(i);
+                int phaseX = Math.floorMod(offsetX, factor);
+                int phaseY = Math.floorMod(offsetY, factor);
+
+                Level levelA = levelsA.computeIfAbsent(key(phaseX, phaseY), k -> new Level(handlerA,
+                        areaA.x + phaseX - margin * factor, areaA.y + phaseY - margin * factor,
+                        areaA.width + 2 * margin * factor, areaA.height + 2 * margin * factor, factor));
+
+                long score = score(levelA, levelB,
+                        Math.floorDiv(offsetX, factor) + margin, Math.floorDiv(offsetY, factor) + margin, factor);
+                scores.put(key(offsetX, offsetY), score);
+                bestScore = Math.min(bestScore, score);
+            }
+        }
+
+        long maxScore = bestScore + Math.max(1, (long) (levelB.width * levelB.height * SCORE_SLACK));
+
+        for (int i = 0; i < offsetSearch.size(); i++) {
+            if (!offsetSearch.isExcluded(i)) {
+                if (!hasGoodNeighbour(scores, offsetSearch.getOffsetX(i), offsetSearch.getOffsetY(i), maxScore)) {
+                    offsetSearch.exclude(i);
+                }
+            }
+        }
+    }
+
+    private boolean hasGoodNeighbour(Map<Long, Long> scores, int offsetX, int offsetY, long maxScore) {
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                Long score = scores.get(key(offsetX + dx, offsetY + dy));
+                if (score != null && score <= maxScore) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts the blocks which mismatch in the same way as pixels in full resolution comparison
+     */
+    private long score(Level levelA, Level levelB, int blockOffsetX, int blockOffsetY, int factor) {
+        long mismatchingBlocks = 0;
+        for (int by = 0; by < levelB.height; by++) {
+            for (int bx = 0; bx < levelB.width; bx++) {
+                int ax = bx + blockOffsetX;
+                int ay = by + blockOffsetY;
+                if (ax < 0 || ay < 0 || ax >= levelA.width || ay >= levelA.height || levelA.isAbsent(ax, ay)) {
+                    continue;
+                }
+                if (isIgnored(levelA.originX + ax * factor + factor / 2, levelA.originY + ay * factor + factor / 2)) {
+                    continue;
+                }
+                if (levelA.colorDiff(ax, ay, levelB, bx, by) > tolerance) {
+                    mismatchingBlocks += 1;
+                }
+            }
+        }
+        return mismatchingBlocks;
+    }
+
+    private boolean isIgnored(int x, int y) {
+        if (ignoreRegions != null) {
+            for (Rectangle region : ignoreRegions) {
+                if (region.contains(x, y)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Long key(int cx, int cy) {
+        return (((long) cx) << 32) | (cy & 0xffffffffL);
+    }
+
+    /**
+     * Average colors of the image blocks. Pixels outside of the image are not taken into account
+     * and a block without any pixels inside the image is marked as absent
+     */
+    private static class Level {
+        private final int originX;
+        private final int originY;
+        private final int width;
+        private final int height;
+        private final int[] colors;
+
+        Level(ImageHandler handler, int originX, int originY, int areaWidth, int areaHeight, int factor) {
+            this.originX = originX;
+            this.originY = originY;
+            this.width = (areaWidth + factor - 1) / factor;
+            this.height = (areaHeight + factor - 1) / factor;
+            this.colors = new int[width * height * BLOCK_SIZE];
+
+            ByteBuffer bytes = handler.getBytes();
+            int imageWidth = handler.getWidth();
+
+            long[] sums = new long[width * BLOCK_SIZE];
+            int[] counts = new int[width];
+
+            for (int by = 0; by < height; by++) {
+                Arrays.fill(sums, 0);
+                Arrays.fill(counts, 0);
+
+                int fromY = Math.max(originY + by * factor, 0);
+                int toY = Math.min(Math.min(originY + (by + 1) * factor, originY + areaHeight), handler.getHeight());
+                int fromX = Math.max(originX, 0);
+                int toX = Math.min(originX + areaWidth, imageWidth);
+
+                for (int y = fromY; y < toY; y++) {
+                    for (int x = fromX; x < toX; x++) {
+                        int block = (x - originX) / factor;
+                        int k = (y * imageWidth + x) * BLOCK_SIZE;
+                        for (int c = 0; c < BLOCK_SIZE; c++) {
+                            sums[block * BLOCK_SIZE + c] += bytes.get(k + c) & 0xff;
+                        }
+                        counts[block] += 1;
+                    }
+                }
+
+                for (int bx = 0; bx < width; bx++) {
+                    int index = (by * width + bx) * BLOCK_SIZE;
+                    if (counts[bx] > 0) {
+                        for (int c = 0; c < BLOCK_SIZE; c++) {
+                            colors[index + c] = (int) (sums[bx * BLOCK_SIZE + c] / counts[bx]);
+                        }
+                    } else {
+                        colors[index + 3] = ABSENT;
+                    }
+                }
+            }
+        }
+
+        boolean isAbsent(int bx, int by) {
+            return colors[(by * width + bx) * BLOCK_SIZE + 3] == ABSENT;
+        }
+
+        long colorDiff(int bx, int by, Level other, int otherBx, int otherBy) {
+            int k = (by * width + bx) * BLOCK_SIZE;
+            int otherK = (otherBy * other.width + otherBx) * BLOCK_SIZE;
+
+            if (other.colors[otherK + 3] == ABSENT) {
+                // pixels outside of image B are compared as opaque black
+                if (colors[k + 3] > 128) {
+                    return colors[k] + colors[k + 1] + colors[k + 2];
+                }
+                return 0L;
+            }
+
+            if (colors[k + 3] > 128 && other.colors[otherK + 3] > 128) {
+                return Math.abs(colors[k] - other.colors[otherK])
+                        + Math.abs(colors[k + 1] - other.colors[otherK + 1])
+                        + Math.abs(colors[k + 2] - other.colors[otherK + 2]);
+            } else {
+                return 0L;
+            }
+        }
+    }
+}
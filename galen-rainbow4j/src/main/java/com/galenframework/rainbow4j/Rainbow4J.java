@@ -73,133 +73,42 @@ public class Rainbow4J {
             throw new RuntimeException("Specified area is outside for secondary image");
         }
 
-        int imageAWidth = imageA.getWidth();
-        int imageAHeight = imageA.getHeight();
-
-        int Cax = areaA.x;
-        int Cay = areaA.y;
-
-        int Cbx = areaB.x;
-        int Cby = areaB.y;
-
-        int Wa = areaA.width;
-        int Ha = areaA.height;
-
-        int Wb = areaB.width;
-        int Hb = areaB.height;
-
-        double Kx = ((double)Wb) / ((double)Wa);
-        double Ky = ((double)Hb) / ((double)Ha);
-
-
         ImageHandler handlerA = new ImageHandler(imageA);
         ImageHandler handlerB = new ImageHandler(imageB);
 
 
         applyAllFilters(areaA, areaB, options, handlerA, handlerB);
 
-        int tolerance = options.getTolerance();
-
-        long minMismatchingPixels = Integer.MAX_VALUE;
-
-        ImageHandler resultingMapHandler = null;
-
-
-        int resultingOffsetX = 0;
-        int resultingOffsetY = 0;
-
-
-        // Here it moves within a spiral for better performance when analyzing a large offset
-        int offsetX = 0;
-        int offsetY = 0;
-        int spiral_dx = 0;
-        int spiral_dy = -1;
+        PixelComparator comparator = new PixelComparator(handlerA, handlerB, areaA, areaB, options);
 
-        int spiral_n = 0;
-
-        if (options.getAnalyzeOffset() > 0) {
-            spiral_n = options.getAnalyzeOffset() * 2 + 1;
+        int parallelism = ParallelComparator.resolveParallelism(options.getParallelism());
+        ParallelComparator parallelComparator = null;
+        if (parallelism > 1) {
+            parallelComparator = new ParallelComparator(comparator, parallelism);
         }
-        int max_spiral = spiral_n * spiral_n;
 
-        for (int spiral_i = 0; spiral_i <= max_spiral; spiral_i++) {
+        OffsetSearch offsetSearch = new OffsetSearch(comparator, options.getAnalyzeOffset());
 
-            if ((offsetX == offsetY) || (offsetX < 0 && offsetX == -offsetY) || (offsetX > 0 && offsetX == 1 - offsetY)){
-                int temp = spiral_dx;
-                spiral_dx = -spiral_dy;
-                spiral_dy = temp;
+        if (options.getPyramidLevels() > 0) {
+            comparator.setSkipIdenticalTiles(true);
+            if (offsetSearch.size() > 1 && !options.isStretchToFit()) {
+                new PyramidMatcher(handlerA, handlerB, areaA, areaB, options).excludeUnlikelyOffsets(offsetSearch, options.getPyramidLevels());
             }
+        }
 
-            ImageHandler mapHandler = new ImageHandler(areaA.width, areaA.height);
-            long mismatchingPixels = 0;
-            int x = 0, y = 0;
-
-            while(y < Ha && minMismatchingPixels > 0) {
-                while (x < Wa && mismatchingPixels < minMismatchingPixels) {
-                    int xA = x + Cax + offsetX;
-                    int yA = y + Cay + offsetY;
-
-                    if (xA >= 0 && xA < imageAWidth && yA >= 0 && yA < imageAHeight ) {
-                        if (!shouldPixelBeIgnored(xA, yA, options)) {
-                            Color cA = handlerA.pickColor(xA, yA);
-
-                            int xB, yB;
-
-                            if (options.isStretchToFit()) {
-                                xB = (int) Math.round((((double) x) * Kx) + Cbx);
-                                yB = (int) Math.round(((double) y) * Ky + Cby);
-                                xB = Math.min(xB, Cbx + Wb - 1);
-                                yB = Math.min(yB, Cby + Hb - 1);
-                            } else {
-                                xB = x + Cbx;
-                                yB = y + Cby;
-                            }
-
-                            Color cB = handlerB.pickColor(xB, yB);
-
-                            long colorError = ImageHandler.colorDiff(cA, cB);
-                            if (colorError > tolerance) {
-
-                                Color color = Color.red;
-
-                                int diff = (int) (colorError - tolerance);
-                                if (diff > 30 && diff < 80) {
-                                    color = Color.yellow;
-                                } else if (diff <= 30) {
-                                    color = Color.green;
-                                }
-                                mapHandler.setRGBA(x, y, color.getRed(), color.getGreen(), color.getBlue(), 255);
-
-                                mismatchingPixels += 1;
-                            } else {
-                                mapHandler.setRGBA(x, y, 0, 0, 0, 255);
-                            }
-                        } else {
-                            mapHandler.setRGBA(x, y, 0, 0, 0, 160);
-                        }
-
-                    } else {
-                        mapHandler.setRGBA(x, y, 0, 0, 0, 255);
-                    }
+        int bestOffset = offsetSearch.search(parallelism);
 
-                    x += 1;
-                }
-                y += 1;
-                x = 0;
-            }
-
-            if (mismatchingPixels < minMismatchingPixels) {
-                minMismatchingPixels = mismatchingPixels;
-                resultingOffsetX = offsetX;
-                resultingOffsetY = offsetY;
-                resultingMapHandler = mapHandler;
-            }
+        int resultingOffsetX = offsetSearch.getOffsetX(bestOffset);
+        int resultingOffsetY = offsetSearch.getOffsetY(bestOffset);
 
-            offsetX += spiral_dx;
-            offsetY += spiral_dy;
+        // Comparison map is only drawn for the winning offset
+        ImageHandler resultingMapHandler = new ImageHandler(areaA.width, areaA.height);
+        if (parallelComparator != null) {
+            parallelComparator.compare(resultingOffsetX, resultingOffsetY, Long.MAX_VALUE, resultingMapHandler);
+        } else {
+            comparator.compareRows(resultingOffsetX, resultingOffsetY, 0, areaA.height, Long.MAX_VALUE, resultingMapHandler);
         }
 
-
         applyFilters(resultingMapHandler, options.getMapFilters(), new Rectangle(0, 0, resultingMapHandler.getWidth(), resultingMapHandler.getHeight()));
 
         ImageCompareResult result = analyzeComparisonMap(resultingMapHandler);
@@ -212,17 +121,6 @@ public class Rainbow4J {
         return result;
     }
 
-    private static boolean shouldPixelBeIgnored(int x, int y, ComparisonOptions options) {
-        if (options != null && options.getIgnoreRegions() != null) {
-            for (Rectangle rectangle : options.getIgnoreRegions()) {
-                if (rectangle.contains(x, y)) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
     private static ImageCompareResult analyzeComparisonMap(ImageHandler mapHandler) {
         ImageCompareResult result = new ImageCompareResult();
 
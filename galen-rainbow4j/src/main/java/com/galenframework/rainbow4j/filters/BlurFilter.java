@@ -15,7 +15,6 @@
 ******************************************************************************/
 package com.galenframework.rainbow4j.filters;
 
-import com.galenframework.rainbow4j.BufferUtils;
 import com.galenframework.rainbow4j.ImageHandler;
 
 import java.awt.*;
@@ -46,46 +45,14 @@ public class BlurFilter implements ImageFilter {
         }
 
         if (radius > 0) {
-            ByteBuffer copyBytes = BufferUtils.clone(bytes);
-
-            for (int yc = area.y; yc < area.y + area.height; yc++) {
-                for (int xc = area.x; xc < area.x + area.width; xc++) {
-
-                    int startY = Math.max(yc - radius, area.y);
-                    int startX = Math.max(xc - radius, area.x);
-                    int endY = Math.min(yc + radius, area.height + area.y - 1);
-                    int endX = Math.min(xc + radius, area.width + area.x - 1);
-
-                    int ar = 0, ag = 0, ab = 0;
-                    double sumWeight = 0;
-                    double distance;
-                    double dWeight;
-
-                    for (int y = startY; y <= endY; y++) {
-                        for (int x = startX; x <= endX; x++) {
-                            int k = y * width * ImageHandler.BLOCK_SIZE + x * ImageHandler.BLOCK_SIZE;
-                            int r = copyBytes.get(k) & 0xff;
-                            int g = copyBytes.get(k + 1) & 0xff;
-                            int b = copyBytes.get(k + 2) & 0xff;
-
-                            distance = Math.max(Math.abs(x - xc), Math.abs(y - yc));
-                            dWeight = 1 - distance/(radius + 1);
-                            sumWeight += dWeight;
-
-                            ar += r * dWeight;
-                            ag += g * dWeight;
-                            ab += b * dWeight;
-                        }
-                    }
-
-
-                    int k = yc * width * ImageHandler.BLOCK_SIZE + xc * ImageHandler.BLOCK_SIZE;
-                    bytes.put(k, (byte) (ar / sumWeight));
-                    bytes.put(k + 1, (byte) (ag / sumWeight));
-                    bytes.put(k + 2, (byte) (ab / sumWeight));
+            WeightedWindowSums.compute(bytes, width, area, radius, false, (y, averages) -> {
+                for (int x = 0; x < area.width; x++) {
+                    int k = (y * width + area.x + x) * ImageHandler.BLOCK_SIZE;
+                    bytes.put(k, (byte) averages[x * 3]);
+                    bytes.put(k + 1, (byte) averages[x * 3 + 1]);
+                    bytes.put(k + 2, (byte) averages[x * 3 + 2]);
                 }
-            }
-
+            });
         }
     }
 }
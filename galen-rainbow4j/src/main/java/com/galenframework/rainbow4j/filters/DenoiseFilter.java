@@ -15,7 +15,6 @@
 ******************************************************************************/
 package com.galenframework.rainbow4j.filters;
 
-import com.galenframework.rainbow4j.BufferUtils;
 import com.galenframework.rainbow4j.ImageHandler;
 
 import java.awt.*;
@@ -35,69 +34,18 @@ public class DenoiseFilter implements ImageFilter {
         int normalThreshold = 100;
 
         if (radius > 0) {
-
-            ByteBuffer copyBytes = BufferUtils.clone(bytes);
-
-            for (int yc = area.y; yc < area.y + area.height; yc++) {
-                for (int xc = area.x; xc < area.x + area.width; xc++) {
-
-                    int startY = yc - radius;
-                    int startX = xc - radius;
-                    int endY = yc + radius;
-                    int endX = xc + radius;
-
-                    int ar = 0, ag = 0, ab = 0;
-                    double sumWeight = 0;
-                    double distance;
-                    double dWeight;
-
-                    int r, g, b;
-
-                    for (int y = startY; y <= endY; y++) {
-                        for (int x = startX; x <= endX; x++) {
-
-                            if (x >= area.x && x < area.x + area.width
-                                   && y >= area.y && y < area.y + area.height) {
-
-                                int k = y * width * ImageHandler.BLOCK_SIZE + x * ImageHandler.BLOCK_SIZE;
-                                r = copyBytes.get(k) & 0xff;
-                                g = copyBytes.get(k + 1) & 0xff;
-                                b = copyBytes.get(k + 2) & 0xff;
-                            } else {
-                                r = 0;
-                                g = 0;
-                                b = 0;
-                            }
-
-                            distance = Math.max(Math.abs(x - xc), Math.abs(y - yc));
-                            dWeight = 1 - distance / (radius + 1);
-                            sumWeight += dWeight;
-
-                            ar += r * dWeight;
-                            ag += g * dWeight;
-                            ab += b * dWeight;
-                        }
-                    }
-
-                    int k = yc * width * ImageHandler.BLOCK_SIZE + xc * ImageHandler.BLOCK_SIZE;
-
-                    if(sumWeight > 0) {
-
-                        int blurredRed = (int) (ar / sumWeight);
-                        int blurredGreen = (int) (ag / sumWeight);
-                        int blurredBlue = (int) (ab / sumWeight);
-
-                        if (blurredRed < normalThreshold
-                            && blurredGreen < normalThreshold
-                            && blurredBlue < normalThreshold
-                            ) {
-                            bytes.put(k, (byte) 0);
-                            bytes.put(k + 1, (byte) 0);
-                            bytes.put(k + 2, (byte) 0);
-                        }
+            WeightedWindowSums.compute(bytes, width, area, radius, true, (y, averages) -> {
+                for (int x = 0; x < area.width; x++) {
+                    if (averages[x * 3] < normalThreshold
+                            && averages[x * 3 + 1] < normalThreshold
+                            && averages[x * 3 + 2] < normalThreshold) {
+                        int k = (y * width + area.x + x) * ImageHandler.BLOCK_SIZE;
+                        bytes.put(k, (byte) 0);
+                        bytes.put(k + 1, (byte) 0);
+                        bytes.put(k + 2, (byte) 0);
                     }
                 }
-            }
+            });
         }
     }
 
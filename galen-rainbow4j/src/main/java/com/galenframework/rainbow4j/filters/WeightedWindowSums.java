@@ -0,0 +1,303 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.rainbow4j.filters;
+
+import com.galenframework.rainbow4j.ImageHandler;
+
+import java.awt.*;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Calculates a weighted average color of neighbour pixels within the given radius for every pixel of an area,
+ * giving exactly the same results as the filters did when they summed the whole window for every pixel.
+ * Every neighbour is weighted with 1 - distance / (radius + 1), where distance is max(|dx|, |dy|),
+ * and the fraction of every weighted color is dropped when it is added to the integer sum.
+ * Pixels outside of the area are treated as black.
+ *
+ * A truncated weighted color of a pixel at distance d equals the sum of the differences
+ * T(k, color) - T(k + 1, color) for k from d to radius, so the weighted sum is a sum of
+ * square window sums with radius from 0 to radius, each taken over its own difference table.
+ * Square windows are summed with sliding column sums in linear time of the radius per pixel.
+ *
+ * Some weighted colors are an integer in theory, but are a tiny bit less than it in double,
+ * e.g. 5 * (1 - 0.2) = 3.9999999999999996. Such a fraction is dropped only while the sum is small enough,
+ * so windows with such pixels are summed pixel by pixel in the original order until the sum gets too large for it.
+ *
+ * Only the last (2 * radius + 2) source rows are kept, so the area can be overwritten
+ * row by row in the consumer, and the buffers are reused between the calls in the same thread.
+ */
+class WeightedWindowSums {
+
+    interface RowConsumer {
+        /**
+         * @param y row in the image
+         * @param averages average colors for every pixel of the row in the area, stored as [x * 3 + channel]
+         */
+        void accept(int y, int[] averages);
+    }
+
+    private static final int COLORS = 3;
+
+    private static final ThreadLocal<WeightedWindowSums> pool = ThreadLocal.withInitial(WeightedWindowSums::new);
+
+    private int tablesRadius = -1;
+    private int[][] truncatedColors = new int[0][];
+    private double[][] weightedColors = new double[0][];
+    private boolean[][] lessInDouble = new boolean[0][];
+    private int[][] differences = new int[0][];
+    private int[][] lessInDoubleDifferences = new int[0][];
+    private boolean hasLessInDouble;
+    private int lessInDoubleSumLimit;
+
+    private int[][] sourceRows = new int[0][];
+    private int[][] columnSums = new int[0][];
+    private int[][] lessInDoubleColumnSums = new int[0][];
+    private int[] prefix = new int[0];
+    private int[] sums = new int[0];
+    private int[] lessInDoubleCounts = new int[0];
+    private int[] averages = new int[0];
+
+    /**
+     * @param countOutsidePixels whether the weight of pixels outside of the area should be taken into account
+     */
+    static void compute(ByteBuffer bytes, int imageWidth, Rectangle area, int radius, boolean countOutsidePixels, RowConsumer consumer) {
+        pool.get().computeAverages(bytes, imageWidth, area, radius, countOutsidePixels, consumer);
+    }
+
+    private void computeAverages(ByteBuffer bytes, int imageWidth, Rectangle area, int radius, boolean countOutsidePixels, RowConsumer consumer) {
+        int rowLength = area.width * COLORS;
+        int rowsInMemory = 2 * radius + 2;
+
+        prepareBuffers(rowLength, rowsInMemory, radius);
+        prepareTables(radius);
+
+        double fullWeight = sumWeights(radius, radius, radius, radius, radius);
+        Map<Long, Double> clippedWeights = new HashMap<>();
+
+        for (int y = -radius; y < area.height; y++) {
+            if (y + radius < area.height) {
+                readRow(bytes, imageWidth, area, y + radius, sourceRows[(y + radius) % rowsInMemory]);
+            }
+
+            for (int k = 0; k <= radius; k++) {
+                int enteringRow = y + k;
+                if (enteringRow >= 0 && enteringRow < area.height) {
+                    int[] row = sourceRows[enteringRow % rowsInMemory];
+                    addRow(columnSums[k], differences[k], row, rowLength, 1);
+                    if (hasLessInDouble) {
+                        addRow(lessInDoubleColumnSums[k], lessInDoubleDifferences[k], row, rowLength, 1);
+                    }
+                }
+                int leavingRow = y - k - 1;
+                if (leavingRow >= 0) {
+                    int[] row = sourceRows[leavingRow % rowsInMemory];
+                    addRow(columnSums[k], differences[k], row, rowLength, -1);
+                    if (hasLessInDouble) {
+                        addRow(lessInDoubleColumnSums[k], lessInDoubleDifferences[k], row, rowLength, -1);
+                    }
+                }
+            }
+
+            if (y >= 0) {
+                sumSquareWindows(columnSums, sums, area.width, radius);
+                if (hasLessInDouble) {
+                    sumSquareWindows(lessInDoubleColumnSums, lessInDoubleCounts, area.width, radius);
+                }
+
+                int top = Math.min(radius, y);
+                int bottom = Math.min(radius, area.height - 1 - y);
+                for (int x = 0; x < area.width; x++) {
+                    int left = Math.min(radius, x);
+                    int right = Math.min(radius, area.width - 1 - x);
+
+                    double weight = fullWeight;
+                    if (!countOutsidePixels && (top < radius || bottom < radius || left < radius || right < radius)) {
+                        long key = (((long) top * (radius + 1) + bottom) * (radius + 1) + left) * (radius + 1) + right;
+                        weight = clippedWeights.computeIfAbsent(key, (k) -> sumWeights(radius, top, bottom, left, right));
+                    }
+
+                    for (int c = 0; c < COLORS; c++) {
+                        int index = x * COLORS + c;
+                        int sum = sums[index];
+                        if (hasLessInDouble && lessInDoubleCounts[index] > 0) {
+                            sum = sumInOriginalOrder(x, y, c, top, bottom, left, right, sum, lessInDoubleCounts[index], rowsInMemory);
+                        }
+                        averages[index] = (int) (sum / weight);
+                    }
+                }
+
+                consumer.accept(y + area.y, averages);
+            }
+        }
+    }
+
+    private static void addRow(int[] columnSum, int[] difference, int[] row, int rowLength, int sign) {
+        for (int i = 0; i < rowLength; i++) {
+            columnSum[i] += sign * difference[row[i]];
+        }
+    }
+
+    private void sumSquareWindows(int[][] columnSums, int[] target, int width, int radius) {
+        Arrays.fill(target, 0, width * COLORS, 0);
+
+        for (int k = 0; k <= radius; k++) {
+            int[] columnSum = columnSums[k];
+            for (int i = 0; i < width * COLORS; i++) {
+                prefix[i + COLORS] = prefix[i] + columnSum[i];
+            }
+            for (int x = 0; x < width; x++) {
+                int from = Math.max(0, x - k) * COLORS;
+                int to = Math.min(width, x + k + 1) * COLORS;
+                for (int c = 0; c < COLORS; c++) {
+                    target[x * COLORS + c] += prefix[to + c] - prefix[from + c];
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the weighted colors to the integer sum one by one, as the filters did,
+     * until the fraction of the remaining weighted colors can't be dropped anymore.
+     * The rest of the window is then taken from the sum of truncated colors.
+     */
+    private int sumInOriginalOrder(int x, int y, int c, int top, int bottom, int left, int right,
+                                   int truncatedSum, int lessInDoubleCount, int rowsInMemory) {
+        int sum = 0;
+        int visitedTruncatedSum = 0;
+        int lessInDoubleLeft = lessInDoubleCount;
+
+        for (int dy = -top; dy <= bottom; dy++) {
+            int[] row = sourceRows[(y + dy) % rowsInMemory];
+            for (int dx = -left; dx <= right; dx++) {
+                int color = row[(x + dx) * COLORS + c];
+                int distance = Math.max(Math.abs(dx), Math.abs(dy));
+
+                sum += weightedColors[distance][color];
+                visitedTruncatedSum += truncatedColors[distance][color];
+                if (lessInDouble[distance][color]) {
+                    lessInDoubleLeft--;
+                }
+
+                if (lessInDoubleLeft == 0 || sum >= lessInDoubleSumLimit) {
+                    return truncatedSum - visitedTruncatedSum + sum;
+                }
+            }
+        }
+        return sum;
+    }
+
+    private static void readRow(ByteBuffer bytes, int imageWidth, Rectangle area, int y, int[] row) {
+        for (int x = 0; x < area.width; x++) {
+            int k = ((y + area.y) * imageWidth + area.x + x) * ImageHandler.BLOCK_SIZE;
+            for (int c = 0; c < COLORS; c++) {
+                row[x * COLORS + c] = bytes.get(k + c) & 0xff;
+            }
+        }
+    }
+
+    /**
+     * Sums the weights of a window clipped to the given amount of pixels on each side of its center.
+     * The weights are added in the same order as the filters did, so that the rounding of the sum stays the same.
+     */
+    private static double sumWeights(int radius, int top, int bottom, int left, int right) {
+        double sumWeight = 0;
+        for (int dy = -top; dy <= bottom; dy++) {
+            for (int dx = -left; dx <= right; dx++) {
+                double distance = Math.max(Math.abs(dx), Math.abs(dy));
+                sumWeight += 1 - distance / (radius + 1);
+            }
+        }
+        return sumWeight;
+    }
+
+    private void prepareTables(int radius) {
+        if (tablesRadius != radius) {
+            truncatedColors = new int[radius + 2][256];
+            weightedColors = new double[radius + 2][256];
+            lessInDouble = new boolean[radius + 2][256];
+            hasLessInDouble = false;
+            lessInDoubleSumLimit = 0;
+
+            for (int distance = 0; distance <= radius; distance++) {
+                double dWeight = 1 - ((double) distance) / (radius + 1);
+                for (int color = 0; color < 256; color++) {
+                    int truncated = color * (radius + 1 - distance) / (radius + 1);
+                    double weighted = color * dWeight;
+
+                    truncatedColors[distance][color] = truncated;
+                    weightedColors[distance][color] = weighted;
+                    if (weighted < truncated) {
+                        lessInDouble[distance][color] = true;
+                        hasLessInDouble = true;
+                        lessInDoubleSumLimit = Math.max(lessInDoubleSumLimit, findSumLimit(weighted, truncated));
+                    }
+                }
+            }
+
+            differences = new int[radius + 1][256];
+            lessInDoubleDifferences = new int[radius + 1][256];
+            for (int k = 0; k <= radius; k++) {
+                for (int color = 0; color < 256; color++) {
+                    differences[k][color] = truncatedColors[k][color] - truncatedColors[k + 1][color];
+                    lessInDoubleDifferences[k][color] = (lessInDouble[k][color] ? 1 : 0) - (lessInDouble[k + 1][color] ? 1 : 0);
+                }
+            }
+            tablesRadius = radius;
+        }
+    }
+
+    /**
+     * Finds the smallest sum from which the weighted color is always added as the integer it should be.
+     * The fraction can't be dropped anymore once the difference from the integer is less than half of ulp,
+     * so only the sums below that bound are checked.
+     */
+    private static int findSumLimit(double weighted, int truncated) {
+        int bound = (int) ((1L << (Math.getExponent(truncated - weighted) + 55)) - truncated);
+        int limit = 0;
+        for (int sum = 0; sum < bound; sum++) {
+            int result = sum;
+            result += weighted;
+            if (result < sum + truncated) {
+                limit = sum + 1;
+            }
+        }
+        return limit;
+    }
+
+    private void prepareBuffers(int rowLength, int rowsInMemory, int radius) {
+        if (sourceRows.length < rowsInMemory || sourceRows[0].length < rowLength) {
+            sourceRows = new int[rowsInMemory][rowLength];
+        }
+        if (columnSums.length < radius + 1 || columnSums[0].length < rowLength) {
+            columnSums = new int[radius + 1][rowLength];
+            lessInDoubleColumnSums = new int[radius + 1][rowLength];
+        } else {
+            for (int k = 0; k <= radius; k++) {
+                Arrays.fill(columnSums[k], 0, rowLength, 0);
+                Arrays.fill(lessInDoubleColumnSums[k], 0, rowLength, 0);
+            }
+        }
+        if (prefix.length < rowLength + COLORS) {
+            prefix = new int[rowLength + COLORS];
+            sums = new int[rowLength];
+            lessInDoubleCounts = new int[rowLength];
+            averages = new int[rowLength];
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.rainbow4j.benchmarks;
+
+import com.galenframework.rainbow4j.ComparisonOptions;
+import com.galenframework.rainbow4j.ImageCompareResult;
+import com.galenframework.rainbow4j.Rainbow4J;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * Measures the speed of image comparison on a large generated screenshot.
+ * It is not a part of the test suite and should be launched manually:
+ * <pre>
+ *     java -cp target/classes:target/test-classes com.galenframework.rainbow4j.benchmarks.ComparisonBenchmark
+ * </pre>
+ */
+public class ComparisonBenchmark {
+
+    private static final int WIDTH = 2560;
+    private static final int HEIGHT = 4000;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int ITERATIONS = 5;
+
+    public static void main(String[] args) {
+        BufferedImage imageA = generateImage(new Random(1));
+        BufferedImage imageB = copyWithNoise(imageA, new Random(2));
+
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        System.out.println(String.format("Comparing %dx%d images, %d processors available", WIDTH, HEIGHT, processors));
+        measure("serial", imageA, imageB, 1);
+        for (int parallelism = 2; parallelism <= Math.max(processors, 2); parallelism *= 2) {
+            measure("parallelism " + parallelism, imageA, imageB, parallelism);
+        }
+    }
+
+    private static void measure(String name, BufferedImage imageA, BufferedImage imageB, int parallelism) {
+        ComparisonOptions options = new ComparisonOptions();
+        options.setTolerance(10);
+        options.setParallelism(parallelism);
+
+        long totalPixels = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            totalPixels = compare(imageA, imageB, options).getTotalPixels();
+        }
+
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            compare(imageA, imageB, options);
+        }
+        long averageMillis = (System.nanoTime() - started) / ITERATIONS / 1000000;
+
+        System.out.println(String.format("%-20s %6d ms, mismatching pixels: %d", name, averageMillis, totalPixels));
+    }
+
+    private static ImageCompareResult compare(BufferedImage imageA, BufferedImage imageB, ComparisonOptions options) {
+        try {
+            return Rainbow4J.compare(imageA, imageB, options);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static BufferedImage generateImage(Random random) {
+        int[][] blockColors = new int[HEIGHT / 25 + 1][WIDTH / 40 + 1];
+        for (int[] row : blockColors) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = random.nextInt(0xffffff);
+            }
+        }
+
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                image.setRGB(x, y, blockColors[y / 25][x / 40]);
+            }
+        }
+        return image;
+    }
+
+    private static BufferedImage copyWithNoise(BufferedImage original, Random random) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int rgb = original.getRGB(x, y);
+                if (random.nextInt(100) == 0) {
+                    rgb = rgb ^ 0x404040;
+                }
+                image.setRGB(x, y, rgb);
+            }
+        }
+        return image;
+    }
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+* Copyright 2018 Ivan Shubin http://galenframework.com
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*   http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+******************************************************************************/
+package com.galenframework.rainbow4j.benchmarks;
+
+import com.galenframework.rainbow4j.ImageHandler;
+import com.galenframework.rainbow4j.filters.BlurFilter;
+import com.galenframework.rainbow4j.filters.DenoiseFilter;
+import com.galenframework.rainbow4j.filters.ImageFilter;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Measures the speed of blur and denoise filters for different radius on a generated screenshot.
+ * It is not a part of the test suite and should be launched manually:
+ * <pre>
+ *     java -cp target/classes:target/test-classes com.galenframework.rainbow4j.benchmarks.FilterBenchmark
+ * </pre>
+ */
+public class FilterBenchmark {
+
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 1024;
+    private static final int WARMUP_ITERATIONS = 2;
+    private static final int ITERATIONS = 3;
+    private static final int[] RADIUS_LIST = {1, 2, 5, 10, 20};
+
+    public static void main(String[] args) {
+        ByteBuffer original = new ImageHandler(generateImage(new Random(1))).getBytes();
+
+        System.out.println(String.format("Filtering %dx%d image", WIDTH, HEIGHT));
+        for (int radius : RADIUS_LIST) {
+            measure("blur " + radius, new BlurFilter(radius), original);
+        }
+        for (int radius : RADIUS_LIST) {
+            measure("denoise " + radius, new DenoiseFilter(radius), original);
+        }
+    }
+
+    private static void measure(String name, ImageFilter filter, ByteBuffer original) {
+        ByteBuffer bytes = ByteBuffer.allocate(original.capacity());
+        Rectangle area = new Rectangle(0, 0, WIDTH, HEIGHT);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            copy(original, bytes);
+            filter.apply(bytes, WIDTH, HEIGHT, area);
+        }
+
+        long total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            copy(original, bytes);
+            long started = System.nanoTime();
+            filter.apply(bytes, WIDTH, HEIGHT, area);
+            total += System.nanoTime() - started;
+        }
+
+        System.out.println(String.format("%-20s %6d ms", name, total / ITERATIONS / 1000000));
+    }
+
+    private static void copy(ByteBuffer from, ByteBuffer to) {
+        from.rewind();
+        to.rewind();
+        to.put(from);
+        from.rewind();
+        to.rewind();
+    }
+
+    private static BufferedImage generateImage(Random random) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int rgb = ((x / 40 + y / 25) % 7) * 0x242424;
+                if (random.nextInt(20) == 0) {
+                    rgb = random.nextInt(0xffffff);
+                }
+                image.setRGB(x, y, rgb);
+            }
+        }
+        return image;
+    }
+}
@@ -557,6 +557,72 @@ public class Rainbow4JTest {
     }
 
 
+    @Test
+    public void shouldGive_sameResults_whenComparingInParallel() throws IOException {
+        BufferedImage image = Rainbow4J.loadImage(getClass().getResourceAsStream("/lenna.png"));
+        BufferedImage imageOffset = Rainbow4J.loadImage(getClass().getResourceAsStream("/lenna-offset.png"));
+
+        for (int analyzeOffset = 0; analyzeOffset < 5; analyzeOffset++) {
+            ComparisonOptions serialOptions = new ComparisonOptions();
+            serialOptions.setTolerance(10);
+            serialOptions.setAnalyzeOffset(analyzeOffset);
+            serialOptions.setIgnoreRegions(asList(new Rectangle(30, 40, 50, 60)));
+
+            ComparisonOptions parallelOptions = new ComparisonOptions();
+            parallelOptions.setTolerance(10);
+            parallelOptions.setAnalyzeOffset(analyzeOffset);
+            parallelOptions.setIgnoreRegions(asList(new Rectangle(30, 40, 50, 60)));
+            parallelOptions.setParallelism(4);
+
+            ImageCompareResult serialResult = Rainbow4J.compare(image, imageOffset, serialOptions);
+            ImageCompareResult parallelResult = Rainbow4J.compare(image, imageOffset, parallelOptions);
+
+            assertThat(parallelResult.getTotalPixels(), is(serialResult.getTotalPixels()));
+            assertThat(parallelResult.getPercentage(), is(serialResult.getPercentage()));
+            assertThat(parallelResult.getOffsetX(), is(serialResult.getOffsetX()));
+            assertThat(parallelResult.getOffsetY(), is(serialResult.getOffsetY()));
+            assertThat(readPixels(parallelResult.getComparisonMap()), is(readPixels(serialResult.getComparisonMap())));
+        }
+    }
+
+    @Test
+    public void shouldFindOffset_withPyramidComparison() throws IOException {
+        BufferedImage image = Rainbow4J.loadImage(getClass().getResourceAsStream("/lenna.png"));
+        BufferedImage imageOffset = Rainbow4J.loadImage(getClass().getResourceAsStream("/lenna-offset.png"));
+
+        ComparisonOptions options = new ComparisonOptions();
+        options.setAnalyzeOffset(10);
+        options.setPyramidLevels(3);
+        ImageCompareResult result = Rainbow4J.compare(image, imageOffset, options);
+
+        assertThat(result.getTotalPixels(), is(0L));
+        assertThat(result.getOffsetX(), is(-2));
+        assertThat(result.getOffsetY(), is(-4));
+    }
+
+    @Test
+    public void shouldGive_sameResults_withPyramidComparison_whenNoOffsetIsAnalyzed() throws IOException {
+        BufferedImage imageActual = Rainbow4J.loadImage(getClass().getResourceAsStream("/ignore-regions/ignore-regions-actual.png"));
+        BufferedImage imageExpected = Rainbow4J.loadImage(getClass().getResourceAsStream("/ignore-regions/ignore-regions-expected.png"));
+
+        ComparisonOptions options = new ComparisonOptions();
+        options.setIgnoreRegions(asList(new Rectangle(0, 70, 243, 64), new Rectangle(243, 134, 243, 64)));
+        ImageCompareResult result = Rainbow4J.compare(imageActual, imageExpected, options);
+
+        ComparisonOptions pyramidOptions = new ComparisonOptions();
+        pyramidOptions.setIgnoreRegions(asList(new Rectangle(0, 70, 243, 64), new Rectangle(243, 134, 243, 64)));
+        pyramidOptions.setPyramidLevels(2);
+        ImageCompareResult pyramidResult = Rainbow4J.compare(imageActual, imageExpected, pyramidOptions);
+
+        assertThat(pyramidResult.getTotalPixels(), is(result.getTotalPixels()));
+        assertThat(readPixels(pyramidResult.getComparisonMap()), is(readPixels(result.getComparisonMap())));
+    }
+
+    private int[] readPixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+
+
     @DataProvider
     public Object[][] imageCompareProvider() {
         return new Object[][] {